@@ -0,0 +1,61 @@
+package io.mosip.kernel.bio.converter.service.impl;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.mosip.biometrics.util.CommonUtil;
+import io.mosip.kernel.bio.converter.service.impl.BenchmarkFixtures.Modality;
+
+/**
+ * Base64 URL decoding of the request values and encoding of the response
+ * values. Values are encoded by {@code CommonUtil} and by the
+ * {@link Base64UrlCodec} into a pooled buffer.
+ *
+ * @author Janardhan B S
+ * @since 1.2.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Base64Benchmark {
+	@Param({ "FINGER", "FACE", "IRIS" })
+	private Modality modality;
+
+	private String base64;
+	private byte[] isoData;
+
+	@Setup
+	public void setup() throws Exception {
+		base64 = BenchmarkFixtures.base64(modality);
+		isoData = BenchmarkFixtures.isoData(modality);
+	}
+
+	@Benchmark
+	public byte[] decode() {
+		return CommonUtil.decodeURLSafeBase64(base64);
+	}
+
+	@Benchmark
+	public String encode() {
+		return CommonUtil.encodeToURLSafeBase64(isoData);
+	}
+
+	@Benchmark
+	public String encodeCodec() {
+		return Base64UrlCodec.encodeToString(isoData);
+	}
+}
@@ -0,0 +1,46 @@
+package io.mosip.kernel.bio.converter.service.impl;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.mosip.kernel.bio.converter.service.impl.BenchmarkFixtures.Modality;
+
+/**
+ * ISO record parsing by the FingerDecoder, FaceDecoder and IrisDecoder.
+ *
+ * @author Janardhan B S
+ * @since 1.2.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BdirBenchmark {
+	@Param({ "FINGER", "FACE", "IRIS" })
+	private Modality modality;
+
+	private byte[] isoData;
+
+	@Setup
+	public void setup() throws Exception {
+		isoData = BenchmarkFixtures.isoData(modality);
+	}
+
+	@Benchmark
+	public Object parse() throws Exception {
+		return BenchmarkFixtures.parse(modality, isoData);
+	}
+}
@@ -0,0 +1,115 @@
+package io.mosip.kernel.bio.converter.service.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.util.unit.DataSize;
+
+import io.mosip.biometrics.util.CommonUtil;
+import io.mosip.biometrics.util.ConvertRequestDto;
+import io.mosip.biometrics.util.face.FaceDecoder;
+import io.mosip.biometrics.util.finger.FingerDecoder;
+import io.mosip.biometrics.util.iris.IrisDecoder;
+import io.mosip.kernel.bio.converter.constant.SourceFormatCode;
+
+/**
+ * ISO records of the test fixtures (src/test/resources) used by the
+ * benchmarks.
+ *
+ * @author Janardhan B S
+ * @since 1.2.1
+ */
+public final class BenchmarkFixtures {
+	private BenchmarkFixtures() {
+		throw new IllegalStateException("BenchmarkFixtures class");
+	}
+
+	public enum Modality {
+		FINGER("finger.txt", "Finger", SourceFormatCode.ISO19794_4_2011),
+		FACE("face.txt", "Face", SourceFormatCode.ISO19794_5_2011),
+		IRIS("iris.txt", "Iris", SourceFormatCode.ISO19794_6_2011);
+
+		private final String fixture;
+		private final String name;
+		private final SourceFormatCode sourceCode;
+
+		Modality(String fixture, String name, SourceFormatCode sourceCode) {
+			this.fixture = fixture;
+			this.name = name;
+			this.sourceCode = sourceCode;
+		}
+
+		SourceFormatCode getSourceCode() {
+			return sourceCode;
+		}
+	}
+
+	/**
+	 * Registry of the built in converters, without the service loader plugins
+	 * and without a memory budget, strips are not rendered ahead and PNG images
+	 * are encoded by the default backend
+	 */
+	static ConverterRegistry registry() {
+		MemoryBudget memoryBudget = new MemoryBudget(false, DataSize.ofBytes(0), Duration.ZERO, Duration.ZERO, null);
+		EncoderBackends encoderBackends = new EncoderBackends(EncoderBackends.Backend.DIRECT, 0);
+		return new ConverterRegistry(List.of(new FingerImageConverter(memoryBudget, null, encoderBackends),
+				new FaceImageConverter(memoryBudget, null, encoderBackends),
+				new IrisImageConverter(memoryBudget, null, encoderBackends)), false);
+	}
+
+	/**
+	 * Base64 URL encoded ISO record, as sent in a convert request
+	 */
+	static String base64(Modality modality) throws IOException {
+		try (InputStream inputStream = BenchmarkFixtures.class.getResourceAsStream("/" + modality.fixture)) {
+			if (inputStream == null)
+				throw new IOException("Fixture not found " + modality.fixture);
+			return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8).trim();
+		}
+	}
+
+	static byte[] isoData(Modality modality) throws IOException {
+		return CommonUtil.decodeURLSafeBase64(base64(modality));
+	}
+
+	static ConvertRequestDto request(Modality modality, byte[] isoData) {
+		ConvertRequestDto requestDto = new ConvertRequestDto();
+		requestDto.setModality(modality.name);
+		requestDto.setVersion(modality.sourceCode.getCode());
+		requestDto.setInputBytes(isoData);
+		return requestDto;
+	}
+
+	/**
+	 * Parses the ISO record and returns its BDIR
+	 */
+	static Object parse(Modality modality, byte[] isoData) throws Exception {
+		ConvertRequestDto requestDto = request(modality, isoData);
+		switch (modality) {
+		case FINGER:
+			return FingerDecoder.getFingerBDIR(requestDto);
+		case FACE:
+			return FaceDecoder.getFaceBDIR(requestDto);
+		default:
+			return IrisDecoder.getIrisBDIR(requestDto);
+		}
+	}
+
+	/**
+	 * Compressed image data of the ISO record
+	 */
+	static byte[] image(Modality modality, byte[] isoData) throws Exception {
+		ConvertRequestDto requestDto = request(modality, isoData);
+		switch (modality) {
+		case FINGER:
+			return FingerDecoder.getFingerBDIR(requestDto).getImage();
+		case FACE:
+			return FaceDecoder.getFaceBDIR(requestDto).getImage();
+		default:
+			return IrisDecoder.getIrisBDIR(requestDto).getImage();
+		}
+	}
+}
@@ -0,0 +1,65 @@
+package io.mosip.kernel.bio.converter.service.impl;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.unit.DataSize;
+
+import io.mosip.kernel.bio.converter.service.impl.BenchmarkFixtures.Modality;
+
+/**
+ * End to end {@link ConverterServiceImpl#convert} of one base64 URL encoded
+ * value, without the result cache and the metrics.
+ *
+ * @author Janardhan B S
+ * @since 1.2.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConvertBenchmark {
+	@Param({ "FINGER", "FACE", "IRIS" })
+	private Modality modality;
+
+	@Param({ "IMAGE/JPEG", "IMAGE/PNG" })
+	private String targetFormat;
+
+	private ConversionExecutor conversionExecutor;
+	private ConverterServiceImpl converterService;
+	private Map<String, String> values;
+
+	@Setup
+	public void setup() throws Exception {
+		conversionExecutor = new ConversionExecutor(0, 100, 4, 4, false);
+		converterService = new ConverterServiceImpl(BenchmarkFixtures.registry(), conversionExecutor,
+				new ConversionCache(false, DataSize.ofBytes(0), null, null), new ConversionMetrics(false, null),
+				new ConversionLimiter(false, 0, 0, Duration.ZERO, Duration.ZERO, null), 1, 1);
+		values = Map.of(modality.name(), BenchmarkFixtures.base64(modality));
+	}
+
+	@TearDown
+	public void tearDown() {
+		conversionExecutor.shutdown();
+	}
+
+	@Benchmark
+	public Map<String, String> convert() {
+		return converterService.convert(values, modality.getSourceCode().getCode(), targetFormat, null, null);
+	}
+}
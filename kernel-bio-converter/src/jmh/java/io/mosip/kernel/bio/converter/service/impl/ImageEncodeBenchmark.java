@@ -0,0 +1,84 @@
+package io.mosip.kernel.bio.converter.service.impl;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+import javax.imageio.ImageIO;
+
+import org.imgscalr.Scalr;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.mosip.kernel.bio.converter.service.impl.BenchmarkFixtures.Modality;
+
+/**
+ * JPEG and PNG encoding of the decoded fixture images, and PNG encoding of the
+ * images scaled to three quarters, at once or strip by strip. The PNG
+ * benchmarks with the {@code Direct} suffix encode with the {@link PngEncoder}
+ * rather than the ImageIO writer.
+ *
+ * @author Janardhan B S
+ * @since 1.2.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ImageEncodeBenchmark {
+	private static final double SCALE = 0.75;
+
+	@Param({ "FINGER", "FACE", "IRIS" })
+	private Modality modality;
+
+	private BufferedImage image;
+
+	@Setup
+	public void setup() throws Exception {
+		image = ImageIO.read(new ByteArrayInputStream(
+				BenchmarkFixtures.image(modality, BenchmarkFixtures.isoData(modality))));
+	}
+
+	@Benchmark
+	public byte[] jpeg() {
+		return ImageEncoder.toJPEGBytes(image, 0, 0);
+	}
+
+	@Benchmark
+	public byte[] png() {
+		return ImageEncoder.toPNGBytes(image, 0, -1);
+	}
+
+	@Benchmark
+	public byte[] pngScaled() {
+		return ImageEncoder.toPNGBytes(ImageResizer.resize(image, SCALE, Scalr.Method.BALANCED), 0, -1);
+	}
+
+	@Benchmark
+	public byte[] pngStriped() {
+		return ImageEncoder.toPNGBytes(ImageResizer.resizeStriped(image, (int) Math.round(image.getWidth() * SCALE),
+				(int) Math.round(image.getHeight() * SCALE), Scalr.Method.BALANCED, 0, null), 0, -1);
+	}
+
+	@Benchmark
+	public byte[] pngDirect() {
+		return PngEncoder.encode(image, 0, -1);
+	}
+
+	@Benchmark
+	public byte[] pngStripedDirect() {
+		return PngEncoder.encode(ImageResizer.resizeStriped(image, (int) Math.round(image.getWidth() * SCALE),
+				(int) Math.round(image.getHeight() * SCALE), Scalr.Method.BALANCED, 0, null), 0, -1);
+	}
+}
@@ -0,0 +1,68 @@
+package io.mosip.kernel.bio.converter.service.impl;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import javax.imageio.ImageIO;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.mosip.kernel.bio.converter.service.impl.BenchmarkFixtures.Modality;
+
+/**
+ * JPEG2000 image decoding with ImageIO.read and with the reader of
+ * {@link ImageDecoder}, at full resolution and with {@code reduction}
+ * decomposition levels skipped. All fixtures hold JPEG2000 images.
+ *
+ * @author Janardhan B S
+ * @since 1.2.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Jpeg2000DecodeBenchmark {
+	@Param({ "FINGER", "FACE", "IRIS" })
+	private Modality modality;
+
+	@Param({ "1" })
+	private int reduction;
+
+	private byte[] image;
+	private int resolution;
+
+	@Setup
+	public void setup() throws Exception {
+		image = BenchmarkFixtures.image(modality, BenchmarkFixtures.isoData(modality));
+		resolution = Jpeg2000Header.read(image).getLevels() - reduction;
+	}
+
+	@Benchmark
+	public BufferedImage read() throws IOException {
+		return ImageIO.read(new ByteArrayInputStream(image));
+	}
+
+	@Benchmark
+	public BufferedImage readDirect() throws IOException {
+		return ImageDecoder.readJPEG2000(image);
+	}
+
+	@Benchmark
+	public BufferedImage readReduced() throws IOException {
+		return ImageDecoder.readJPEG2000(image, resolution);
+	}
+}
@@ -0,0 +1,103 @@
+package io.mosip.kernel.bio.converter.service.impl;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.unit.DataSize;
+
+import io.mosip.kernel.bio.converter.service.impl.BenchmarkFixtures.Modality;
+
+/**
+ * Load model of the request threads: a burst of requests that each wait for a
+ * slow client body ({@code ioMillis}) before converting one finger record.
+ *
+ * <ul>
+ * <li>platform: a fixed pool of {@code platformThreads}, the Tomcat default,
+ * the request threads convert themselves</li>
+ * <li>virtual: a virtual thread per request, the conversion is handed to the
+ * core sized {@link ConversionExecutor} pool</li>
+ * </ul>
+ *
+ * The score is the time to serve the whole burst. No socket is involved, the
+ * client wait is a sleep, so this compares the threading models and not the
+ * servlet container.
+ *
+ * @author Janardhan B S
+ * @since 1.2.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RequestThreadsBenchmark {
+	@Param({ "platform", "virtual" })
+	private String threads;
+
+	@Param({ "1000" })
+	private int requests;
+
+	@Param({ "50" })
+	private int ioMillis;
+
+	@Param({ "200" })
+	private int platformThreads;
+
+	private ExecutorService requestExecutor;
+	private ConversionExecutor conversionExecutor;
+	private ConverterServiceImpl converterService;
+	private Map<String, byte[]> values;
+
+	@Setup
+	public void setup() throws Exception {
+		boolean virtual = "virtual".equals(threads);
+		requestExecutor = virtual ? Executors.newVirtualThreadPerTaskExecutor()
+				: Executors.newFixedThreadPool(platformThreads);
+		conversionExecutor = new ConversionExecutor(0, requests, 4, 4, virtual);
+		converterService = new ConverterServiceImpl(BenchmarkFixtures.registry(), conversionExecutor,
+				new ConversionCache(false, DataSize.ofBytes(0), null, null), new ConversionMetrics(false, null),
+				new ConversionLimiter(false, 0, 0, Duration.ZERO, Duration.ZERO, null), 1, 1);
+		values = Map.of(Modality.FINGER.name(), BenchmarkFixtures.isoData(Modality.FINGER));
+	}
+
+	@TearDown
+	public void tearDown() {
+		requestExecutor.shutdown();
+		conversionExecutor.shutdown();
+	}
+
+	@Benchmark
+	public int burst() throws Exception {
+		List<Future<Map<String, byte[]>>> responses = new ArrayList<>(requests);
+		for (int request = 0; request < requests; request++) {
+			responses.add(requestExecutor.submit(() -> {
+				Thread.sleep(ioMillis);
+				return converterService.convertBytes(values, Modality.FINGER.getSourceCode().getCode(), "IMAGE/JPEG",
+						null, null);
+			}));
+		}
+		int size = 0;
+		for (Future<Map<String, byte[]>> response : responses)
+			size += response.get().size();
+		return size;
+	}
+}
@@ -0,0 +1,103 @@
+package io.mosip.kernel.bio.converter.service.impl;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.jaiimageio.jpeg2000.J2KImageWriteParam;
+
+import io.mosip.kernel.bio.converter.service.impl.BenchmarkFixtures.Modality;
+
+/**
+ * Decoding of a large tiled JPEG2000 face image, the fixture face scaled by
+ * {@value #SCALE} in tiles of {@code tileSize}, with up to
+ * {@code maxParallelism} rows of tiles decoded at the same time on an idle
+ * pool of as many workers. The latency only drops with as many cores.
+ *
+ * @author Janardhan B S
+ * @since 1.2.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TiledJpeg2000DecodeBenchmark {
+	private static final int SCALE = 4;
+
+	@Param({ "256" })
+	private int tileSize;
+
+	@Param({ "1", "4" })
+	private int maxParallelism;
+
+	private byte[] image;
+	private Rectangle region;
+	private int[] tileRowStarts;
+	private ConversionExecutor conversionExecutor;
+
+	@Setup
+	public void setup() throws Exception {
+		BufferedImage face = ImageDecoder
+				.readJPEG2000(BenchmarkFixtures.image(Modality.FACE, BenchmarkFixtures.isoData(Modality.FACE)));
+		BufferedImage large = new BufferedImage(face.getWidth() * SCALE, face.getHeight() * SCALE,
+				BufferedImage.TYPE_3BYTE_BGR);
+		large.createGraphics().drawImage(face, 0, 0, large.getWidth(), large.getHeight(), null);
+		image = encode(large);
+		Jpeg2000Header header = Jpeg2000Header.read(image);
+		region = new Rectangle(header.getWidth(), header.getHeight());
+		tileRowStarts = header.getTileRowStarts(0);
+		conversionExecutor = new ConversionExecutor(maxParallelism, 100, 4, maxParallelism, false);
+	}
+
+	@TearDown
+	public void tearDown() {
+		conversionExecutor.shutdown();
+	}
+
+	@Benchmark
+	public BufferedImage read() throws IOException {
+		return ImageDecoder.readJPEG2000(image, ImageDecoder.FULL_RESOLUTION, region, tileRowStarts,
+				conversionExecutor, maxParallelism);
+	}
+
+	private byte[] encode(BufferedImage source) throws IOException {
+		ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg2000").next();
+		J2KImageWriteParam writeParam = (J2KImageWriteParam) writer.getDefaultWriteParam();
+		writeParam.setLossless(false);
+		writeParam.setEncodingRate(1.0);
+		writeParam.setTilingMode(ImageWriteParam.MODE_EXPLICIT);
+		writeParam.setTiling(tileSize, tileSize, 0, 0);
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		try (ImageOutputStream imageOutputStream = new MemoryCacheImageOutputStream(outputStream)) {
+			writer.setOutput(imageOutputStream);
+			writer.write(null, new IIOImage(source, null, null), writeParam);
+		} finally {
+			writer.dispose();
+		}
+		return outputStream.toByteArray();
+	}
+}
@@ -0,0 +1,73 @@
+package io.mosip.kernel.bio.converter.service.impl;
+
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.jnbis.api.model.Bitmap;
+import org.jnbis.internal.WsqDecoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.mosip.biometrics.util.CommonUtil;
+import io.mosip.kernel.bio.converter.service.impl.BenchmarkFixtures.Modality;
+
+/**
+ * WSQ decoding of finger images: the jnbis decode and the copy of the decoded
+ * bitmap into a BufferedImage by CommonUtil, against the decode of
+ * {@link ImageDecoder#readWSQ} that keeps the bitmap pixels as the raster.
+ *
+ * The fixtures have no WSQ finger record, the path of a raw ISO19794_4_2011
+ * record with a WSQ image has to be given, ex:
+ * {@code -Djmh.args="WsqDecodeBenchmark -p isoFile=/data/finger-wsq.iso -prof gc"}.
+ * It is excluded from the default run.
+ *
+ * @author Janardhan B S
+ * @since 1.2.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WsqDecodeBenchmark {
+	@Param("")
+	private String isoFile;
+
+	private byte[] image;
+	private Bitmap bitmap;
+
+	@Setup
+	public void setup() throws Exception {
+		if (isoFile.isEmpty())
+			throw new IllegalStateException("WSQ finger ISO record not given, use -p isoFile=<path>");
+		image = BenchmarkFixtures.image(Modality.FINGER, Files.readAllBytes(Path.of(isoFile)));
+		bitmap = new WsqDecoder().decode(image);
+	}
+
+	@Benchmark
+	public Bitmap decode() {
+		return new WsqDecoder().decode(image);
+	}
+
+	@Benchmark
+	public BufferedImage convert() {
+		return CommonUtil.convert(bitmap);
+	}
+
+	@Benchmark
+	public BufferedImage readWSQ() {
+		return ImageDecoder.readWSQ(image);
+	}
+}
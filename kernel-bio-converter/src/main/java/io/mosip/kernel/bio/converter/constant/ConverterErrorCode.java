@@ -17,8 +17,10 @@ public enum ConverterErrorCode {
 	SOURCE_NOT_VALID_FINGER_ISO_FORMAT_EXCEPTION("MOS-CNV-008", "Source not valid ISO ISO19794_4_2011"),
 	SOURCE_NOT_VALID_FACE_ISO_FORMAT_EXCEPTION("MOS-CNV-009", "Source not valid ISO ISO19794_5_2011"),
 	SOURCE_NOT_VALID_IRIS_ISO_FORMAT_EXCEPTION("MOS-CNV-010", "Source not valid ISO ISO19794_6_2011"),
-	TARGET_FORMAT_EXCEPTION("MOS-CNV-011", "Target Format(ISO19794_6_2011_JPEG) Not Supported For the Given Source Format(ISO19794_6_2011)"),
+	TARGET_FORMAT_EXCEPTION("MOS-CNV-011", "Target Format Not Supported For the Given Source Format"),
 	NOT_SUPPORTED_COMPRESSION_TYPE("MOS-CNV-012", "Not Supported Compression Type"),
+	TOO_MANY_REQUESTS_EXCEPTION("MOS-CNV-013", "Too many conversion requests, retry later"),
+	REQUEST_SIZE_EXCEEDED_EXCEPTION("MOS-CNV-014", "Request or value size exceeds the limit"),
 
 	TECHNICAL_ERROR_EXCEPTION("MOS-CNV-500", "Technical Error");
 
@@ -0,0 +1,34 @@
+package io.mosip.kernel.bio.converter.constant;
+
+/**
+ * JobStatusCode Enum for the services asynchronous conversion job states.
+ * 
+ * @author Janardhan B S
+ * @since 1.2.1
+ */
+public enum JobStatusCode {
+	QUEUED("QUEUED", "job is waiting for a job worker"),
+	RUNNING("RUNNING", "job is converting"),
+	COMPLETED("COMPLETED", "results of the job can be read"),
+	FAILED("FAILED", "request of the job could not be read, see the job errors");
+
+	private final String code;
+	private final String message;
+
+	private JobStatusCode(final String code, final String message) {
+		this.code = code;
+		this.message = message;
+	}
+
+	public String getCode() {
+		return code;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+
+	public boolean isDone() {
+		return this == COMPLETED || this == FAILED;
+	}
+}
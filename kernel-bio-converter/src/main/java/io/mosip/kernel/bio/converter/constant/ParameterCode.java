@@ -9,7 +9,11 @@ package io.mosip.kernel.bio.converter.constant;
 public enum ParameterCode {
 	DPI("dpi", "image Dots Per Inch"),
 	WIDTH("width", "image width"),
-	HEIGHT("height", "image height");
+	HEIGHT("height", "image height"),
+	SCALE_MODE("scaleMode", "image resize quality mode[ex:\"speed\", \"balanced\", \"ultra\"]"),
+	QUALITY("quality", "JPEG image quality[1 - 100]"),
+	COMPRESSION_LEVEL("compressionLevel", "PNG image compression level[0 - 9]"),
+	CROP("crop", "face image crop[ex:\"token\", \"x,y,width,height\"]");
 
 	private final String code;
 	private final String message;
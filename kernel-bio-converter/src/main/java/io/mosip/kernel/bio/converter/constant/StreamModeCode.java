@@ -0,0 +1,40 @@
+package io.mosip.kernel.bio.converter.constant;
+
+import io.mosip.kernel.bio.converter.exception.ConversionException;
+
+/**
+ * StreamModeCode Enum for the services streamed response order.
+ * 
+ * @author Janardhan B S
+ * @since 1.2.1
+ */
+public enum StreamModeCode {
+	ORDERED("ordered", "converted values are written in request order"),
+	COMPLETION("completion", "converted values are written in the order they finish converting");
+
+	private final String code;
+	private final String message;
+
+	private StreamModeCode(final String code, final String message) {
+		this.code = code;
+		this.message = message;
+	}
+
+	public String getCode() {
+		return code;
+	}
+
+	public static StreamModeCode fromCode(String streamCodeName) {
+		for (StreamModeCode streamCode : StreamModeCode.values()) {
+			if (streamCode.getCode().equalsIgnoreCase(streamCodeName)) {
+				return streamCode;
+			}
+		}
+		throw new ConversionException(ConverterErrorCode.INVALID_REQUEST_EXCEPTION.getErrorCode(),
+				ConverterErrorCode.INVALID_REQUEST_EXCEPTION.getErrorMessage() + " : " + streamCodeName);
+	}
+
+	public String getMessage() {
+		return message;
+	}
+}
@@ -9,21 +9,26 @@ import io.mosip.kernel.bio.converter.exception.ConversionException;
  * @since 1.0.0
  */
 public enum TargetFormatCode {
-	IMAGE_JPEG("IMAGE/JPEG", "jpeg format"),
-	IMAGE_PNG("IMAGE/PNG", "png format"),
-	ISO19794_4_2011_JPEG("ISO19794_4_2011/JPEG", "Finger ISO format to Finger ISO format with JPEG IMAGE"),
-	ISO19794_5_2011_JPEG("ISO19794_5_2011/JPEG", "Face ISO format to Finger ISO format with JPEG IMAGE"),
+	IMAGE_JPEG("IMAGE/JPEG", "jpeg format", null),
+	IMAGE_PNG("IMAGE/PNG", "png format", null),
+	ISO19794_4_2011_JPEG("ISO19794_4_2011/JPEG", "Finger ISO format to Finger ISO format with JPEG IMAGE", SourceFormatCode.ISO19794_4_2011),
+	ISO19794_5_2011_JPEG("ISO19794_5_2011/JPEG", "Face ISO format to Finger ISO format with JPEG IMAGE", SourceFormatCode.ISO19794_5_2011),
 	//ISO19794_6_2011_JPEG("ISO19794_6_2011/JPEG", "Iris ISO format to Finger ISO format with JPEG IMAGE"),
-	ISO19794_4_2011_PNG("ISO19794_4_2011/PNG", "Finger ISO format to Finger ISO format with PNG IMAGE"),
-	ISO19794_5_2011_PNG("ISO19794_5_2011/PNG", "Face ISO format to Finger ISO format with PNG IMAGE"),
-	ISO19794_6_2011_PNG("ISO19794_6_2011/PNG", "Iris ISO format to Finger ISO format with PNG IMAGE");
+	ISO19794_4_2011_PNG("ISO19794_4_2011/PNG", "Finger ISO format to Finger ISO format with PNG IMAGE", SourceFormatCode.ISO19794_4_2011),
+	ISO19794_5_2011_PNG("ISO19794_5_2011/PNG", "Face ISO format to Finger ISO format with PNG IMAGE", SourceFormatCode.ISO19794_5_2011),
+	ISO19794_6_2011_PNG("ISO19794_6_2011/PNG", "Iris ISO format to Finger ISO format with PNG IMAGE", SourceFormatCode.ISO19794_6_2011);
 
 	private final String code;
 	private final String message;
+	/**
+	 * ISO format the target record is written in, null for plain image formats
+	 */
+	private final SourceFormatCode isoFormat;
 
-	private TargetFormatCode(final String code, final String message) {
+	private TargetFormatCode(final String code, final String message, final SourceFormatCode isoFormat) {
 		this.code = code;
 		this.message = message;
+		this.isoFormat = isoFormat;
 	}
 
 	public String getCode() {
@@ -51,6 +56,18 @@ public enum TargetFormatCode {
 	public String getMessage() {
 		return message;
 	}
+
+	public SourceFormatCode getIsoFormat() {
+		return isoFormat;
+	}
+
+	/**
+	 * Plain image targets are supported for every source, ISO targets only for
+	 * the same ISO format.
+	 */
+	public boolean isSupportedFor(SourceFormatCode sourceCode) {
+		return isoFormat == null || isoFormat == sourceCode;
+	}
 	
 	@Override
 	public String toString() {
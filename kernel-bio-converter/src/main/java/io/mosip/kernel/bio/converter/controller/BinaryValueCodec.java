@@ -0,0 +1,112 @@
+package io.mosip.kernel.bio.converter.controller;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import io.mosip.kernel.bio.converter.constant.ConverterErrorCode;
+import io.mosip.kernel.bio.converter.exception.ConversionException;
+
+/**
+ * Reads and writes the length prefixed binary body of the binary convert
+ * endpoint.
+ *
+ * The body is a sequence of values, each written as the key length (2 bytes),
+ * the UTF-8 key, the value length (4 bytes) and the raw value. Lengths are big
+ * endian, the same as in the ISO records.
+ *
+ * The value and body lengths are checked against their limits before the
+ * data is read, a body over them is rejected with
+ * {@link ConverterErrorCode#REQUEST_SIZE_EXCEEDED_EXCEPTION}.
+ *
+ * @author Janardhan B S
+ * @since 1.2.1
+ */
+final class BinaryValueCodec {
+	private static final int KEY_LENGTH_SIZE = 2;
+	private static final int VALUE_LENGTH_SIZE = 4;
+
+	private BinaryValueCodec() {
+		throw new IllegalStateException("BinaryValueCodec class");
+	}
+
+	/**
+	 * Reads the values of the body until the end of the stream
+	 *
+	 * @param inputStream    request body
+	 * @param maxValueLength largest value length accepted
+	 * @param maxBodyLength  largest body length accepted
+	 * @return values in body order
+	 */
+	static Map<String, byte[]> read(InputStream inputStream, long maxValueLength, long maxBodyLength)
+			throws IOException {
+		Map<String, byte[]> values = new LinkedHashMap<>();
+		long bodyLength = 0;
+		int first;
+		while ((first = inputStream.read()) != -1) {
+			int keyLength = (first << 8) | readByte(inputStream);
+			bodyLength += KEY_LENGTH_SIZE + keyLength + VALUE_LENGTH_SIZE;
+			if (bodyLength > maxBodyLength)
+				throw sizeExceeded("body length over " + maxBodyLength);
+			String key = new String(readFully(inputStream, keyLength), StandardCharsets.UTF_8);
+			long valueLength = ((long) readByte(inputStream) << 24) | (readByte(inputStream) << 16)
+					| (readByte(inputStream) << 8) | readByte(inputStream);
+			if (valueLength > Math.min(maxValueLength, Integer.MAX_VALUE))
+				throw sizeExceeded("value length " + valueLength + " of " + key + " over " + maxValueLength);
+			bodyLength += valueLength;
+			if (bodyLength > maxBodyLength)
+				throw sizeExceeded("body length over " + maxBodyLength);
+			if (values.put(key, readFully(inputStream, (int) valueLength)) != null)
+				throw invalidBody("duplicate key " + key);
+		}
+		return values;
+	}
+
+	/**
+	 * Writes the values in map order
+	 *
+	 * @param outputStream response body
+	 * @param values       values to write
+	 */
+	static void write(OutputStream outputStream, Map<String, byte[]> values) throws IOException {
+		DataOutputStream dataOutputStream = new DataOutputStream(outputStream);
+		for (Map.Entry<String, byte[]> entry : values.entrySet()) {
+			byte[] key = entry.getKey().getBytes(StandardCharsets.UTF_8);
+			dataOutputStream.writeShort(key.length);
+			dataOutputStream.write(key);
+			dataOutputStream.writeInt(entry.getValue().length);
+			dataOutputStream.write(entry.getValue());
+		}
+		dataOutputStream.flush();
+	}
+
+	private static int readByte(InputStream inputStream) throws IOException {
+		int value = inputStream.read();
+		if (value == -1)
+			throw invalidBody("unexpected end of body");
+		return value;
+	}
+
+	private static byte[] readFully(InputStream inputStream, int length) throws IOException {
+		// readNBytes grows the buffer as data arrives, a length under the limits but
+		// past the end of the body does not allocate up front
+		byte[] data = inputStream.readNBytes(length);
+		if (data.length != length)
+			throw invalidBody("unexpected end of body");
+		return data;
+	}
+
+	private static ConversionException invalidBody(String reason) {
+		return new ConversionException(ConverterErrorCode.INVALID_REQUEST_EXCEPTION.getErrorCode(),
+				ConverterErrorCode.INVALID_REQUEST_EXCEPTION.getErrorMessage() + " : " + reason);
+	}
+
+	static ConversionException sizeExceeded(String reason) {
+		return new ConversionException(ConverterErrorCode.REQUEST_SIZE_EXCEEDED_EXCEPTION.getErrorCode(),
+				ConverterErrorCode.REQUEST_SIZE_EXCEEDED_EXCEPTION.getErrorMessage() + " : " + reason);
+	}
+}
@@ -1,21 +1,63 @@
 package io.mosip.kernel.bio.converter.controller;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
-import javax.validation.Valid;
-
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.multipart.MultipartHttpServletRequest;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
-import io.mosip.kernel.bio.converter.dto.ConvertRequestDto;
+import io.mosip.kernel.bio.converter.constant.ConverterErrorCode;
+import io.mosip.kernel.bio.converter.constant.StreamModeCode;
+import io.mosip.kernel.bio.converter.constant.TargetFormatCode;
+import io.mosip.kernel.bio.converter.dto.BatchConvertRequestBodyDto;
+import io.mosip.kernel.bio.converter.dto.BatchConvertRequestDto;
+import io.mosip.kernel.bio.converter.dto.ConversionJobDto;
+import io.mosip.kernel.bio.converter.dto.ConvertJobResultDto;
+import io.mosip.kernel.bio.converter.dto.ConvertRequestBodyDto;
+import io.mosip.kernel.bio.converter.dto.InspectRequestDto;
+import io.mosip.kernel.bio.converter.dto.IsoRecordInfoDto;
 import io.mosip.kernel.bio.converter.exception.ConversionException;
+import io.mosip.kernel.bio.converter.exception.ConversionExceptionAdvice;
+import io.mosip.kernel.bio.converter.service.ConversionRecorder.Stage;
+import io.mosip.kernel.bio.converter.service.ConversionSession;
+import io.mosip.kernel.bio.converter.service.IConversionJobApi;
 import io.mosip.kernel.bio.converter.service.IConverterApi;
+import io.mosip.kernel.bio.converter.service.impl.Base64UrlCodec;
+import io.mosip.kernel.bio.converter.service.impl.ConversionJobServiceImpl;
+import io.mosip.kernel.bio.converter.service.impl.ConversionMetrics;
+import io.mosip.kernel.bio.converter.service.impl.ConversionMetrics.Recorder;
 import io.mosip.kernel.bio.converter.service.impl.ConverterServiceImpl;
 import io.mosip.kernel.core.http.RequestWrapper;
 import io.mosip.kernel.core.http.ResponseFilter;
 import io.mosip.kernel.core.http.ResponseWrapper;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 
 /**
  * Convert Handler Controller
@@ -27,33 +69,291 @@ import io.mosip.kernel.core.http.ResponseWrapper;
 
 @RestController
 public class ConvertController {
+	private static final String SOURCE_FORMAT = "sourceFormat";
+	private static final String TARGET_FORMAT = "targetFormat";
+	private static final String STREAM = "stream";
+	private static final String JOB_ID = "jobId";
+	private static final String NDJSON_VALUE = "application/x-ndjson";
+
 	/**
 	 * Service instance {@link ConverterServiceImpl}
 	 */
 	private IConverterApi converterService;
 
+	/**
+	 * Asynchronous conversion jobs {@link ConversionJobServiceImpl}
+	 */
+	private IConversionJobApi conversionJobService;
+
+	private ObjectMapper objectMapper;
+
+	private ConversionMetrics conversionMetrics;
+
+	/**
+	 * Limits of the binary bodies, the same as the multipart ones
+	 */
+	private final long maxValueSize;
+	private final long maxRequestSize;
+
 	@Autowired
-	public ConvertController(IConverterApi converterService) {
+	public ConvertController(IConverterApi converterService, IConversionJobApi conversionJobService,
+			ObjectMapper objectMapper, ConversionMetrics conversionMetrics,
+			@Value("${spring.servlet.multipart.max-file-size:20MB}") DataSize maxValueSize,
+			@Value("${spring.servlet.multipart.max-request-size:100MB}") DataSize maxRequestSize) {
 		this.converterService = converterService;
+		this.conversionJobService = conversionJobService;
+		this.objectMapper = objectMapper;
+		this.conversionMetrics = conversionMetrics;
+		this.maxValueSize = maxValueSize.toBytes();
+		this.maxRequestSize = maxRequestSize.toBytes();
 	}
 	/**
-	 * Verifies mapping of input public key with any machine. if valid returns
-	 * corresponding keyIndex.
+	 * Converts the base64 URL encoded values of a
+	 * {@code RequestWrapper<ConvertRequestDto>} body. The body is read as a
+	 * stream by {@link ConvertRequestReader}, its schema is documented by
+	 * {@link ConvertRequestBodyDto}.
 	 *
-	 * @param convertRequestDto
-	 * @return
+	 * @param request convert request
+	 * @return converted base64 URL encoded values
 	 */
 	@ResponseFilter
 	@PostMapping(value = "/convert", produces = "application/json")
-	public ResponseWrapper<Map<String, String>> convert(
-			@RequestBody @Valid RequestWrapper<ConvertRequestDto> convertRequestDto) throws ConversionException {
+	@io.swagger.v3.oas.annotations.parameters.RequestBody(required = true, content = @Content(
+			mediaType = MediaType.APPLICATION_JSON_VALUE,
+			schema = @Schema(implementation = ConvertRequestBodyDto.class)))
+	public ResponseWrapper<Map<String, String>> convert(HttpServletRequest request)
+			throws ConversionException, IOException {
 		ResponseWrapper<Map<String, String>> responseDto = new ResponseWrapper<>();
 
-		responseDto.setResponse(converterService.convert(convertRequestDto.getRequest().getValues(),
-				convertRequestDto.getRequest().getSourceFormat(), convertRequestDto.getRequest().getTargetFormat(),
-				convertRequestDto.getRequest().getSourceParameters(),
-				convertRequestDto.getRequest().getTargetParameters()));
+		ConvertRequestReader requestReader = new ConvertRequestReader(converterService, conversionMetrics);
+		Map<String, byte[]> targetValues = readRequest(request, requestReader).finish();
+
+		Recorder recorder = requestReader.getRecorder();
+		Map<String, String> values = new LinkedHashMap<>();
+		targetValues.forEach((key, value) -> values.put(key,
+				recorder.record(Stage.ENCODE_BASE64, () -> Base64UrlCodec.encodeToString(value))));
+		responseDto.setResponse(values);
+		return responseDto;
+	}
+
+	/**
+	 * Same as {@link #convert(HttpServletRequest)}, with every converted value
+	 * written to the response as soon as it is available, see
+	 * {@link ConvertResponseWriter}.
+	 *
+	 * @param stream   order of the written values, see {@link StreamModeCode}
+	 * @param request  convert request
+	 * @param response streamed response
+	 */
+	@PostMapping(value = "/convert", params = STREAM, produces = "application/json")
+	@io.swagger.v3.oas.annotations.parameters.RequestBody(required = true, content = @Content(
+			mediaType = MediaType.APPLICATION_JSON_VALUE,
+			schema = @Schema(implementation = ConvertRequestBodyDto.class)))
+	public void convertStream(@RequestParam(STREAM) String stream, HttpServletRequest request,
+			HttpServletResponse response) throws IOException {
+		StreamModeCode streamMode = StreamModeCode.fromCode(stream);
+		ConvertRequestReader requestReader = new ConvertRequestReader(converterService, conversionMetrics);
+		ConversionSession session = readRequest(request, requestReader);
+
+		ConvertResponseWriter responseWriter = new ConvertResponseWriter(objectMapper, response,
+				requestReader.getId(), requestReader.getVersion(), requestReader.getRecorder());
+		try {
+			session.finish(streamMode == StreamModeCode.COMPLETION, responseWriter);
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		} catch (RuntimeException e) {
+			if (responseWriter.fail(e))
+				return;
+			throw e;
+		}
+		responseWriter.finish();
+	}
+
+	/**
+	 * Converts independent jobs, each with its own formats and parameters. A
+	 * job that fails does not fail the batch, its errors are returned in its
+	 * result.
+	 *
+	 * @param batchRequest jobs with base64 URL encoded values
+	 * @return job results in job order
+	 */
+	@ResponseFilter
+	@PostMapping(value = "/convert/batch", produces = "application/json")
+	public ResponseWrapper<List<ConvertJobResultDto>> convertBatch(
+			@RequestBody RequestWrapper<BatchConvertRequestDto> batchRequest) throws ConversionException {
+		if (batchRequest.getRequest() == null) {
+			ConverterErrorCode errorCode = ConverterErrorCode.TECHNICAL_ERROR_EXCEPTION;
+			throw new ConversionException(errorCode.getErrorCode(), "Request can not be null");
+		}
+		ResponseWrapper<List<ConvertJobResultDto>> responseDto = new ResponseWrapper<>();
+		responseDto.setResponse(converterService.convertBatch(batchRequest.getRequest().getJobs()));
+		return responseDto;
+	}
+
+	/**
+	 * Reads the metadata of ISO records from their headers: modality, record
+	 * and image lengths, compression, image size and quality scores. The images
+	 * are not decoded, many records can be checked in one call before they are
+	 * converted.
+	 *
+	 * @param inspectRequest base64 URL encoded ISO records
+	 * @return metadata of the records in request order
+	 */
+	@ResponseFilter
+	@PostMapping(value = "/convert/inspect", produces = "application/json")
+	public ResponseWrapper<Map<String, IsoRecordInfoDto>> inspect(
+			@RequestBody RequestWrapper<InspectRequestDto> inspectRequest) throws ConversionException {
+		if (inspectRequest.getRequest() == null) {
+			ConverterErrorCode errorCode = ConverterErrorCode.TECHNICAL_ERROR_EXCEPTION;
+			throw new ConversionException(errorCode.getErrorCode(), "Request can not be null");
+		}
+		ResponseWrapper<Map<String, IsoRecordInfoDto>> responseDto = new ResponseWrapper<>();
+		responseDto.setResponse(converterService.inspect(inspectRequest.getRequest().getValues(),
+				inspectRequest.getRequest().getSourceFormat()));
+		return responseDto;
+	}
+
+	/**
+	 * Queues a batch convert request ({@code RequestWrapper<BatchConvertRequestDto>})
+	 * for asynchronous conversion, the body is spooled as it is without being
+	 * parsed. A request that can not be read fails the job. The schema of the
+	 * body is documented by {@link BatchConvertRequestBodyDto}.
+	 *
+	 * @param request batch convert request
+	 * @return queued job, its id is used to poll the job and read its results
+	 */
+	@ResponseFilter
+	@PostMapping(value = "/convert/jobs", produces = "application/json")
+	@io.swagger.v3.oas.annotations.parameters.RequestBody(required = true, content = @Content(
+			mediaType = MediaType.APPLICATION_JSON_VALUE,
+			schema = @Schema(implementation = BatchConvertRequestBodyDto.class)))
+	public ResponseWrapper<ConversionJobDto> submitJob(HttpServletRequest request)
+			throws ConversionException, IOException {
+		ResponseWrapper<ConversionJobDto> responseDto = new ResponseWrapper<>();
+		responseDto.setResponse(conversionJobService.submit(request.getInputStream()));
+		return responseDto;
+	}
+
+	/**
+	 * @param jobId job id
+	 * @return state of the job
+	 */
+	@ResponseFilter
+	@GetMapping(value = "/convert/jobs/{" + JOB_ID + "}", produces = "application/json")
+	public ResponseWrapper<ConversionJobDto> getJob(@PathVariable(JOB_ID) String jobId) throws ConversionException {
+		ResponseWrapper<ConversionJobDto> responseDto = new ResponseWrapper<>();
+		responseDto.setResponse(conversionJobService.getJob(jobId));
+		return responseDto;
+	}
 
+	/**
+	 * Streams the results of a completed job from the spool, one
+	 * {@link ConvertJobResultDto} per line in batch job order
+	 *
+	 * @param jobId    job id
+	 * @param response job results
+	 */
+	@GetMapping(value = "/convert/jobs/{" + JOB_ID + "}/results", produces = NDJSON_VALUE)
+	public void getJobResults(@PathVariable(JOB_ID) String jobId, HttpServletResponse response)
+			throws ConversionException, IOException {
+		// an unknown or unfinished job fails before anything is written
+		response.setContentType(NDJSON_VALUE);
+		conversionJobService.copyResults(jobId, response.getOutputStream());
+	}
+
+	/**
+	 * Deletes a job and its results, a job still converting is stopped
+	 *
+	 * @param jobId job id
+	 * @return state of the job when it was deleted
+	 */
+	@ResponseFilter
+	@DeleteMapping(value = "/convert/jobs/{" + JOB_ID + "}", produces = "application/json")
+	public ResponseWrapper<ConversionJobDto> deleteJob(@PathVariable(JOB_ID) String jobId)
+			throws ConversionException {
+		ResponseWrapper<ConversionJobDto> responseDto = new ResponseWrapper<>();
+		responseDto.setResponse(conversionJobService.delete(jobId));
 		return responseDto;
 	}
+
+	/**
+	 * Converts the raw values sent as multipart file parts, the part names are
+	 * the identifier keys. Request parameters other than sourceFormat and
+	 * targetFormat are the target parameters. The converted values are returned
+	 * as multipart/mixed parts with the same names.
+	 *
+	 * @param sourceFormat source format code
+	 * @param targetFormat target format code
+	 * @param request      multipart request
+	 * @return converted raw values
+	 */
+	@PostMapping(value = "/convert/binary", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+	public ResponseEntity<MultiValueMap<String, HttpEntity<byte[]>>> convertMultipart(
+			@RequestParam(SOURCE_FORMAT) String sourceFormat, @RequestParam(TARGET_FORMAT) String targetFormat,
+			MultipartHttpServletRequest request) throws IOException {
+		Map<String, byte[]> values = new LinkedHashMap<>();
+		for (Map.Entry<String, MultipartFile> file : request.getFileMap().entrySet()) {
+			values.put(file.getKey(), file.getValue().getBytes());
+		}
+		Map<String, byte[]> targetValues = converterService.convertBytes(values, sourceFormat, targetFormat, null,
+				getTargetParameters(request));
+
+		HttpHeaders partHeaders = new HttpHeaders();
+		partHeaders.setContentType(getMediaType(targetFormat));
+		MultiValueMap<String, HttpEntity<byte[]>> parts = new LinkedMultiValueMap<>();
+		targetValues.forEach((key, value) -> parts.add(key, new HttpEntity<>(value, partHeaders)));
+		return ResponseEntity.ok().contentType(MediaType.MULTIPART_MIXED).body(parts);
+	}
+
+	/**
+	 * Converts the raw values sent as a length prefixed binary body, see
+	 * {@link BinaryValueCodec}. Request parameters other than sourceFormat and
+	 * targetFormat are the target parameters. The converted values are written
+	 * back in the same framing and order. Values and bodies over the multipart
+	 * size limits are rejected before they are read.
+	 *
+	 * @param sourceFormat source format code
+	 * @param targetFormat target format code
+	 * @param request      binary request
+	 * @param response     binary response
+	 */
+	@PostMapping(value = "/convert/binary", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+	public void convertBinary(@RequestParam(SOURCE_FORMAT) String sourceFormat,
+			@RequestParam(TARGET_FORMAT) String targetFormat, HttpServletRequest request,
+			HttpServletResponse response) throws IOException {
+		if (request.getContentLengthLong() > maxRequestSize)
+			throw BinaryValueCodec.sizeExceeded("body length over " + maxRequestSize);
+		Map<String, byte[]> values = BinaryValueCodec.read(request.getInputStream(), maxValueSize, maxRequestSize);
+		Map<String, byte[]> targetValues = converterService.convertBytes(values, sourceFormat, targetFormat, null,
+				getTargetParameters(request));
+
+		response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+		BinaryValueCodec.write(response.getOutputStream(), targetValues);
+	}
+
+	private ConversionSession readRequest(HttpServletRequest request, ConvertRequestReader requestReader)
+			throws IOException {
+		try (JsonParser parser = objectMapper.createParser(request.getInputStream())) {
+			return requestReader.read(parser);
+		} finally {
+			request.setAttribute(ConversionExceptionAdvice.REQUEST_ID_ATTRIBUTE, requestReader.getId());
+			request.setAttribute(ConversionExceptionAdvice.REQUEST_VERSION_ATTRIBUTE, requestReader.getVersion());
+		}
+	}
+
+	private static Map<String, String> getTargetParameters(HttpServletRequest request) {
+		Map<String, String> targetParameters = new HashMap<>();
+		request.getParameterMap().forEach((name, value) -> {
+			if (!SOURCE_FORMAT.equals(name) && !TARGET_FORMAT.equals(name) && value.length > 0)
+				targetParameters.put(name, value[0]);
+		});
+		return targetParameters;
+	}
+
+	private static MediaType getMediaType(String targetFormat) {
+		TargetFormatCode targetCode = TargetFormatCode.fromCode(targetFormat);
+		if (targetCode.getIsoFormat() == null)
+			return MediaType.parseMediaType(targetCode.getCode().toLowerCase(Locale.ROOT));
+		return MediaType.APPLICATION_OCTET_STREAM;
+	}
 }
@@ -0,0 +1,334 @@
+package io.mosip.kernel.bio.converter.controller;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.Base64Variant;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.JsonEOFException;
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import io.mosip.kernel.bio.converter.constant.ConverterErrorCode;
+import io.mosip.kernel.bio.converter.constant.SourceFormatCode;
+import io.mosip.kernel.bio.converter.constant.TargetFormatCode;
+import io.mosip.kernel.bio.converter.exception.ConversionException;
+import io.mosip.kernel.bio.converter.service.ConversionRecorder.Stage;
+import io.mosip.kernel.bio.converter.service.ConversionSession;
+import io.mosip.kernel.bio.converter.service.IConverterApi;
+import io.mosip.kernel.bio.converter.service.impl.ConversionMetrics;
+import io.mosip.kernel.bio.converter.service.impl.ConversionMetrics.Recorder;
+import io.mosip.kernel.bio.converter.service.impl.PooledOutputStream;
+
+/**
+ * Reads a convert request ({@code RequestWrapper<ConvertRequestDto>}) token by
+ * token, decoding every base64 URL encoded value straight from the request
+ * stream into bytes. The value strings are never materialized.
+ *
+ * When sourceFormat, targetFormat and targetParameters come before values in
+ * the request, each value is handed to a {@link ConversionSession} as soon as
+ * it is decoded, so conversion overlaps with reading the rest of the body.
+ * Otherwise the decoded values are kept until the end of the body.
+ *
+ * Errors are reported in the same order as the request object binding does:
+ * missing values first, then the formats and parameters, then the values. A
+ * body that is not valid JSON is reported as MOS-CNV-500.
+ *
+ * @author Janardhan B S
+ * @since 1.2.1
+ */
+final class ConvertRequestReader {
+	/**
+	 * Base64 URL alphabet accepting values with and without padding, the same as
+	 * the JDK URL decoder
+	 */
+	private static final Base64Variant BASE64_URL = new Base64Variant("MODIFIED-FOR-URL-PADDING-ALLOWED",
+			"ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_", true, '=', Integer.MAX_VALUE)
+			.withReadPadding(Base64Variant.PaddingReadBehaviour.PADDING_ALLOWED);
+	private static final TypeReference<Map<String, String>> PARAMETERS_TYPE = new TypeReference<>() {
+	};
+	private static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+
+	private final IConverterApi converterService;
+	private final ConversionMetrics conversionMetrics;
+
+	private String id;
+	private String version;
+	private String sourceFormat;
+	private String targetFormat;
+	private Map<String, String> sourceParameters;
+	private Map<String, String> targetParameters;
+	private boolean targetParametersRead;
+	private boolean requestRead;
+	private boolean valuesRead;
+
+	private ConversionSession session;
+	private ConversionException sessionFailure;
+	/**
+	 * Values read before the session could be opened, decoded bytes or the
+	 * decoding failure
+	 */
+	private final List<String> pendingKeys = new ArrayList<>();
+	private final List<Object> pendingValues = new ArrayList<>();
+	private int valueCount;
+	/**
+	 * Base64 decoding times of the values, recorded once the formats are known
+	 */
+	private final List<Long> decodeTimes = new ArrayList<>();
+	private Recorder recorder;
+	/**
+	 * Decoding buffer reused by all values of the request, released when the
+	 * request is read
+	 */
+	private final PooledOutputStream buffer = new PooledOutputStream(INITIAL_BUFFER_SIZE);
+
+	ConvertRequestReader(IConverterApi converterService, ConversionMetrics conversionMetrics) {
+		this.converterService = converterService;
+		this.conversionMetrics = conversionMetrics;
+	}
+
+	/**
+	 * Reads the request, its values may still be converting when this returns.
+	 * When the request can not be read, the values already converting are
+	 * cancelled.
+	 *
+	 * @param parser parser positioned before the request wrapper object
+	 * @return session holding all values of the request, in request order
+	 */
+	ConversionSession read(JsonParser parser) throws IOException {
+		try {
+			readWrapper(parser);
+			validate();
+			return completeSession();
+		} catch (JsonProcessingException e) {
+			cancelSession();
+			throw technicalError("Request body is not valid JSON : " + e.getOriginalMessage());
+		} catch (IOException | RuntimeException e) {
+			cancelSession();
+			throw e;
+		} finally {
+			buffer.close();
+		}
+	}
+
+	String getId() {
+		return id;
+	}
+
+	String getVersion() {
+		return version;
+	}
+
+	/**
+	 * @return recorder of the base64 stages of the request, once it is read
+	 */
+	Recorder getRecorder() {
+		return recorder;
+	}
+
+	private void readWrapper(JsonParser parser) throws IOException {
+		if (parser.nextToken() != JsonToken.START_OBJECT)
+			throw technicalError("Request body is not a JSON object");
+
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String field = parser.getCurrentName();
+			JsonToken token = parser.nextToken();
+			switch (field) {
+			case "id":
+				id = readString(parser);
+				break;
+			case "version":
+				version = readString(parser);
+				break;
+			case "request":
+				requestRead = token == JsonToken.START_OBJECT;
+				if (requestRead)
+					readRequest(parser);
+				break;
+			default:
+				parser.skipChildren();
+				break;
+			}
+		}
+	}
+
+	private void readRequest(JsonParser parser) throws IOException {
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String field = parser.getCurrentName();
+			JsonToken token = parser.nextToken();
+			switch (field) {
+			case "values":
+				valuesRead = token == JsonToken.START_OBJECT;
+				if (valuesRead) {
+					if (sourceFormat != null && targetFormat != null && targetParametersRead)
+						openSession();
+					readValues(parser);
+				} else {
+					parser.skipChildren();
+				}
+				break;
+			case "sourceFormat":
+				sourceFormat = readString(parser);
+				break;
+			case "targetFormat":
+				targetFormat = readString(parser);
+				break;
+			case "sourceParameters":
+				sourceParameters = token == JsonToken.VALUE_NULL ? null : parser.readValueAs(PARAMETERS_TYPE);
+				break;
+			case "targetParameters":
+				targetParameters = token == JsonToken.VALUE_NULL ? null : parser.readValueAs(PARAMETERS_TYPE);
+				targetParametersRead = true;
+				break;
+			default:
+				parser.skipChildren();
+				break;
+			}
+		}
+	}
+
+	private void readValues(JsonParser parser) throws IOException {
+		ConversionException valueFailure = null;
+		while (nextToken(parser, valueFailure) == JsonToken.FIELD_NAME) {
+			String key = parser.getCurrentName();
+			JsonToken token = parser.nextToken();
+			valueCount++;
+			if (sessionFailure != null) {
+				// the request fails anyway, the value is skipped without decoding
+				parser.skipChildren();
+				continue;
+			}
+
+			Object value = null;
+			if (token == JsonToken.VALUE_STRING) {
+				value = decode(parser);
+			} else {
+				parser.skipChildren();
+			}
+			valueFailure = value instanceof ConversionException exception ? exception : null;
+
+			if (session == null) {
+				pendingKeys.add(key);
+				pendingValues.add(value);
+			} else {
+				addValue(key, value);
+			}
+		}
+	}
+
+	/**
+	 * Reads the token after a value. A value whose decoding failed on its closing
+	 * quote leaves the parser inside the following tokens, the parse error that
+	 * follows is the failure of that value.
+	 *
+	 * @param valueFailure decoding failure of the value just read, null when it
+	 *                     was decoded
+	 */
+	private static JsonToken nextToken(JsonParser parser, ConversionException valueFailure) throws IOException {
+		try {
+			return parser.nextToken();
+		} catch (JsonParseException e) {
+			if (valueFailure != null)
+				throw valueFailure;
+			throw e;
+		}
+	}
+
+	/**
+	 * Decodes the current string token, the rest of an invalid value is skipped
+	 * by the parser on the next token, see {@link #nextToken}
+	 */
+	private Object decode(JsonParser parser) throws IOException {
+		buffer.reset();
+		long start = System.nanoTime();
+		try {
+			parser.readBinaryValue(BASE64_URL, buffer);
+		} catch (JsonEOFException e) {
+			// the body ends inside the value, the request is not valid JSON
+			throw e;
+		} catch (JsonParseException | IllegalArgumentException e) {
+			ConverterErrorCode errorCode = ConverterErrorCode.SOURCE_NOT_VALID_BASE64URLENCODED_EXCEPTION;
+			return new ConversionException(errorCode.getErrorCode(),
+					e instanceof JsonParseException parseException ? parseException.getOriginalMessage()
+							: e.getLocalizedMessage());
+		}
+		decodeTimes.add(System.nanoTime() - start);
+		return buffer.toByteArray();
+	}
+
+	private void openSession() {
+		try {
+			session = converterService.openSession(sourceFormat, targetFormat, sourceParameters, targetParameters);
+		} catch (ConversionException e) {
+			sessionFailure = e;
+		}
+	}
+
+	private void addValue(String key, Object value) {
+		if (value instanceof ConversionException exception)
+			session.addFailure(key, exception);
+		else
+			session.add(key, (byte[]) value);
+	}
+
+	/**
+	 * Checks the constraints of {@code RequestWrapper<ConvertRequestDto>} with the
+	 * error codes of the request binding: the request and its values are
+	 * reported as MOS-CNV-500, blank formats as MOS-CNV-003 and MOS-CNV-004.
+	 */
+	private void validate() {
+		if (!requestRead)
+			throw technicalError("Request can not be null");
+		if (!valuesRead)
+			throw technicalError("Values code can not be null");
+		if (valueCount == 0)
+			throw technicalError("Minimum one entry required");
+		if (sessionFailure != null)
+			return;
+		if (sourceFormat == null || sourceFormat.isBlank())
+			throw new ConversionException(ConverterErrorCode.INVALID_SOURCE_EXCEPTION.getErrorCode(),
+					"SourceFormat code can not be blank");
+		if (targetFormat == null || targetFormat.isBlank())
+			throw new ConversionException(ConverterErrorCode.INVALID_TARGET_EXCEPTION.getErrorCode(),
+					"TargetFormat code can not be blank");
+	}
+
+	private ConversionSession completeSession() {
+		if (session == null && sessionFailure == null)
+			session = converterService.openSession(sourceFormat, targetFormat, sourceParameters, targetParameters);
+		if (sessionFailure != null)
+			throw sessionFailure;
+
+		recorder = conversionMetrics.recorder(SourceFormatCode.fromCode(sourceFormat),
+				TargetFormatCode.fromCode(targetFormat));
+		for (long decodeTime : decodeTimes)
+			recorder.record(Stage.DECODE_BASE64, decodeTime);
+		for (int index = 0; index < pendingKeys.size(); index++) {
+			addValue(pendingKeys.get(index), pendingValues.get(index));
+			pendingValues.set(index, null);
+		}
+		return session;
+	}
+
+	/**
+	 * Stops converting the values handed to the session, the request fails
+	 */
+	private void cancelSession() {
+		if (session != null)
+			session.cancel();
+	}
+
+	private static String readString(JsonParser parser) throws IOException {
+		String value = parser.getValueAsString();
+		parser.skipChildren();
+		return value;
+	}
+
+	private static ConversionException technicalError(String message) {
+		return new ConversionException(ConverterErrorCode.TECHNICAL_ERROR_EXCEPTION.getErrorCode(), message);
+	}
+}
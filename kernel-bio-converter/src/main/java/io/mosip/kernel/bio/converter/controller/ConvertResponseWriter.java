@@ -0,0 +1,139 @@
+package io.mosip.kernel.bio.converter.controller;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import com.fasterxml.jackson.core.Base64Variants;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Timer;
+import io.mosip.kernel.bio.converter.constant.ConverterErrorCode;
+import io.mosip.kernel.bio.converter.exception.ConversionException;
+import io.mosip.kernel.bio.converter.service.ConversionRecorder.Stage;
+import io.mosip.kernel.bio.converter.service.impl.ConversionMetrics.Recorder;
+import io.mosip.kernel.core.exception.ServiceError;
+import io.mosip.kernel.core.http.ResponseWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Writes a {@code ResponseWrapper<Map<String, String>>} body value by value.
+ * Every converted value is base64 URL encoded straight into the response
+ * stream and flushed as soon as it is handed over, so neither the encoded
+ * strings nor the whole body are held in memory.
+ *
+ * Nothing is written before the first value, a failure up to then is reported
+ * as a regular error response. A failure after that is reported in the errors
+ * of the streamed response, which then holds the values written so far.
+ *
+ * @author Janardhan B S
+ * @since 1.2.1
+ */
+final class ConvertResponseWriter implements BiConsumer<String, byte[]> {
+	private static final String RESPONSE_FIELD = "response";
+	private static final String ERRORS_FIELD = "errors";
+
+	private final ObjectMapper objectMapper;
+	private final HttpServletResponse response;
+	private final String id;
+	private final String version;
+	private final Recorder recorder;
+
+	private JsonGenerator generator;
+	private Iterator<Map.Entry<String, JsonNode>> envelopeFields;
+
+	ConvertResponseWriter(ObjectMapper objectMapper, HttpServletResponse response, String id, String version,
+			Recorder recorder) {
+		this.objectMapper = objectMapper;
+		this.response = response;
+		this.id = id;
+		this.version = version;
+		this.recorder = recorder;
+	}
+
+	@Override
+	public void accept(String key, byte[] value) {
+		try {
+			if (generator == null)
+				start();
+			generator.writeFieldName(key);
+			Timer.Sample sample = recorder.start();
+			generator.writeBinary(Base64Variants.MODIFIED_FOR_URL, value, 0, value.length);
+			recorder.stop(Stage.ENCODE_BASE64, sample);
+			generator.flush();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Completes the response after the last value
+	 */
+	void finish() throws IOException {
+		if (generator == null)
+			start();
+		end(null);
+	}
+
+	/**
+	 * Completes the response with the failure, when a value was written already
+	 *
+	 * @param exception conversion failure
+	 * @return false when nothing was written, the failure is then left to the
+	 *         exception advice
+	 */
+	boolean fail(RuntimeException exception) throws IOException {
+		if (generator == null)
+			return false;
+		ServiceError error = exception instanceof ConversionException conversionException
+				? new ServiceError(conversionException.getErrorCode(), conversionException.getMessage())
+				: new ServiceError(ConverterErrorCode.TECHNICAL_ERROR_EXCEPTION.getErrorCode(),
+						exception.getMessage());
+		end(error);
+		return true;
+	}
+
+	private void start() throws IOException {
+		// the envelope fields are written by the same mapper as a buffered response
+		ResponseWrapper<Map<String, String>> responseWrapper = new ResponseWrapper<>();
+		responseWrapper.setId(id);
+		responseWrapper.setVersion(version);
+		envelopeFields = objectMapper.valueToTree(responseWrapper).fields();
+
+		response.setStatus(HttpStatus.OK.value());
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		generator = objectMapper.getFactory().createGenerator(response.getOutputStream());
+		generator.writeStartObject();
+		while (envelopeFields.hasNext()) {
+			Map.Entry<String, JsonNode> field = envelopeFields.next();
+			if (RESPONSE_FIELD.equals(field.getKey()))
+				break;
+			generator.writeFieldName(field.getKey());
+			objectMapper.writeTree(generator, field.getValue());
+		}
+		generator.writeFieldName(RESPONSE_FIELD);
+		generator.writeStartObject();
+	}
+
+	private void end(ServiceError error) throws IOException {
+		generator.writeEndObject();
+		while (envelopeFields.hasNext()) {
+			Map.Entry<String, JsonNode> field = envelopeFields.next();
+			generator.writeFieldName(field.getKey());
+			if (ERRORS_FIELD.equals(field.getKey()) && error != null)
+				objectMapper.writeValue(generator, List.of(error));
+			else
+				objectMapper.writeTree(generator, field.getValue());
+		}
+		generator.writeEndObject();
+		generator.close();
+	}
+}
@@ -0,0 +1,16 @@
+package io.mosip.kernel.bio.converter.dto;
+
+import io.mosip.kernel.core.http.RequestWrapper;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Body of a batch convert request, documents the {@code /convert/jobs} body in
+ * the API docs. The controller spools the body as it is rather than binding it
+ * to this type.
+ *
+ * @author Janardhan B S
+ * @since 1.2.1
+ */
+@Schema(name = "RequestWrapperBatchConvertRequestDto")
+public class BatchConvertRequestBodyDto extends RequestWrapper<BatchConvertRequestDto> {
+}
@@ -0,0 +1,23 @@
+package io.mosip.kernel.bio.converter.dto;
+
+import java.util.List;
+
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+
+import lombok.Data;
+
+/**
+ * Independent conversion jobs of a batch convert request, each job has its own
+ * formats and parameters.
+ *
+ * @author Janardhan B S
+ * @since 1.2.1
+ */
+@Data
+public class BatchConvertRequestDto {
+	@NotNull(message = "Jobs can not be null")
+	@Size(min = 1, message = "Minimum one job required")
+	@SuppressWarnings({ "java:S1104" })
+	public List<ConvertRequestDto> jobs;
+}
@@ -0,0 +1,32 @@
+package io.mosip.kernel.bio.converter.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import io.mosip.kernel.core.exception.ServiceError;
+import lombok.Data;
+
+/**
+ * State of an asynchronous conversion job.
+ *
+ * @author Janardhan B S
+ * @since 1.2.1
+ */
+@Data
+public class ConversionJobDto {
+	@SuppressWarnings({ "java:S1104" })
+	public String jobId;
+	@SuppressWarnings({ "java:S1104" })
+	public String status;
+	@SuppressWarnings({ "java:S1104" })
+	public LocalDateTime submittedTime;
+	@SuppressWarnings({ "java:S1104" })
+	public LocalDateTime completedTime;
+	/**
+	 * Jobs of the batch request converted so far
+	 */
+	@SuppressWarnings({ "java:S1104" })
+	public int convertedJobs;
+	@SuppressWarnings({ "java:S1104" })
+	public List<ServiceError> errors;
+}
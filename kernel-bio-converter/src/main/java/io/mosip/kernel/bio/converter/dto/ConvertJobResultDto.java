@@ -0,0 +1,22 @@
+package io.mosip.kernel.bio.converter.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import io.mosip.kernel.core.exception.ServiceError;
+import lombok.Data;
+
+/**
+ * Result of one job of a batch convert request, either the converted values
+ * or the errors of the job.
+ *
+ * @author Janardhan B S
+ * @since 1.2.1
+ */
+@Data
+public class ConvertJobResultDto {
+	@SuppressWarnings({ "java:S1104" })
+	public Map<String, String> values;
+	@SuppressWarnings({ "java:S1104" })
+	public List<ServiceError> errors;
+}
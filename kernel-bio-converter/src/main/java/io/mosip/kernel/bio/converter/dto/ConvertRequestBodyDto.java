@@ -0,0 +1,16 @@
+package io.mosip.kernel.bio.converter.dto;
+
+import io.mosip.kernel.core.http.RequestWrapper;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Body of a convert request, documents the {@code /convert} body in the API
+ * docs. The controller reads the body as a stream rather than binding it to
+ * this type.
+ *
+ * @author Janardhan B S
+ * @since 1.2.1
+ */
+@Schema(name = "RequestWrapperConvertRequestDto")
+public class ConvertRequestBodyDto extends RequestWrapper<ConvertRequestDto> {
+}
@@ -0,0 +1,27 @@
+package io.mosip.kernel.bio.converter.dto;
+
+import java.util.Map;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+
+import lombok.Data;
+
+/**
+ * Base64 URL encoded ISO records to read the metadata of.
+ *
+ * @author Janardhan B S
+ * @since 1.2.1
+ */
+@Data
+public class InspectRequestDto {
+	@NotNull(message = "Values code can not be null")
+	@Size(min = 1, message = "Minimum one entry required")
+	@SuppressWarnings({ "java:S1104" })
+	public Map<String, String> values;
+	@NotNull(message = "SourceFormat code can not be null")
+	@NotBlank(message = "SourceFormat code can not be blank")
+	@SuppressWarnings({ "java:S1104" })
+	public String sourceFormat;
+}
@@ -0,0 +1,51 @@
+package io.mosip.kernel.bio.converter.dto;
+
+import java.util.List;
+
+import lombok.Data;
+
+/**
+ * Metadata of an ISO record read from its headers, the image is not decoded.
+ *
+ * @author Janardhan B S
+ * @since 1.2.1
+ */
+@Data
+public class IsoRecordInfoDto {
+	/**
+	 * Finger, Face or Iris
+	 */
+	@SuppressWarnings({ "java:S1104" })
+	public String modality;
+	@SuppressWarnings({ "java:S1104" })
+	public long recordLength;
+	@SuppressWarnings({ "java:S1104" })
+	public int representations;
+	/**
+	 * Compression of the image: wsq, jpeg2000, jpeg2000_lossy,
+	 * jpeg2000_lossless or other
+	 */
+	@SuppressWarnings({ "java:S1104" })
+	public String compression;
+	@SuppressWarnings({ "java:S1104" })
+	public long imageLength;
+	@SuppressWarnings({ "java:S1104" })
+	public int width;
+	@SuppressWarnings({ "java:S1104" })
+	public int height;
+	/**
+	 * Image resolution in pixels per inch, finger records only
+	 */
+	@SuppressWarnings({ "java:S1104" })
+	public Integer dpi;
+	/**
+	 * Finger position or iris eye label, null for face records
+	 */
+	@SuppressWarnings({ "java:S1104" })
+	public Integer position;
+	/**
+	 * Scores of the quality blocks of the record
+	 */
+	@SuppressWarnings({ "java:S1104" })
+	public List<Integer> qualityScores;
+}
@@ -7,7 +7,9 @@ import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -33,6 +35,13 @@ import io.mosip.kernel.core.util.EmptyCheckUtils;
 public class ConversionExceptionAdvice {
 	private static final Logger logger = LoggerFactory.getLogger(ConversionExceptionAdvice.class);
 
+	/**
+	 * Request attributes holding the id and the version of a request that was
+	 * read as a stream, so the body is not parsed again
+	 */
+	public static final String REQUEST_ID_ATTRIBUTE = ConversionExceptionAdvice.class.getName() + ".id";
+	public static final String REQUEST_VERSION_ATTRIBUTE = ConversionExceptionAdvice.class.getName() + ".version";
+
 	private ObjectMapper objectMapper;
 
 	@Autowired
@@ -58,10 +67,34 @@ public class ConversionExceptionAdvice {
 				.body(responseWrapper);
 	}
 
+	/**
+	 * Requests rejected by the admission control are answered with 503 and a
+	 * Retry-After header, so clients back off instead of retrying at once
+	 */
+	@ExceptionHandler(value = { ConversionRejectedException.class })
+	public ResponseEntity<ResponseWrapper<ServiceError>> rejectedServiceErrorHandler(HttpServletRequest request,
+			ConversionRejectedException e) throws IOException {
+		ResponseWrapper<ServiceError> responseWrapper = setErrors(request);
+		responseWrapper.getErrors().add(new ServiceError(e.getErrorCode(), e.getMessage()));
+		logger.warn("Request rejected: {} ", e.getMessage());
+
+		long retryAfterSeconds = Math.max(1, (e.getRetryAfter().toMillis() + 999) / 1000);
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+				.header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds))
+				.contentType(MediaType.APPLICATION_JSON).body(responseWrapper);
+	}
+
 	private ResponseWrapper<ServiceError> setErrors(HttpServletRequest httpServletRequest) throws IOException {
 		ResponseWrapper<ServiceError> responseWrapper = new ResponseWrapper<>();
+		if (httpServletRequest.getAttribute(REQUEST_ID_ATTRIBUTE) != null
+				|| httpServletRequest.getAttribute(REQUEST_VERSION_ATTRIBUTE) != null) {
+			responseWrapper.setId((String) httpServletRequest.getAttribute(REQUEST_ID_ATTRIBUTE));
+			responseWrapper.setVersion((String) httpServletRequest.getAttribute(REQUEST_VERSION_ATTRIBUTE));
+			return responseWrapper;
+		}
 		String requestBody = null;
-		if (httpServletRequest instanceof ContentCachingRequestWrapper requestWrapper) {
+		// only JSON requests carry an id and a version, binary bodies are not parsed
+		if (httpServletRequest instanceof ContentCachingRequestWrapper requestWrapper && isJson(requestWrapper)) {
 			requestBody = new String(requestWrapper.getContentAsByteArray());
 		}
 		if (EmptyCheckUtils.isNullEmpty(requestBody)) {
@@ -72,4 +105,13 @@ public class ConversionExceptionAdvice {
 		responseWrapper.setVersion(reqNode.path("version").asText());
 		return responseWrapper;
 	}
-}
\ No newline at end of file
+
+	private static boolean isJson(HttpServletRequest httpServletRequest) {
+		String contentType = httpServletRequest.getContentType();
+		try {
+			return contentType == null || MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType));
+		} catch (InvalidMediaTypeException e) {
+			return false;
+		}
+	}
+}
@@ -0,0 +1,48 @@
+package io.mosip.kernel.bio.converter.exception;
+
+import java.time.Duration;
+
+import io.mosip.kernel.bio.converter.constant.ConverterErrorCode;
+
+/**
+ * Conversion request rejected because the service is at capacity, the request
+ * can be sent again after {@link #getRetryAfter()}.
+ * 
+ * @author Janardhan B S
+ * @since 1.2.1
+ */
+public class ConversionRejectedException extends ConversionException {
+	/**
+	 * Generated serial version id
+	 */
+	private static final long serialVersionUID = -2946253372437146092L;
+
+	private final Duration retryAfter;
+
+	/**
+	 * Constructor the initialize Handler exception
+	 * 
+	 * @param retryAfter time after which the request can be retried
+	 */
+	public ConversionRejectedException(Duration retryAfter) {
+		super(ConverterErrorCode.TOO_MANY_REQUESTS_EXCEPTION.getErrorCode(),
+				ConverterErrorCode.TOO_MANY_REQUESTS_EXCEPTION.getErrorMessage());
+		this.retryAfter = retryAfter;
+	}
+
+	/**
+	 * Constructor the initialize Handler exception
+	 * 
+	 * @param retryAfter time after which the request can be retried
+	 * @param reason     limit the service is at
+	 */
+	public ConversionRejectedException(Duration retryAfter, String reason) {
+		super(ConverterErrorCode.TOO_MANY_REQUESTS_EXCEPTION.getErrorCode(),
+				ConverterErrorCode.TOO_MANY_REQUESTS_EXCEPTION.getErrorMessage() + " : " + reason);
+		this.retryAfter = retryAfter;
+	}
+
+	public Duration getRetryAfter() {
+		return retryAfter;
+	}
+}
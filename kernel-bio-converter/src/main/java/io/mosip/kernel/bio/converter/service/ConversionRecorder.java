@@ -0,0 +1,72 @@
+package io.mosip.kernel.bio.converter.service;
+
+import java.util.function.Supplier;
+
+/**
+ * Metrics of the conversion of one value, handed to the
+ * {@link ConverterPlugin} converting it. Recording does nothing when metrics
+ * are disabled.
+ *
+ * @author Janardhan B S
+ * @since 1.2.1
+ */
+public interface ConversionRecorder {
+	/**
+	 * Conversion stages
+	 */
+	enum Stage {
+		DECODE_BASE64("decode_base64"), PARSE_BDIR("parse_bdir"), DECODE_IMAGE("decode_image"),
+		RESIZE_IMAGE("resize_image"), ENCODE_IMAGE("encode_image"), ENCODE_BASE64("encode_base64");
+
+		private final String tag;
+
+		Stage(String tag) {
+			this.tag = tag;
+		}
+
+		public String getTag() {
+			return tag;
+		}
+	}
+
+	/**
+	 * Compression of the source image
+	 */
+	enum Compression {
+		NONE("none"), WSQ("wsq"), JPEG2000("jpeg2000"), JPEG2000_LOSSY("jpeg2000_lossy"),
+		JPEG2000_LOSSLESS("jpeg2000_lossless"), OTHER("other");
+
+		private final String tag;
+
+		Compression(String tag) {
+			this.tag = tag;
+		}
+
+		public String getTag() {
+			return tag;
+		}
+	}
+
+	/**
+	 * Sets the compression of the source image, once the ISO record is parsed.
+	 * The stages recorded after it are tagged with it.
+	 */
+	void setCompression(Compression compression);
+
+	/**
+	 * Records the time of a stage timed by the caller
+	 *
+	 * @param nanos time of the stage in nanoseconds
+	 */
+	void record(Stage stage, long nanos);
+
+	/**
+	 * Runs and times a stage, the time of a failed stage is not recorded
+	 */
+	<T> T record(Stage stage, Supplier<T> supplier);
+
+	/**
+	 * Records the source image dimensions in pixels
+	 */
+	void recordImage(int width, int height);
+}
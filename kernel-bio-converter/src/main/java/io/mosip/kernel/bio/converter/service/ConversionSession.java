@@ -0,0 +1,64 @@
+package io.mosip.kernel.bio.converter.service;
+
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import io.mosip.kernel.bio.converter.exception.ConversionException;
+
+/**
+ * Conversion of raw values that arrive one at a time, for example while a
+ * request body is still being read. Each value is converted as soon as it is
+ * added.
+ * 
+ * @author Janardhan B S
+ * @since 1.2.1
+ */
+public interface ConversionSession {
+	/**
+	 * Adds a raw value to convert
+	 *
+	 * @param key   identifier key
+	 * @param value raw value (ex: ISO record bytes), null or empty values fail
+	 *              with MOS-CNV-005
+	 */
+	void add(String key, byte[] value);
+
+	/**
+	 * Adds a value that could not be read, the exception is thrown by
+	 * {@link #finish()} unless a value added before it fails too.
+	 *
+	 * @param key       identifier key
+	 * @param exception read failure
+	 */
+	void addFailure(String key, ConversionException exception);
+
+	/**
+	 * Waits for all values to be converted
+	 *
+	 * @return converted raw values w.r.t targetFormat for the identifier keys, in
+	 *         the order they were added
+	 * @throws ConversionException of the first failing value in the order they
+	 *                             were added, MOS-CNV-500 when no value was added
+	 */
+	Map<String, byte[]> finish() throws ConversionException;
+
+	/**
+	 * Hands each converted value to the consumer on the calling thread as soon as
+	 * it is available, instead of collecting them.
+	 *
+	 * @param completionOrder true to hand the values over in the order they finish
+	 *                        converting, false for the order they were added
+	 * @param consumer        converted value consumer, called with the identifier
+	 *                        key and the converted raw value
+	 * @throws ConversionException of the first failing value in the order they
+	 *                             were added, MOS-CNV-500 when no value was added
+	 */
+	void finish(boolean completionOrder, BiConsumer<String, byte[]> consumer) throws ConversionException;
+
+	/**
+	 * Stops the conversion when it is not finished, for example because the rest
+	 * of the request could not be read. The values not started are dropped, the
+	 * values converting complete and their results are dropped.
+	 */
+	void cancel();
+}
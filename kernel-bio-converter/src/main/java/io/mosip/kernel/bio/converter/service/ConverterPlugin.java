@@ -0,0 +1,89 @@
+package io.mosip.kernel.bio.converter.service;
+
+import java.util.Set;
+
+import io.mosip.kernel.bio.converter.constant.SourceFormatCode;
+import io.mosip.kernel.bio.converter.constant.TargetFormatCode;
+import io.mosip.kernel.bio.converter.dto.IsoRecordInfoDto;
+import io.mosip.kernel.bio.converter.exception.ConversionException;
+
+/**
+ * Converter of source records to target formats, dispatched by
+ * {@link io.mosip.kernel.bio.converter.service.impl.ConverterRegistry}.
+ *
+ * Plugins are Spring beans under {@code io.mosip.kernel.bio}, or are listed in
+ * {@code META-INF/services/io.mosip.kernel.bio.converter.service.ConverterPlugin}
+ * of a jar on the {@code loader.path}. For every source and target pair the
+ * available plugins are tried by increasing cost, a plugin can decline a value
+ * it has no fast path for and leave it to the next one.
+ *
+ * A plugin only depends on this package and the constants, dto and exception
+ * packages, the implementation classes of the service may change between
+ * releases. Two third party types are part of this package and bind plugins to
+ * the versions the service ships: imgscalr's {@code Scalr.Method}, returned by
+ * {@link ImageParameters#getScaleMethod()}, and biometrics-util's
+ * {@code LandmarkPoints}, taken by {@link ImageCrop#getRegion}.
+ * 
+ * @author Janardhan B S
+ * @since 1.2.1
+ */
+public interface ConverterPlugin {
+	/**
+	 * Cost of the built in converters, which decode to a full image and encode
+	 * it again
+	 */
+	int DEFAULT_COST = 100;
+
+	/**
+	 * @return source formats converted
+	 */
+	Set<SourceFormatCode> getSourceFormats();
+
+	/**
+	 * @return target formats written, only the ones supported for a source format
+	 *         are registered for it
+	 */
+	Set<TargetFormatCode> getTargetFormats();
+
+	/**
+	 * @return relative cost of a conversion, lower cost plugins are tried first
+	 */
+	default int getCost() {
+		return DEFAULT_COST;
+	}
+
+	/**
+	 * @return false when the plugin can not run here, for example when its native
+	 *         codec is missing, the plugin is then not registered
+	 */
+	default boolean isAvailable() {
+		return true;
+	}
+
+	/**
+	 * Converts one record
+	 *
+	 * @param recorder        metrics of the conversion
+	 * @param sourceCode      source format
+	 * @param isoData         source record, not empty
+	 * @param targetCode      target format
+	 * @param imageParameters target image parameters
+	 * @return converted value, null to leave the record to the next plugin
+	 * @throws ConversionException when the record can not be converted
+	 */
+	byte[] convert(ConversionRecorder recorder, SourceFormatCode sourceCode, byte[] isoData,
+			TargetFormatCode targetCode, ImageParameters imageParameters) throws ConversionException;
+
+	/**
+	 * Reads the metadata of one record from its headers, without decoding its
+	 * image
+	 *
+	 * @param sourceCode source format
+	 * @param isoData    source record, not empty
+	 * @return metadata, null when the plugin does not read the format headers
+	 * @throws ConversionException when the record headers can not be read
+	 */
+	default IsoRecordInfoDto inspect(SourceFormatCode sourceCode, byte[] isoData) throws ConversionException {
+		return null;
+	}
+}
@@ -0,0 +1,60 @@
+package io.mosip.kernel.bio.converter.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import io.mosip.kernel.bio.converter.dto.ConversionJobDto;
+import io.mosip.kernel.bio.converter.exception.ConversionException;
+import io.mosip.kernel.bio.converter.exception.ConversionRejectedException;
+
+/**
+ * Asynchronous conversion of batch convert requests too large to be converted
+ * within one call.
+ *
+ * A job is a whole {@code RequestWrapper<BatchConvertRequestDto>} body. The
+ * body and the results are spooled to disk, the job is converted in the
+ * background and its results are kept until they are deleted or the retention
+ * time has passed.
+ * 
+ * @author Janardhan B S
+ * @since 1.2.1
+ */
+public interface IConversionJobApi {
+	/**
+	 * Spools the request and queues it for conversion
+	 *
+	 * @param request batch convert request body, read to the end
+	 * @return queued job
+	 * @throws ConversionRejectedException MOS-CNV-013 when the active jobs or
+	 *                                     the spool are at capacity
+	 */
+	ConversionJobDto submit(InputStream request) throws ConversionException, IOException;
+
+	/**
+	 * @param jobId job id returned on submission
+	 * @return state of the job
+	 * @throws ConversionException MOS-CNV-002 for an unknown or expired job id
+	 */
+	ConversionJobDto getJob(String jobId) throws ConversionException;
+
+	/**
+	 * Copies the results of a completed job, one {@code ConvertJobResultDto} JSON
+	 * object per line in batch job order
+	 *
+	 * @param jobId  job id returned on submission
+	 * @param output results destination
+	 * @throws ConversionException MOS-CNV-002 for an unknown job id or a job that
+	 *                             is not completed
+	 */
+	void copyResults(String jobId, OutputStream output) throws ConversionException, IOException;
+
+	/**
+	 * Deletes a job and its spooled files, a running job stops converting
+	 *
+	 * @param jobId job id returned on submission
+	 * @return state of the job when it was deleted
+	 * @throws ConversionException MOS-CNV-002 for an unknown job id
+	 */
+	ConversionJobDto delete(String jobId) throws ConversionException;
+}
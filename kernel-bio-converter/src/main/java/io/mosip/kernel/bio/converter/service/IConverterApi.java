@@ -1,7 +1,11 @@
 package io.mosip.kernel.bio.converter.service;
 
+import java.util.List;
 import java.util.Map;
 
+import io.mosip.kernel.bio.converter.dto.ConvertJobResultDto;
+import io.mosip.kernel.bio.converter.dto.ConvertRequestDto;
+import io.mosip.kernel.bio.converter.dto.IsoRecordInfoDto;
 import io.mosip.kernel.bio.converter.exception.ConversionException;
 
 /**
@@ -35,6 +39,7 @@ public interface IConverterApi {
 	  * @param targetFormat output value mime type, if not supported, ConversionException is thrown
 	  * @param sourceParameters Provided source value/format related parameters to be considered during conversion. Unknown parameters are ignored.
 	  * @param targetParameters parameters to be considered during conversion to target format. Unknown parameters are ignored.
+	  *                 crop is only supported from face records to image formats, otherwise the conversion fails with MOS-CNV-002.
 	  * @return converted Base64 URL encoded values w.r.t targetFormat for the input identifier keys
 	  * @throws ConversionException
 	  *
@@ -44,5 +49,50 @@ public interface IConverterApi {
 	  * MOS-CNV-003 Invalid source value
 	  * MOS-CNV-500 Technical Error
 	  */
-	  Map<String, String> convert(Map<String, String> values, String sourceFormat, String targetFormat, Map<String, String> sourceParameters, Map<String, String> targetParameters) throws ConversionException;	  
-	}
\ No newline at end of file
+	  Map<String, String> convert(Map<String, String> values, String sourceFormat, String targetFormat, Map<String, String> sourceParameters, Map<String, String> targetParameters) throws ConversionException;
+
+	  /**
+	  * Same as {@link #convert(Map, String, String, Map, Map)} for raw values, no Base64 URL decoding or encoding is done.
+	  *
+	  * @param values raw values (ex: ISO record bytes) with identifier keys
+	  * @param sourceFormat input value mime type, if not supported, ConversionException is thrown
+	  * @param targetFormat output value mime type, if not supported, ConversionException is thrown
+	  * @param sourceParameters Provided source value/format related parameters to be considered during conversion. Unknown parameters are ignored.
+	  * @param targetParameters parameters to be considered during conversion to target format. Unknown parameters are ignored.
+	  * @return converted raw values w.r.t targetFormat for the input identifier keys, in the iteration order of values
+	  * @throws ConversionException
+	  */
+	  Map<String, byte[]> convertBytes(Map<String, byte[]> values, String sourceFormat, String targetFormat, Map<String, String> sourceParameters, Map<String, String> targetParameters) throws ConversionException;
+
+	  /**
+	  * Starts a conversion whose raw values are added one at a time, see {@link ConversionSession}.
+	  *
+	  * @param sourceFormat input value mime type, if not supported, ConversionException is thrown
+	  * @param targetFormat output value mime type, if not supported, ConversionException is thrown
+	  * @param sourceParameters Provided source value/format related parameters to be considered during conversion. Unknown parameters are ignored.
+	  * @param targetParameters parameters to be considered during conversion to target format. Unknown parameters are ignored.
+	  * @return session to add the values to
+	  * @throws ConversionException
+	  */
+	  ConversionSession openSession(String sourceFormat, String targetFormat, Map<String, String> sourceParameters, Map<String, String> targetParameters) throws ConversionException;
+
+	  /**
+	  * Converts independent jobs, each the same as {@link #convert(Map, String, String, Map, Map)} with its own formats and parameters.
+	  * A job that fails does not fail the others, its errors are returned in its result.
+	  *
+	  * @param jobs conversion jobs with Base64 URL encoded values
+	  * @return job results, index aligned with jobs
+	  * @throws ConversionException when there is no job or there are too many jobs, MOS-CNV-013 when the batch is not admitted in time
+	  */
+	  List<ConvertJobResultDto> convertBatch(List<ConvertRequestDto> jobs) throws ConversionException;
+
+	  /**
+	  * Reads the metadata of ISO records from their headers, the images are not decoded.
+	  *
+	  * @param values Base64 URL encoded ISO records with identifier keys
+	  * @param sourceFormat ISO format of the records, if not supported, ConversionException is thrown
+	  * @return metadata of the records, in the iteration order of values
+	  * @throws ConversionException when a record can not be read
+	  */
+	  Map<String, IsoRecordInfoDto> inspect(Map<String, String> values, String sourceFormat) throws ConversionException;
+	}
@@ -0,0 +1,109 @@
+package io.mosip.kernel.bio.converter.service;
+
+import java.awt.Rectangle;
+import java.util.Locale;
+
+import io.mosip.biometrics.util.face.LandmarkPointType;
+import io.mosip.biometrics.util.face.LandmarkPoints;
+import io.mosip.kernel.bio.converter.constant.ConverterErrorCode;
+import io.mosip.kernel.bio.converter.exception.ConversionException;
+
+/**
+ * Crop of a face image, the {@code crop} target parameter.
+ *
+ * <ul>
+ * <li>{@code token}: the ISO/IEC 19794-5 token face geometry, found from the
+ * eye centre landmarks of the record. The image is 4 eye distances wide, 3:4,
+ * with the eye mid point at half the width and 0.6 width from the top.</li>
+ * <li>{@code x,y,width,height}: a region of the image in pixels</li>
+ * </ul>
+ *
+ * The eyes are not rotated level and the region is clipped to the image, the
+ * token face image is not padded where the face is close to the image border.
+ *
+ * @param token  true for the token face geometry
+ * @param region region of the image, null for the token face geometry
+ * @author Janardhan B S
+ * @since 1.2.1
+ */
+public record ImageCrop(boolean token, Rectangle region) {
+	private static final String TOKEN = "token";
+	/**
+	 * MPEG4 feature points 12.1 and 12.2, the left and right eye centres
+	 */
+	private static final int LEFT_EYE_CENTRE = 0xC1;
+	private static final int RIGHT_EYE_CENTRE = 0xC2;
+	private static final double TOKEN_WIDTH_TO_EYE_DISTANCE = 4.0;
+	private static final double TOKEN_HEIGHT_TO_WIDTH = 4.0 / 3.0;
+	private static final double TOKEN_EYE_LINE_TO_WIDTH = 0.6;
+	private static final int REGION_VALUES = 4;
+
+	/**
+	 * Reads the crop target parameter
+	 *
+	 * @param value {@code token} or {@code x,y,width,height}
+	 * @return crop
+	 */
+	static ImageCrop from(String value) {
+		String crop = value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+		if (crop.equals(TOKEN))
+			return new ImageCrop(true, null);
+
+		String[] values = crop.split(",");
+		if (values.length == REGION_VALUES) {
+			try {
+				Rectangle region = new Rectangle(Integer.parseInt(values[0].trim()),
+						Integer.parseInt(values[1].trim()), Integer.parseInt(values[2].trim()),
+						Integer.parseInt(values[3].trim()));
+				if (region.x >= 0 && region.y >= 0 && region.width > 0 && region.height > 0)
+					return new ImageCrop(false, region);
+			} catch (NumberFormatException e) {
+				// reported below
+			}
+		}
+		throw invalid(value);
+	}
+
+	/**
+	 * Region of the face image to keep, in pixels of the full image
+	 *
+	 * @param landmarks landmark points of the face record, may be null
+	 * @return region, not clipped to the image
+	 */
+	public Rectangle getRegion(LandmarkPoints[] landmarks) {
+		if (!token)
+			return new Rectangle(region);
+
+		LandmarkPoints leftEye = findLandmark(landmarks, LEFT_EYE_CENTRE);
+		LandmarkPoints rightEye = findLandmark(landmarks, RIGHT_EYE_CENTRE);
+		if (leftEye == null || rightEye == null)
+			throw new ConversionException(ConverterErrorCode.INVALID_REQUEST_EXCEPTION.getErrorCode(),
+					ConverterErrorCode.INVALID_REQUEST_EXCEPTION.getErrorMessage()
+							+ " : crop token needs the eye centre landmarks");
+
+		double eyeDistance = Math.hypot(leftEye.getXCoordinate() - (double) rightEye.getXCoordinate(),
+				leftEye.getYCoordinate() - (double) rightEye.getYCoordinate());
+		double width = eyeDistance * TOKEN_WIDTH_TO_EYE_DISTANCE;
+		double middleX = (leftEye.getXCoordinate() + rightEye.getXCoordinate()) / 2.0;
+		double middleY = (leftEye.getYCoordinate() + rightEye.getYCoordinate()) / 2.0;
+		return new Rectangle((int) Math.round(middleX - width / 2),
+				(int) Math.round(middleY - width * TOKEN_EYE_LINE_TO_WIDTH), Math.max(1, (int) Math.round(width)),
+				Math.max(1, (int) Math.round(width * TOKEN_HEIGHT_TO_WIDTH)));
+	}
+
+	private static ConversionException invalid(String value) {
+		return new ConversionException(ConverterErrorCode.INVALID_REQUEST_EXCEPTION.getErrorCode(),
+				ConverterErrorCode.INVALID_REQUEST_EXCEPTION.getErrorMessage() + " : " + value);
+	}
+
+	private static LandmarkPoints findLandmark(LandmarkPoints[] landmarks, int code) {
+		if (landmarks == null)
+			return null;
+		for (LandmarkPoints landmark : landmarks) {
+			if (landmark != null && landmark.getLandmarkPointType() == LandmarkPointType.MPEG4_FEATURE
+					&& landmark.getLandmarkPointCode() == code)
+				return landmark;
+		}
+		return null;
+	}
+}
@@ -0,0 +1,223 @@
+package io.mosip.kernel.bio.converter.service;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+import org.imgscalr.Scalr;
+
+import io.mosip.kernel.bio.converter.constant.ConverterErrorCode;
+import io.mosip.kernel.bio.converter.constant.ParameterCode;
+import io.mosip.kernel.bio.converter.exception.ConversionException;
+
+/**
+ * Image related target parameters of a conversion request.
+ *
+ * Width and height are upper bounds, the image is scaled down keeping its
+ * aspect ratio and is never enlarged. The dpi is honoured by scaling down when
+ * the source resolution is known and higher, and is always written into the
+ * output image metadata.
+ *
+ * Quality and compression level set the JPEG quality (1 to 100) and the PNG
+ * deflate level (0 to 9) of the output image, the encoder defaults are used
+ * when they are not given.
+ *
+ * Crop keeps a region of face images to image targets, see {@link ImageCrop}.
+ * Width, height and dpi then apply to the region. The crop of finger and iris
+ * records, and of ISO targets, is rejected with MOS-CNV-002.
+ *
+ * @author Janardhan B S
+ * @since 1.2.1
+ */
+public final class ImageParameters {
+	private static final int MAX_QUALITY = 100;
+	private static final int MAX_COMPRESSION_LEVEL = 9;
+	private static final ImageParameters NONE = new ImageParameters(0, 0, 0, Scalr.Method.BALANCED, 0, -1, null);
+
+	private final int width;
+	private final int height;
+	private final int dpi;
+	private final Scalr.Method scaleMethod;
+	private final int quality;
+	private final int compressionLevel;
+	private final ImageCrop crop;
+
+	private ImageParameters(int width, int height, int dpi, Scalr.Method scaleMethod, int quality,
+			int compressionLevel, ImageCrop crop) {
+		this.width = width;
+		this.height = height;
+		this.dpi = dpi;
+		this.scaleMethod = scaleMethod;
+		this.quality = quality;
+		this.compressionLevel = compressionLevel;
+		this.crop = crop;
+	}
+
+	/**
+	 * Reads the image parameters, unknown parameters are ignored
+	 *
+	 * @param targetParameters target parameters of the request, may be null
+	 * @return image parameters
+	 */
+	public static ImageParameters from(Map<String, String> targetParameters) {
+		if (targetParameters == null || targetParameters.isEmpty())
+			return NONE;
+
+		int width = 0;
+		int height = 0;
+		int dpi = 0;
+		Scalr.Method scaleMethod = Scalr.Method.BALANCED;
+		int quality = 0;
+		int compressionLevel = -1;
+		ImageCrop crop = null;
+		for (Map.Entry<String, String> entry : targetParameters.entrySet()) {
+			ParameterCode parameterCode = ParameterCode.fromCode(entry.getKey());
+			if (parameterCode == null)
+				continue;
+			switch (parameterCode) {
+			case WIDTH:
+				width = toPositiveInt(entry.getValue());
+				break;
+			case HEIGHT:
+				height = toPositiveInt(entry.getValue());
+				break;
+			case DPI:
+				dpi = toPositiveInt(entry.getValue());
+				break;
+			case SCALE_MODE:
+				scaleMethod = toScaleMethod(entry.getValue());
+				break;
+			case QUALITY:
+				quality = toInt(entry.getValue(), 1, MAX_QUALITY);
+				break;
+			case COMPRESSION_LEVEL:
+				compressionLevel = toInt(entry.getValue(), 0, MAX_COMPRESSION_LEVEL);
+				break;
+			case CROP:
+				crop = ImageCrop.from(entry.getValue());
+				break;
+			default:
+				break;
+			}
+		}
+		if (width == 0 && height == 0 && dpi == 0 && scaleMethod == Scalr.Method.BALANCED && quality == 0
+				&& compressionLevel == -1 && crop == null)
+			return NONE;
+		return new ImageParameters(width, height, dpi, scaleMethod, quality, compressionLevel, crop);
+	}
+
+	/**
+	 * Scale factor to apply to an image of the given size and resolution
+	 *
+	 * @param imageWidth  source image width
+	 * @param imageHeight source image height
+	 * @param imageDpi    source image resolution, 0 when not known
+	 * @return scale factor, 1 when the image is kept as it is
+	 */
+	public double getScale(int imageWidth, int imageHeight, int imageDpi) {
+		double scale = 1.0;
+		if (dpi > 0 && imageDpi > dpi)
+			scale = (double) dpi / imageDpi;
+		if (width > 0)
+			scale = Math.min(scale, (double) width / imageWidth);
+		if (height > 0)
+			scale = Math.min(scale, (double) height / imageHeight);
+		return scale;
+	}
+
+	/**
+	 * Resolution of the output image, 0 when not known
+	 *
+	 * @param imageDpi source image resolution, 0 when not known
+	 * @param scale    scale factor applied to the source image
+	 * @return resolution of the output image
+	 */
+	public int getOutputDpi(int imageDpi, double scale) {
+		if (imageDpi > 0)
+			return (int) Math.round(imageDpi * scale);
+		return dpi;
+	}
+
+	public int getWidth() {
+		return width;
+	}
+
+	public int getHeight() {
+		return height;
+	}
+
+	public int getDpi() {
+		return dpi;
+	}
+
+	public Scalr.Method getScaleMethod() {
+		return scaleMethod;
+	}
+
+	/**
+	 * JPEG quality from 1 to 100, 0 when not given
+	 */
+	public int getQuality() {
+		return quality;
+	}
+
+	/**
+	 * PNG compression level from 0 to 9, -1 when not given
+	 */
+	public int getCompressionLevel() {
+		return compressionLevel;
+	}
+
+	/**
+	 * Crop of face images, null when not given
+	 */
+	public ImageCrop getCrop() {
+		return crop;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (!(obj instanceof ImageParameters other))
+			return false;
+		return width == other.width && height == other.height && dpi == other.dpi
+				&& scaleMethod == other.scaleMethod && quality == other.quality
+				&& compressionLevel == other.compressionLevel && Objects.equals(crop, other.crop);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(width, height, dpi, scaleMethod, quality, compressionLevel, crop);
+	}
+
+	private static int toPositiveInt(String value) {
+		return toInt(value, 1, Integer.MAX_VALUE);
+	}
+
+	private static int toInt(String value, int min, int max) {
+		try {
+			int intValue = Integer.parseInt(value.trim());
+			if (intValue >= min && intValue <= max)
+				return intValue;
+		} catch (RuntimeException e) {
+			// reported below
+		}
+		throw new ConversionException(ConverterErrorCode.INVALID_REQUEST_EXCEPTION.getErrorCode(),
+				ConverterErrorCode.INVALID_REQUEST_EXCEPTION.getErrorMessage() + " : " + value);
+	}
+
+	private static Scalr.Method toScaleMethod(String value) {
+		switch (value == null ? "" : value.trim().toLowerCase(Locale.ROOT)) {
+		case "speed":
+			return Scalr.Method.SPEED;
+		case "balanced":
+			return Scalr.Method.BALANCED;
+		case "ultra":
+			return Scalr.Method.ULTRA_QUALITY;
+		default:
+			throw new ConversionException(ConverterErrorCode.INVALID_REQUEST_EXCEPTION.getErrorCode(),
+					ConverterErrorCode.INVALID_REQUEST_EXCEPTION.getErrorMessage() + " : " + value);
+		}
+	}
+}
@@ -0,0 +1,49 @@
+package io.mosip.kernel.bio.converter.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Base64 URL decoding and encoding of the request and response values, the
+ * same as {@code CommonUtil}: values are decoded with or without padding and
+ * encoded without padding.
+ *
+ * A value is encoded into a pooled buffer, the string is the only array
+ * allocated. Values are decoded by the JDK decoder, whose vectorized loop is
+ * several times faster than decoding the characters of the string one by one,
+ * even counting its copy of the string to bytes.
+ *
+ * @author Janardhan B S
+ * @since 1.2.1
+ */
+public final class Base64UrlCodec {
+	private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+	private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+	private Base64UrlCodec() {
+		throw new IllegalStateException("Base64UrlCodec class");
+	}
+
+	/**
+	 * @param value base64 URL encoded value, with or without padding
+	 * @return decoded bytes
+	 * @throws IllegalArgumentException when the value is not base64 URL encoded
+	 */
+	public static byte[] decode(String value) {
+		return DECODER.decode(value);
+	}
+
+	/**
+	 * @param data bytes to encode
+	 * @return base64 URL encoded value, without padding
+	 */
+	public static String encodeToString(byte[] data) {
+		byte[] buffer = BufferPool.borrow((data.length + 2) / 3 * 4);
+		try {
+			int length = ENCODER.encode(data, buffer);
+			return new String(buffer, 0, length, StandardCharsets.ISO_8859_1);
+		} finally {
+			BufferPool.release(buffer);
+		}
+	}
+}
@@ -0,0 +1,158 @@
+package io.mosip.kernel.bio.converter.service.impl;
+
+import java.time.Duration;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Byte arrays reused for the transient buffers of a conversion: the base64
+ * decoding and encoding buffers and the encoded image output.
+ *
+ * Arrays come in size classes from 16 KB to 16 MB, twice apart, which covers
+ * finger and iris records (tens of KB) up to large face records and their PNG
+ * output (a few MB). A borrowed array is at least the asked length, and less
+ * than twice as long, and belongs to the borrower until it is released. Larger
+ * arrays are not pooled.
+ *
+ * The idle arrays of all the classes together are kept up to
+ * {@link #MAX_IDLE_BYTES}, and at most {@link #MAX_IDLE_PER_CLASS} per class. They are not charged to the {@link MemoryBudget}, which is why the
+ * pool keeps little: an array released beyond it is left to the collector.
+ * The most recently released array is borrowed first, and the arrays left idle
+ * for {@link #IDLE_TIMEOUT} are dropped on a later borrow or release, so the
+ * pool shrinks back when the load drops.
+ *
+ * A multi MB array is allocated directly in the old generation (a humongous
+ * object of G1); reusing it avoids the collections these allocations trigger.
+ * Arrays are heap arrays, not direct buffers: ImageIO, Jackson and the ISO
+ * parsers all read and write byte arrays.
+ *
+ * @author Janardhan B S
+ * @since 1.2.1
+ */
+public final class BufferPool {
+	static final int MIN_SIZE = 16 * 1024;
+	static final int MAX_SIZE = 16 * 1024 * 1024;
+	/**
+	 * Idle bytes kept in all the size classes
+	 */
+	static final long MAX_IDLE_BYTES = 16L * 1024 * 1024;
+	/**
+	 * Idle arrays kept per size class, about the arrays of the conversions in
+	 * flight, whose number defaults to the available processors
+	 */
+	static final int MAX_IDLE_PER_CLASS = Math.max(2, Runtime.getRuntime().availableProcessors());
+	/**
+	 * Time after which an idle array is dropped
+	 */
+	static final Duration IDLE_TIMEOUT = Duration.ofSeconds(30);
+	private static final long TRIM_INTERVAL_NANOS = Duration.ofSeconds(1).toNanos();
+	private static final int CLASS_SHIFT = 1;
+
+	private static final SizeClass[] CLASSES = newClasses();
+	private static final AtomicLong IDLE_BYTES = new AtomicLong();
+	private static final AtomicLong NEXT_TRIM = new AtomicLong(System.nanoTime());
+
+	private BufferPool() {
+		throw new IllegalStateException("BufferPool class");
+	}
+
+	/**
+	 * @param minLength minimum length of the array
+	 * @return array of at least minLength, its content is not cleared
+	 */
+	public static byte[] borrow(int minLength) {
+		trimIfDue();
+		SizeClass sizeClass = findClass(minLength);
+		if (sizeClass == null)
+			return new byte[minLength];
+		Idle idle = sizeClass.idle.pollFirst();
+		if (idle == null)
+			return new byte[sizeClass.size];
+		sizeClass.removed();
+		return idle.buffer();
+	}
+
+	/**
+	 * Returns a borrowed array to the pool, it must no longer be used
+	 */
+	public static void release(byte[] buffer) {
+		trimIfDue();
+		SizeClass sizeClass = findClass(buffer.length);
+		if (sizeClass == null || sizeClass.size != buffer.length)
+			return;
+		if (sizeClass.idleCount.incrementAndGet() > sizeClass.maxIdle) {
+			sizeClass.idleCount.decrementAndGet();
+			return;
+		}
+		if (IDLE_BYTES.addAndGet(sizeClass.size) > MAX_IDLE_BYTES) {
+			sizeClass.removed();
+			return;
+		}
+		sizeClass.idle.offerFirst(new Idle(buffer, System.nanoTime()));
+	}
+
+	/**
+	 * Drops the arrays idle for longer than {@link #IDLE_TIMEOUT}, at most once
+	 * per second
+	 */
+	private static void trimIfDue() {
+		long now = System.nanoTime();
+		long nextTrim = NEXT_TRIM.get();
+		if (now - nextTrim < 0 || !NEXT_TRIM.compareAndSet(nextTrim, now + TRIM_INTERVAL_NANOS))
+			return;
+		long oldest = now - IDLE_TIMEOUT.toNanos();
+		for (SizeClass sizeClass : CLASSES) {
+			// the least recently released arrays are at the end
+			Idle idle;
+			while ((idle = sizeClass.idle.peekLast()) != null && idle.releasedAt() - oldest < 0) {
+				if (sizeClass.idle.removeLastOccurrence(idle))
+					sizeClass.removed();
+			}
+		}
+	}
+
+	private static SizeClass findClass(int length) {
+		for (SizeClass sizeClass : CLASSES) {
+			if (length <= sizeClass.size)
+				return sizeClass;
+		}
+		return null;
+	}
+
+	private static SizeClass[] newClasses() {
+		int count = 0;
+		for (int size = MIN_SIZE; size <= MAX_SIZE; size <<= CLASS_SHIFT)
+			count++;
+		SizeClass[] classes = new SizeClass[count];
+		int size = MIN_SIZE;
+		for (int index = 0; index < count; index++, size <<= CLASS_SHIFT)
+			classes[index] = new SizeClass(size,
+					(int) Math.max(1, Math.min(MAX_IDLE_PER_CLASS, MAX_IDLE_BYTES / size)));
+		return classes;
+	}
+
+	private record Idle(byte[] buffer, long releasedAt) {
+	}
+
+	private static final class SizeClass {
+		private final int size;
+		private final int maxIdle;
+		private final Deque<Idle> idle = new ConcurrentLinkedDeque<>();
+		private final AtomicInteger idleCount = new AtomicInteger();
+
+		private SizeClass(int size, int maxIdle) {
+			this.size = size;
+			this.maxIdle = maxIdle;
+		}
+
+		/**
+		 * Accounts for an array no longer idle in the class
+		 */
+		private void removed() {
+			idleCount.decrementAndGet();
+			IDLE_BYTES.addAndGet(-size);
+		}
+	}
+}
@@ -0,0 +1,63 @@
+package io.mosip.kernel.bio.converter.service.impl;
+
+import java.io.IOException;
+import java.util.Objects;
+
+import javax.imageio.stream.ImageInputStreamImpl;
+
+/**
+ * Image input stream reading an image straight from its byte array.
+ *
+ * A {@link javax.imageio.stream.MemoryCacheImageInputStream} over a
+ * {@link java.io.ByteArrayInputStream} copies everything read into its cache
+ * so that it can seek back, this stream seeks within the array.
+ *
+ * @author Janardhan B S
+ * @since 1.2.1
+ */
+final class ByteArrayImageInputStream extends ImageInputStreamImpl {
+	private final byte[] data;
+
+	ByteArrayImageInputStream(byte[] data) {
+		this.data = data;
+	}
+
+	@Override
+	public int read() throws IOException {
+		checkClosed();
+		bitOffset = 0;
+		if (streamPos >= data.length)
+			return -1;
+		return data[(int) streamPos++] & 0xFF;
+	}
+
+	@Override
+	public int read(byte[] buffer, int offset, int length) throws IOException {
+		checkClosed();
+		Objects.checkFromIndexSize(offset, length, buffer.length);
+		bitOffset = 0;
+		if (length == 0)
+			return 0;
+		if (streamPos >= data.length)
+			return -1;
+		int count = (int) Math.min(length, data.length - streamPos);
+		System.arraycopy(data, (int) streamPos, buffer, offset, count);
+		streamPos += count;
+		return count;
+	}
+
+	@Override
+	public long length() {
+		return data.length;
+	}
+
+	@Override
+	public boolean isCached() {
+		return true;
+	}
+
+	@Override
+	public boolean isCachedMemory() {
+		return true;
+	}
+}
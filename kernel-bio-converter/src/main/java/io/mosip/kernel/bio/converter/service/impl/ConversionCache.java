@@ -0,0 +1,109 @@
+package io.mosip.kernel.bio.converter.service.impl;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.mosip.kernel.bio.converter.constant.ConverterErrorCode;
+import io.mosip.kernel.bio.converter.constant.SourceFormatCode;
+import io.mosip.kernel.bio.converter.constant.TargetFormatCode;
+import io.mosip.kernel.bio.converter.exception.ConversionException;
+import io.mosip.kernel.bio.converter.service.ImageParameters;
+
+/**
+ * Optional cache of converted values, keyed by the SHA-256 digest of the
+ * source value, the source and target formats and the image parameters.
+ *
+ * Entries are evicted by the size based W-TinyLFU policy of Caffeine under a
+ * byte budget and expire a fixed time after they were written. Hits, misses
+ * and evictions are published as {@code cache.*} meters with the name
+ * {@value #CACHE_NAME} when a meter registry is available.
+ *
+ * Cached values are shared between requests, callers must not modify them.
+ *
+ * @author Janardhan B S
+ * @since 1.2.1
+ */
+@Component
+public class ConversionCache {
+	static final String CACHE_NAME = "bio-converter-results";
+	private static final String DIGEST_ALGORITHM = "SHA-256";
+	/**
+	 * Approximate heap used by an entry besides the converted value
+	 */
+	private static final int ENTRY_OVERHEAD = 256;
+
+	private final Cache<Key, byte[]> cache;
+
+	public ConversionCache(@Value("${mosip.kernel.bio.converter.cache.enabled:false}") boolean enabled,
+			@Value("${mosip.kernel.bio.converter.cache.max.size:256MB}") DataSize maxSize,
+			@Value("${mosip.kernel.bio.converter.cache.ttl:30m}") Duration ttl,
+			ObjectProvider<MeterRegistry> meterRegistry) {
+		if (!enabled) {
+			this.cache = null;
+			return;
+		}
+		this.cache = Caffeine.newBuilder().maximumWeight(maxSize.toBytes())
+				.weigher((Key key, byte[] value) -> value.length + ENTRY_OVERHEAD).expireAfterWrite(ttl)
+				.recordStats().build();
+		meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME));
+	}
+
+	/**
+	 * Returns the cached converted value, or converts and caches it
+	 *
+	 * @param sourceCode      source format
+	 * @param targetCode      target format
+	 * @param imageParameters image parameters of the conversion
+	 * @param source          source value
+	 * @param conversion      converts the source value
+	 * @return converted value
+	 */
+	public byte[] get(SourceFormatCode sourceCode, TargetFormatCode targetCode, ImageParameters imageParameters,
+			byte[] source, Supplier<byte[]> conversion) {
+		if (cache == null)
+			return conversion.get();
+
+		Key key = new Key(digest(source), sourceCode, targetCode, imageParameters);
+		byte[] value = cache.getIfPresent(key);
+		if (value == null) {
+			// converted outside the cache, a long conversion must not block other keys
+			value = conversion.get();
+			cache.put(key, value);
+		}
+		return value;
+	}
+
+	/**
+	 * Statistics of the cache, empty when the cache is disabled
+	 */
+	public CacheStats getStats() {
+		return cache == null ? CacheStats.empty() : cache.stats();
+	}
+
+	private static String digest(byte[] source) {
+		try {
+			return Base64.getEncoder().encodeToString(MessageDigest.getInstance(DIGEST_ALGORITHM).digest(source));
+		} catch (NoSuchAlgorithmException e) {
+			throw new ConversionException(ConverterErrorCode.TECHNICAL_ERROR_EXCEPTION.getErrorCode(),
+					e.getLocalizedMessage(), e);
+		}
+	}
+
+	private record Key(String digest, SourceFormatCode sourceCode, TargetFormatCode targetCode,
+			ImageParameters imageParameters) {
+	}
+}
@@ -0,0 +1,457 @@
+package io.mosip.kernel.bio.converter.service.impl;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.ObjIntConsumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import io.mosip.kernel.bio.converter.constant.ConverterErrorCode;
+import io.mosip.kernel.bio.converter.exception.ConversionException;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Bounded worker pool shared by all requests, used to convert the entries of
+ * one request concurrently.
+ *
+ * The calling thread always takes part in the work, so a request still makes
+ * progress when the pool is saturated. At most {@code maxParallelism} entries
+ * of one request are converted at the same time, and at most
+ * {@code maxImageParallelism} parts of one image, such as the rows of tiles of
+ * a JPEG2000 image, are decoded at the same time. The parts of an image are
+ * only handed to idle workers, see {@link #tryExecute(Runnable)}.
+ *
+ * When requests run on virtual threads ({@code spring.threads.virtual.enabled})
+ * the calling thread only waits, the CPU bound work is handed to the pool,
+ * which is sized to the cores by default. A virtual thread converting would
+ * hold one of the few carrier threads that also serve the I/O of all other
+ * requests. The calling thread still converts when the pool rejects the work.
+ * Waits use {@link ReentrantLock} conditions, a monitor wait would pin the
+ * carrier thread.
+ *
+ * @author Janardhan B S
+ * @since 1.2.1
+ */
+@Component
+public class ConversionExecutor {
+	private final ThreadPoolExecutor executor;
+
+	private final int maxParallelism;
+
+	private final int maxImageParallelism;
+
+	/**
+	 * True when the calling threads hand all work to the pool
+	 */
+	private final boolean offload;
+
+	public ConversionExecutor(@Value("${mosip.kernel.bio.converter.executor.pool.size:0}") int poolSize,
+			@Value("${mosip.kernel.bio.converter.executor.queue.capacity:100}") int queueCapacity,
+			@Value("${mosip.kernel.bio.converter.request.max.parallelism:4}") int maxParallelism,
+			@Value("${mosip.kernel.bio.converter.image.max.parallelism:4}") int maxImageParallelism,
+			@Value("${spring.threads.virtual.enabled:false}") boolean offload) {
+		int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+		this.executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<>(Math.max(1, queueCapacity)), new CustomizableThreadFactory("bio-converter-"),
+				new ThreadPoolExecutor.AbortPolicy());
+		this.executor.allowCoreThreadTimeOut(true);
+		this.maxParallelism = Math.max(1, maxParallelism);
+		this.maxImageParallelism = Math.max(1, maxImageParallelism);
+		this.offload = offload;
+	}
+
+	/**
+	 * @return maximum number of parts of one image decoded at the same time, 1
+	 *         when images are decoded on the calling thread only
+	 */
+	public int getMaxImageParallelism() {
+		return maxImageParallelism;
+	}
+
+	/**
+	 * Applies the function to every item and returns the results in item order.
+	 *
+	 * If one or more items fail, the failure of the first failing item (in item
+	 * order) is rethrown unchanged, the same as a sequential loop would, and items
+	 * not yet started are skipped.
+	 *
+	 * @param items    items to convert
+	 * @param function conversion applied to each item
+	 * @return converted values, index aligned with items
+	 */
+	public <T, R> List<R> map(List<T> items, Function<? super T, ? extends R> function) {
+		if (!offload && Math.min(items.size(), maxParallelism) <= 1) {
+			List<R> results = new ArrayList<>(items.size());
+			for (T item : items)
+				results.add(function.apply(item));
+			return results;
+		}
+
+		Batch<T, R> batch = newBatch(function);
+		for (T item : items)
+			batch.add(item);
+		return batch.finish();
+	}
+
+	/**
+	 * Starts a batch that items are added to one by one, each item is converted
+	 * as soon as it is added and a worker is free.
+	 *
+	 * @param function conversion applied to each item
+	 * @return empty batch
+	 */
+	public <T, R> Batch<T, R> newBatch(Function<? super T, ? extends R> function) {
+		return new Batch<>(function, maxParallelism);
+	}
+
+	/**
+	 * Same as {@link #newBatch(Function)} with its own bound on the items
+	 * converted at the same time
+	 *
+	 * @param function       conversion applied to each item
+	 * @param maxParallelism maximum number of items converted at the same time
+	 * @return empty batch
+	 */
+	public <T, R> Batch<T, R> newBatch(Function<? super T, ? extends R> function, int maxParallelism) {
+		return new Batch<>(function, Math.max(1, maxParallelism));
+	}
+
+	/**
+	 * Runs the task on a pool worker when one is idle. For work the calling
+	 * thread does itself otherwise, such as rendering the next strip of an
+	 * image, which must not wait behind the queued conversions.
+	 *
+	 * @param task task to run
+	 * @return false when no worker is idle, the task is not run then
+	 */
+	public boolean tryExecute(Runnable task) {
+		if (executor.getActiveCount() >= executor.getMaximumPoolSize() || !executor.getQueue().isEmpty())
+			return false;
+		try {
+			executor.execute(task);
+			return true;
+		} catch (RejectedExecutionException e) {
+			return false;
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdown();
+	}
+
+	/**
+	 * Items of one request. Up to {@code maxParallelism - 1} pool workers convert
+	 * the items while they are added, the thread collecting the results converts
+	 * whatever is left. With offload, up to {@code maxParallelism} pool workers
+	 * convert all items, unless the pool rejects them.
+	 *
+	 * Failures follow the sequential order: once an item fails, the items after
+	 * it are skipped and the failure of the first failing item is thrown.
+	 */
+	public final class Batch<T, R> {
+		/**
+		 * Result of an item skipped because an item before it failed
+		 */
+		private static final Object SKIPPED = new Object();
+
+		private final Function<? super T, ? extends R> function;
+		private final int maxParallelism;
+		private final List<T> items = new ArrayList<>();
+		private final List<Object> results = new ArrayList<>();
+		private final List<Throwable> failures = new ArrayList<>();
+		/**
+		 * Guards the state below, signalled when an item is done or a worker stops
+		 */
+		private final ReentrantLock lock = new ReentrantLock();
+		private final Condition changed = lock.newCondition();
+		/**
+		 * Indexes of the items done, in the order they were done
+		 */
+		private final List<Integer> completed = new ArrayList<>();
+		private final BitSet done = new BitSet();
+		/**
+		 * Index of the next item to convert
+		 */
+		private int next;
+		/**
+		 * Pool workers running
+		 */
+		private int workers;
+		/**
+		 * Index of the first failing item, updated under the lock
+		 */
+		private volatile int firstFailure = Integer.MAX_VALUE;
+
+		private Batch(Function<? super T, ? extends R> function, int maxParallelism) {
+			this.function = function;
+			this.maxParallelism = maxParallelism;
+		}
+
+		/**
+		 * Adds an item, converted asynchronously
+		 */
+		public void add(T item) {
+			boolean startWorker;
+			lock.lock();
+			try {
+				items.add(item);
+				results.add(null);
+				failures.add(null);
+				startWorker = workers < (offload ? maxParallelism : maxParallelism - 1);
+				if (startWorker)
+					workers++;
+			} finally {
+				lock.unlock();
+			}
+			if (startWorker) {
+				try {
+					executor.execute(this::work);
+				} catch (RejectedExecutionException e) {
+					// pool is saturated, the thread collecting the results picks up the work
+					stopWorker();
+				}
+			}
+		}
+
+		/**
+		 * Adds an item that already failed, for example because it could not be
+		 * read. The failure is reported in item order.
+		 */
+		public void addFailure(RuntimeException failure) {
+			lock.lock();
+			try {
+				int index = items.size();
+				items.add(null);
+				results.add(null);
+				failures.add(failure);
+				complete(index);
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		/**
+		 * Drops the items not started yet, for a batch whose results are not wanted
+		 * anymore. Items converting complete, their results are dropped too.
+		 */
+		public void cancel() {
+			lock.lock();
+			try {
+				for (int index = next; index < items.size(); index++)
+					items.set(index, null);
+				fail(-1);
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		/**
+		 * Converts the remaining items on the calling thread and waits for the
+		 * workers.
+		 *
+		 * @return converted values, index aligned with the added items
+		 */
+		public List<R> finish() {
+			List<R> values = new ArrayList<>();
+			forEachCompleted(false, (value, index) -> values.add(value));
+			return values;
+		}
+
+		/**
+		 * Hands each result to the consumer on the calling thread as soon as it is
+		 * available. The calling thread converts items itself while no result is
+		 * ready, unless the work is offloaded. All results are handed over when
+		 * this method returns normally.
+		 *
+		 * @param completionOrder true to hand the results over in the order the
+		 *                        items finish, false for item order
+		 * @param consumer        result consumer, called with the result and the
+		 *                        item index
+		 */
+		@SuppressWarnings("unchecked")
+		public void forEachCompleted(boolean completionOrder, ObjIntConsumer<? super R> consumer) {
+			int delivered = 0;
+			while (true) {
+				int index;
+				Object result;
+				boolean callerRuns;
+				lock.lock();
+				try {
+					index = completionOrder ? (delivered < completed.size() ? completed.get(delivered) : -1)
+							: (done.get(delivered) ? delivered : -1);
+					if (index < 0 && delivered == items.size())
+						return;
+					result = index < 0 ? null : results.set(index, null);
+					if (index >= 0 && (failures.get(index) != null || result == SKIPPED))
+						throw awaitFirstFailure();
+					callerRuns = !offload || workers == 0;
+				} finally {
+					lock.unlock();
+				}
+
+				if (index >= 0) {
+					delivered++;
+					try {
+						consumer.accept((R) result, index);
+					} catch (RuntimeException | Error e) {
+						// the results are not wanted anymore
+						fail(-1);
+						throw e;
+					}
+				} else if (!callerRuns || !convertNext(false)) {
+					awaitCompletion(completionOrder, delivered);
+				}
+			}
+		}
+
+		/**
+		 * Waits for the next result, or for the workers to stop with items left
+		 */
+		private void awaitCompletion(boolean completionOrder, int delivered) {
+			lock.lock();
+			try {
+				while (completionOrder ? delivered >= completed.size() : !done.get(delivered)) {
+					if (workers == 0 && next < items.size())
+						return;
+					changed.await();
+				}
+			} catch (InterruptedException e) {
+				fail(-1);
+				Thread.currentThread().interrupt();
+				throw new ConversionException(ConverterErrorCode.TECHNICAL_ERROR_EXCEPTION.getErrorCode(),
+						ConverterErrorCode.TECHNICAL_ERROR_EXCEPTION.getErrorMessage(), e);
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		/**
+		 * Waits for the items still converting and returns the failure of the first
+		 * failing item, called holding the lock
+		 */
+		private RuntimeException awaitFirstFailure() {
+			try {
+				while (completed.size() < items.size()) {
+					if (workers == 0 && next < items.size()) {
+						// no worker is there to take the items left, they are skipped
+						lock.unlock();
+						try {
+							convertNext(false);
+						} finally {
+							lock.lock();
+						}
+						continue;
+					}
+					changed.await();
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new ConversionException(ConverterErrorCode.TECHNICAL_ERROR_EXCEPTION.getErrorCode(),
+						ConverterErrorCode.TECHNICAL_ERROR_EXCEPTION.getErrorMessage(), e);
+			}
+			Throwable failure = failures.get(firstFailure);
+			if (failure instanceof Error error)
+				throw error;
+			return (RuntimeException) failure;
+		}
+
+		private void work() {
+			while (convertNext(true)) {
+				// converts until no item is left
+			}
+		}
+
+		private void stopWorker() {
+			lock.lock();
+			try {
+				workers--;
+				changed.signalAll();
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		/**
+		 * Converts the next item not taken yet
+		 *
+		 * @return false when no item was left
+		 */
+		private boolean convertNext(boolean worker) {
+			int index;
+			T item;
+			lock.lock();
+			try {
+				// skip the failures added as they are
+				while (next < items.size() && done.get(next))
+					next++;
+				if (next >= items.size()) {
+					// released in the same step, so add starts a new worker for the next item
+					if (worker) {
+						workers--;
+						changed.signalAll();
+					}
+					return false;
+				}
+				index = next++;
+				item = items.get(index);
+				// converted items are not kept, only their results
+				items.set(index, null);
+			} finally {
+				lock.unlock();
+			}
+
+			Object result = SKIPPED;
+			Throwable failure = null;
+			try {
+				if (index < firstFailure)
+					result = function.apply(item);
+			} catch (RuntimeException | Error e) {
+				result = null;
+				failure = e;
+			}
+			lock.lock();
+			try {
+				results.set(index, result);
+				failures.set(index, failure);
+				complete(index);
+			} finally {
+				lock.unlock();
+			}
+			return true;
+		}
+
+		/**
+		 * Marks the item done, called holding the lock
+		 */
+		private void complete(int index) {
+			if (failures.get(index) != null)
+				fail(index);
+			done.set(index);
+			completed.add(index);
+			changed.signalAll();
+		}
+
+		/**
+		 * Skips the items after index, or all items not started for -1
+		 */
+		private void fail(int index) {
+			lock.lock();
+			try {
+				firstFailure = Math.min(firstFailure, index < 0 ? next : index);
+			} finally {
+				lock.unlock();
+			}
+		}
+	}
+}
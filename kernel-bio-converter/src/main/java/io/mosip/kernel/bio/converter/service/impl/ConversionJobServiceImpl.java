@@ -0,0 +1,444 @@
+package io.mosip.kernel.bio.converter.service.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.mosip.kernel.bio.converter.constant.ConverterErrorCode;
+import io.mosip.kernel.bio.converter.constant.JobStatusCode;
+import io.mosip.kernel.bio.converter.dto.ConversionJobDto;
+import io.mosip.kernel.bio.converter.dto.ConvertJobResultDto;
+import io.mosip.kernel.bio.converter.dto.ConvertRequestDto;
+import io.mosip.kernel.bio.converter.exception.ConversionException;
+import io.mosip.kernel.bio.converter.exception.ConversionRejectedException;
+import io.mosip.kernel.bio.converter.service.IConversionJobApi;
+import io.mosip.kernel.core.exception.ServiceError;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Asynchronous conversion jobs spooled to a local directory.
+ *
+ * The request body of a job is copied to {@code <jobId>.request} and converted
+ * by a dedicated pool of job workers. A worker reads the batch jobs one at a
+ * time and hands them in chunks to
+ * {@link ConverterServiceImpl#convertBatchWithoutAdmission(List)}, the results
+ * are appended to {@code <jobId>.results} as they are converted. Neither the request nor the results of a job are held on the
+ * heap. The job conversions do not take admission permits, they are limited by
+ * the job workers.
+ *
+ * Submissions are rejected with a {@link ConversionRejectedException} once
+ * {@code jobs.max.active} jobs are queued or running, or the spooled files use
+ * {@code jobs.spool.max.size}, to be sent again after {@code jobs.retry.after}.
+ * A running job
+ * may still go past the spool size with its results. Finished jobs are
+ * deleted {@code jobs.retention} after they finished. Jobs are not persisted,
+ * files left over by a previous run are deleted on start.
+ *
+ * The queued and running jobs and the spool size are published as
+ * {@value #QUEUED_GAUGE}, {@value #RUNNING_GAUGE} and {@value #SPOOL_SIZE_GAUGE}
+ * when a meter registry is available.
+ *
+ * @author Janardhan B S
+ * @since 1.2.1
+ */
+@Service
+public class ConversionJobServiceImpl implements IConversionJobApi {
+	private static final Logger logger = LoggerFactory.getLogger(ConversionJobServiceImpl.class);
+
+	static final String QUEUED_GAUGE = "bio.converter.jobs.queued";
+	static final String RUNNING_GAUGE = "bio.converter.jobs.running";
+	static final String SPOOL_SIZE_GAUGE = "bio.converter.jobs.spool.size";
+
+	private static final String REQUEST_SUFFIX = ".request";
+	private static final String RESULTS_SUFFIX = ".results";
+	private static final int COPY_BUFFER_SIZE = 64 * 1024;
+	private static final byte LINE_SEPARATOR = '\n';
+	private static final Duration MAX_CLEANUP_INTERVAL = Duration.ofMinutes(1);
+
+	private final ConverterServiceImpl converterService;
+	private final ObjectMapper objectMapper;
+	private final Path spoolDirectory;
+	private final int maxActiveJobs;
+	private final long maxSpoolSize;
+	private final Duration retention;
+	private final Duration retryAfter;
+	private final int chunkSize;
+
+	private final ThreadPoolExecutor executor;
+	private final ScheduledExecutorService cleaner;
+	private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+	private final AtomicInteger activeJobs = new AtomicInteger();
+	private final AtomicLong spoolSize = new AtomicLong();
+	private final ObjectProvider<MeterRegistry> meterRegistry;
+
+	@Autowired
+	public ConversionJobServiceImpl(ConverterServiceImpl converterService, ObjectMapper objectMapper,
+			@Value("${mosip.kernel.bio.converter.jobs.spool.dir:${java.io.tmpdir}/bio-converter-jobs}")
+			Path spoolDirectory,
+			@Value("${mosip.kernel.bio.converter.jobs.pool.size:1}") int poolSize,
+			@Value("${mosip.kernel.bio.converter.jobs.max.active:100}") int maxActiveJobs,
+			@Value("${mosip.kernel.bio.converter.jobs.spool.max.size:2GB}") DataSize maxSpoolSize,
+			@Value("${mosip.kernel.bio.converter.jobs.retention:1h}") Duration retention,
+			@Value("${mosip.kernel.bio.converter.jobs.chunk.size:16}") int chunkSize,
+			@Value("${mosip.kernel.bio.converter.jobs.retry.after:10s}") Duration retryAfter,
+			ObjectProvider<MeterRegistry> meterRegistry) throws IOException {
+		this.converterService = converterService;
+		this.objectMapper = objectMapper;
+		this.spoolDirectory = spoolDirectory;
+		this.maxActiveJobs = maxActiveJobs;
+		this.maxSpoolSize = maxSpoolSize.toBytes();
+		this.retention = retention;
+		this.chunkSize = Math.max(1, chunkSize);
+		this.retryAfter = retryAfter;
+		this.meterRegistry = meterRegistry;
+
+		Files.createDirectories(spoolDirectory);
+		deleteLeftOverFiles();
+
+		int threads = Math.max(1, poolSize);
+		// the queue is bounded by the active jobs
+		this.executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+				new CustomizableThreadFactory("bio-converter-job-"));
+		this.executor.allowCoreThreadTimeOut(true);
+		this.cleaner = Executors
+				.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("bio-converter-jobs-cleaner-"));
+	}
+
+	/**
+	 * Schedules the deletion of the expired jobs and publishes the gauges, once
+	 * the service is constructed
+	 */
+	@PostConstruct
+	public void start() {
+		long cleanupInterval = Math.max(1, Math.min(retention.toMillis(), MAX_CLEANUP_INTERVAL.toMillis()));
+		this.cleaner.scheduleWithFixedDelay(this::deleteExpiredJobs, cleanupInterval, cleanupInterval,
+				TimeUnit.MILLISECONDS);
+
+		meterRegistry.ifAvailable(registry -> {
+			Gauge.builder(QUEUED_GAUGE, executor, pool -> pool.getQueue().size()).register(registry);
+			Gauge.builder(RUNNING_GAUGE, executor, ThreadPoolExecutor::getActiveCount).register(registry);
+			Gauge.builder(SPOOL_SIZE_GAUGE, spoolSize, AtomicLong::get).baseUnit("bytes").register(registry);
+		});
+	}
+
+	@Override
+	public ConversionJobDto submit(InputStream request) throws ConversionException, IOException {
+		if (activeJobs.incrementAndGet() > maxActiveJobs) {
+			activeJobs.decrementAndGet();
+			throw atCapacity("more than " + maxActiveJobs + " active jobs");
+		}
+		Job job = new Job(UUID.randomUUID().toString());
+		try {
+			spool(request, job);
+		} catch (IOException | RuntimeException e) {
+			activeJobs.decrementAndGet();
+			deleteFiles(job);
+			throw e;
+		}
+		jobs.put(job.id, job);
+		executor.execute(() -> run(job));
+		return job.toDto();
+	}
+
+	@Override
+	public ConversionJobDto getJob(String jobId) throws ConversionException {
+		return findJob(jobId).toDto();
+	}
+
+	@Override
+	public void copyResults(String jobId, OutputStream output) throws ConversionException, IOException {
+		Job job = findJob(jobId);
+		JobStatusCode status = job.status;
+		if (status != JobStatusCode.COMPLETED) {
+			ConverterErrorCode errorCode = ConverterErrorCode.INVALID_REQUEST_EXCEPTION;
+			throw new ConversionException(errorCode.getErrorCode(),
+					errorCode.getErrorMessage() + " : job " + jobId + " is " + status.getCode());
+		}
+		try {
+			Files.copy(job.resultsFile(), output);
+		} catch (NoSuchFileException e) {
+			// deleted since it was found
+			throw unknownJob(jobId);
+		}
+	}
+
+	@Override
+	public ConversionJobDto delete(String jobId) throws ConversionException {
+		Job job = jobs.remove(jobId);
+		if (job == null)
+			throw unknownJob(jobId);
+		ConversionJobDto jobDto = job.toDto();
+		boolean done;
+		synchronized (job) {
+			job.deleted = true;
+			done = job.status.isDone();
+		}
+		// a queued or running job deletes its own files once it stops
+		if (done)
+			deleteFiles(job);
+		return jobDto;
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		cleaner.shutdownNow();
+		executor.shutdownNow();
+	}
+
+	private void spool(InputStream request, Job job) throws IOException {
+		if (spoolSize.get() >= maxSpoolSize)
+			throw atCapacity("spool is full");
+		byte[] buffer = new byte[COPY_BUFFER_SIZE];
+		try (OutputStream output = Files.newOutputStream(job.requestFile())) {
+			int read;
+			while ((read = request.read(buffer)) >= 0) {
+				output.write(buffer, 0, read);
+				if (spoolSize.addAndGet(read) > maxSpoolSize)
+					throw atCapacity("spool is full");
+			}
+		}
+	}
+
+	private void run(Job job) {
+		synchronized (job) {
+			if (job.deleted) {
+				finish(job);
+				return;
+			}
+			job.status = JobStatusCode.RUNNING;
+		}
+
+		List<ServiceError> errors = null;
+		try (JsonParser parser = objectMapper.createParser(job.requestFile().toFile());
+				OutputStream output = Files.newOutputStream(job.resultsFile())) {
+			if (!readJobs(parser, job, output))
+				errors = List.of(technicalError("Request can not be null"));
+		} catch (ConversionException e) {
+			errors = List.of(new ServiceError(e.getErrorCode(), e.getMessage()));
+		} catch (JsonProcessingException e) {
+			errors = List.of(technicalError(e.getOriginalMessage()));
+		} catch (IOException | RuntimeException e) {
+			logger.error("Conversion job {} failed: {}", job.id, e.getMessage());
+			logger.debug("Conversion job failure:", e);
+			errors = List.of(technicalError(e.getMessage()));
+		}
+
+		synchronized (job) {
+			job.errors = errors;
+			job.status = errors == null ? JobStatusCode.COMPLETED : JobStatusCode.FAILED;
+			job.completedTime = LocalDateTime.now(ZoneOffset.UTC);
+		}
+		finish(job);
+	}
+
+	/**
+	 * Reads the batch jobs of the request wrapper and converts them chunk by
+	 * chunk
+	 *
+	 * @return false when the request has no jobs array
+	 */
+	private boolean readJobs(JsonParser parser, Job job, OutputStream output) throws IOException {
+		if (parser.nextToken() != JsonToken.START_OBJECT)
+			throw new ConversionException(ConverterErrorCode.TECHNICAL_ERROR_EXCEPTION.getErrorCode(),
+					"Request body is not a JSON object");
+		boolean jobsRead = false;
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String field = parser.getCurrentName();
+			JsonToken token = parser.nextToken();
+			if (!"request".equals(field) || token != JsonToken.START_OBJECT) {
+				parser.skipChildren();
+				continue;
+			}
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				field = parser.getCurrentName();
+				token = parser.nextToken();
+				if ("jobs".equals(field) && token == JsonToken.START_ARRAY) {
+					convertJobs(parser, job, output);
+					jobsRead = true;
+				} else {
+					parser.skipChildren();
+				}
+			}
+		}
+		return jobsRead;
+	}
+
+	private void convertJobs(JsonParser parser, Job job, OutputStream output) throws IOException {
+		List<ConvertRequestDto> chunk = new ArrayList<>(chunkSize);
+		int count = 0;
+		while (parser.nextToken() != JsonToken.END_ARRAY) {
+			chunk.add(parser.getCurrentToken() == JsonToken.VALUE_NULL ? null
+					: parser.readValueAs(ConvertRequestDto.class));
+			count++;
+			if (chunk.size() == chunkSize) {
+				writeResults(job, output, chunk);
+				chunk.clear();
+			}
+		}
+		if (count == 0)
+			throw technicalException(ConverterErrorCode.TECHNICAL_ERROR_EXCEPTION.getErrorMessage());
+		if (!chunk.isEmpty())
+			writeResults(job, output, chunk);
+	}
+
+	private void writeResults(Job job, OutputStream output, List<ConvertRequestDto> chunk) throws IOException {
+		if (job.deleted)
+			throw technicalException("Job deleted");
+		for (ConvertJobResultDto result : converterService.convertBatchWithoutAdmission(chunk)) {
+			byte[] line = objectMapper.writeValueAsBytes(result);
+			output.write(line);
+			output.write(LINE_SEPARATOR);
+			spoolSize.addAndGet(line.length + 1L);
+			job.convertedJobs++;
+		}
+	}
+
+	/**
+	 * Releases the capacity of a job that stopped, its files are deleted now
+	 * when the job was deleted while it was converting
+	 */
+	private void finish(Job job) {
+		activeJobs.decrementAndGet();
+		deleteFile(job.requestFile());
+		boolean deleted;
+		synchronized (job) {
+			deleted = job.deleted;
+		}
+		if (deleted || job.status == JobStatusCode.FAILED)
+			deleteFile(job.resultsFile());
+	}
+
+	private void deleteExpiredJobs() {
+		LocalDateTime expiry = LocalDateTime.now(ZoneOffset.UTC).minus(retention);
+		for (Job job : jobs.values()) {
+			LocalDateTime completedTime = job.completedTime;
+			if (completedTime != null && completedTime.isBefore(expiry)) {
+				try {
+					delete(job.id);
+				} catch (ConversionException e) {
+					// deleted by a client meanwhile
+				}
+			}
+		}
+	}
+
+	private void deleteFiles(Job job) {
+		deleteFile(job.requestFile());
+		deleteFile(job.resultsFile());
+	}
+
+	private void deleteFile(Path file) {
+		try {
+			long size = Files.exists(file) ? Files.size(file) : 0;
+			if (Files.deleteIfExists(file))
+				spoolSize.addAndGet(-size);
+		} catch (IOException e) {
+			logger.error("Could not delete spooled file {}: {}", file, e.getMessage());
+		}
+	}
+
+	private void deleteLeftOverFiles() throws IOException {
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(spoolDirectory,
+				"*{" + REQUEST_SUFFIX + "," + RESULTS_SUFFIX + "}")) {
+			for (Path file : files)
+				Files.deleteIfExists(file);
+		}
+	}
+
+	private Job findJob(String jobId) {
+		Job job = jobId == null ? null : jobs.get(jobId);
+		if (job == null)
+			throw unknownJob(jobId);
+		return job;
+	}
+
+	private static ConversionException unknownJob(String jobId) {
+		ConverterErrorCode errorCode = ConverterErrorCode.INVALID_REQUEST_EXCEPTION;
+		return new ConversionException(errorCode.getErrorCode(),
+				errorCode.getErrorMessage() + " : unknown job " + jobId);
+	}
+
+	private ConversionRejectedException atCapacity(String reason) {
+		return new ConversionRejectedException(retryAfter, reason);
+	}
+
+	private static ConversionException technicalException(String message) {
+		return new ConversionException(ConverterErrorCode.TECHNICAL_ERROR_EXCEPTION.getErrorCode(), message);
+	}
+
+	private static ServiceError technicalError(String message) {
+		return new ServiceError(ConverterErrorCode.TECHNICAL_ERROR_EXCEPTION.getErrorCode(), message);
+	}
+
+	/**
+	 * State of a job, the status and the deleted flag change under the job lock
+	 */
+	private final class Job {
+		private final String id;
+		private final LocalDateTime submittedTime = LocalDateTime.now(ZoneOffset.UTC);
+		private volatile JobStatusCode status = JobStatusCode.QUEUED;
+		private volatile LocalDateTime completedTime;
+		private volatile List<ServiceError> errors;
+		private volatile int convertedJobs;
+		private volatile boolean deleted;
+
+		private Job(String id) {
+			this.id = id;
+		}
+
+		private Path requestFile() {
+			return spoolDirectory.resolve(id + REQUEST_SUFFIX);
+		}
+
+		private Path resultsFile() {
+			return spoolDirectory.resolve(id + RESULTS_SUFFIX);
+		}
+
+		private ConversionJobDto toDto() {
+			ConversionJobDto jobDto = new ConversionJobDto();
+			jobDto.setJobId(id);
+			jobDto.setStatus(status.getCode());
+			jobDto.setSubmittedTime(submittedTime);
+			jobDto.setCompletedTime(completedTime);
+			jobDto.setConvertedJobs(convertedJobs);
+			jobDto.setErrors(errors);
+			return jobDto;
+		}
+	}
+}
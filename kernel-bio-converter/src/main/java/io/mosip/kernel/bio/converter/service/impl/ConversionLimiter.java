@@ -0,0 +1,166 @@
+package io.mosip.kernel.bio.converter.service.impl;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.mosip.kernel.bio.converter.exception.ConversionRejectedException;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Admission control of the conversions, at most {@code permits} values are
+ * decoded and encoded at the same time. A permit is taken once the value is
+ * read, a request whose body is still being read holds no permit.
+ *
+ * The first value of a request over the limit waits for a permit, in arrival
+ * order, for up to {@code queue.timeout}. The request is rejected with a
+ * {@link ConversionRejectedException} when no permit is released in time or
+ * when {@code queue.max} values are waiting already. The next values of an
+ * admitted request wait for their permit without timeout. The permits default to
+ * the number of available processors: image decoding is CPU bound, more
+ * concurrent conversions only add memory and GC pressure.
+ *
+ * The values converting and waiting and the rejected values are published
+ * as {@value #IN_FLIGHT_GAUGE}, {@value #QUEUED_GAUGE} and
+ * {@value #REJECTED_COUNTER} (tagged with the reason) when a meter registry is
+ * available.
+ *
+ * @author Janardhan B S
+ * @since 1.2.1
+ */
+@Component
+public class ConversionLimiter {
+	static final String IN_FLIGHT_GAUGE = "bio.converter.limiter.in.flight";
+	static final String QUEUED_GAUGE = "bio.converter.limiter.queued";
+	static final String REJECTED_COUNTER = "bio.converter.limiter.rejected";
+
+	private static final String REASON_TAG = "reason";
+
+	private final boolean enabled;
+	private final int permits;
+	private final Semaphore semaphore;
+	private final int maxQueued;
+	private final Duration queueTimeout;
+	private final Duration retryAfter;
+	private final AtomicInteger queued = new AtomicInteger();
+	private final MeterRegistry meterRegistry;
+	private final Counter queueFullCounter;
+	private final Counter timeoutCounter;
+
+	public ConversionLimiter(@Value("${mosip.kernel.bio.converter.limiter.enabled:true}") boolean enabled,
+			@Value("${mosip.kernel.bio.converter.limiter.permits:0}") int permits,
+			@Value("${mosip.kernel.bio.converter.limiter.queue.max:100}") int maxQueued,
+			@Value("${mosip.kernel.bio.converter.limiter.queue.timeout:2s}") Duration queueTimeout,
+			@Value("${mosip.kernel.bio.converter.limiter.retry.after:1s}") Duration retryAfter,
+			ObjectProvider<MeterRegistry> meterRegistry) {
+		this.enabled = enabled;
+		this.permits = permits > 0 ? permits : Runtime.getRuntime().availableProcessors();
+		this.semaphore = new Semaphore(this.permits, true);
+		this.maxQueued = Math.max(0, maxQueued);
+		this.queueTimeout = queueTimeout;
+		this.retryAfter = retryAfter;
+
+		this.meterRegistry = meterRegistry == null ? null : meterRegistry.getIfAvailable();
+		if (this.meterRegistry == null) {
+			this.queueFullCounter = null;
+			this.timeoutCounter = null;
+			return;
+		}
+		this.queueFullCounter = this.meterRegistry.counter(REJECTED_COUNTER, REASON_TAG, "queue_full");
+		this.timeoutCounter = this.meterRegistry.counter(REJECTED_COUNTER, REASON_TAG, "timeout");
+	}
+
+	/**
+	 * Registers the gauges once the limiter is constructed
+	 */
+	@PostConstruct
+	public void registerGauges() {
+		if (meterRegistry == null)
+			return;
+		Gauge.builder(IN_FLIGHT_GAUGE, this, ConversionLimiter::getInFlight).register(meterRegistry);
+		Gauge.builder(QUEUED_GAUGE, queued, AtomicInteger::get).register(meterRegistry);
+	}
+
+	/**
+	 * Waits for a permit, to be released once the value is converted
+	 *
+	 * @throws ConversionRejectedException MOS-CNV-013 when no permit is available
+	 *                                     in time
+	 */
+	public void acquire() throws ConversionRejectedException {
+		if (!enabled)
+			return;
+		try {
+			// a timed acquire does not barge ahead of the waiting requests
+			if (semaphore.tryAcquire(0, TimeUnit.NANOSECONDS))
+				return;
+			if (queued.incrementAndGet() > maxQueued) {
+				queued.decrementAndGet();
+				throw reject(queueFullCounter);
+			}
+			try {
+				if (!semaphore.tryAcquire(queueTimeout.toNanos(), TimeUnit.NANOSECONDS))
+					throw reject(timeoutCounter);
+			} finally {
+				queued.decrementAndGet();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw reject(timeoutCounter);
+		}
+	}
+
+	/**
+	 * Waits for a permit for the next value of a request admitted already, as
+	 * long as it takes: values of the request are converted already
+	 *
+	 * @throws ConversionRejectedException MOS-CNV-013 when interrupted
+	 */
+	public void acquireAdmitted() throws ConversionRejectedException {
+		if (!enabled)
+			return;
+		queued.incrementAndGet();
+		try {
+			semaphore.acquire();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw reject(timeoutCounter);
+		} finally {
+			queued.decrementAndGet();
+		}
+	}
+
+	/**
+	 * Releases a permit acquired with {@link #acquire()} or
+	 * {@link #acquireAdmitted()}
+	 */
+	public void release() {
+		if (enabled)
+			semaphore.release();
+	}
+
+	public int getPermits() {
+		return permits;
+	}
+
+	/**
+	 * @return conversions holding a permit
+	 */
+	public int getInFlight() {
+		return enabled ? permits - semaphore.availablePermits() : 0;
+	}
+
+	private ConversionRejectedException reject(Counter counter) {
+		if (counter != null)
+			counter.increment();
+		return new ConversionRejectedException(retryAfter);
+	}
+}
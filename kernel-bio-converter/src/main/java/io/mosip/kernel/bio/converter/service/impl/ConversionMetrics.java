@@ -0,0 +1,210 @@
+package io.mosip.kernel.bio.converter.service.impl;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.mosip.kernel.bio.converter.constant.SourceFormatCode;
+import io.mosip.kernel.bio.converter.constant.TargetFormatCode;
+import io.mosip.kernel.bio.converter.service.ConversionRecorder;
+import io.mosip.kernel.bio.converter.service.ConversionRecorder.Compression;
+import io.mosip.kernel.bio.converter.service.ConversionRecorder.Stage;
+
+/**
+ * Micrometer meters of the conversion of single values.
+ *
+ * <ul>
+ * <li>{@value #STAGE_TIMER}: time of every stage, tagged with the stage</li>
+ * <li>{@value #CONVERSION_COUNTER}: converted values, tagged with the
+ * result: success, the error code of a failure or {@value #CACHED} for a
+ * value served from the cache</li>
+ * <li>{@value #INPUT_SIZE}, {@value #OUTPUT_SIZE}: ISO record and converted
+ * value sizes in bytes</li>
+ * <li>{@value #IMAGE_WIDTH}, {@value #IMAGE_HEIGHT}: source image dimensions
+ * in pixels, also when a lower JPEG2000 resolution is decoded</li>
+ * </ul>
+ *
+ * All meters are tagged with the source format, the target format and the
+ * compression of the source image. Base64 stages run before the ISO record is
+ * parsed, their compression tag is {@code none}. The convert endpoints decode
+ * base64 while reading the body, that time includes reading the value from
+ * the request. Values served from the cache are not converted and have no
+ * other stage times.
+ *
+ * Meters are registered on first use and kept, so recording does not look
+ * them up in the registry again.
+ *
+ * Percentile histograms are published with the management properties, ex:
+ * {@code management.metrics.distribution.percentiles-histogram.bio.converter.stage=true}
+ *
+ * @author Janardhan B S
+ * @since 1.2.1
+ */
+@Component
+public class ConversionMetrics {
+	static final String STAGE_TIMER = "bio.converter.stage";
+	static final String CONVERSION_COUNTER = "bio.converter.conversions";
+	static final String INPUT_SIZE = "bio.converter.input.size";
+	static final String OUTPUT_SIZE = "bio.converter.output.size";
+	static final String IMAGE_WIDTH = "bio.converter.image.width";
+	static final String IMAGE_HEIGHT = "bio.converter.image.height";
+
+	private static final String SOURCE_TAG = "source";
+	private static final String TARGET_TAG = "target";
+	private static final String COMPRESSION_TAG = "compression";
+	private static final String STAGE_TAG = "stage";
+	private static final String RESULT_TAG = "result";
+	private static final String SUCCESS = "success";
+	private static final String CACHED = "cached";
+
+	private final MeterRegistry meterRegistry;
+	private final ConcurrentMap<MeterKey, Timer> timers = new ConcurrentHashMap<>();
+	private final ConcurrentMap<MeterKey, Counter> counters = new ConcurrentHashMap<>();
+	private final ConcurrentMap<MeterKey, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+	public ConversionMetrics(@Value("${mosip.kernel.bio.converter.metrics.enabled:true}") boolean enabled,
+			ObjectProvider<MeterRegistry> meterRegistry) {
+		this.meterRegistry = enabled ? meterRegistry.getIfAvailable() : null;
+	}
+
+	/**
+	 * Recorder of the conversion of one value
+	 *
+	 * @param sourceCode source format
+	 * @param targetCode target format
+	 * @return recorder, not thread safe
+	 */
+	public Recorder recorder(SourceFormatCode sourceCode, TargetFormatCode targetCode) {
+		return new Recorder(sourceCode, targetCode);
+	}
+
+	/**
+	 * Meter name and tags, the tag is the stage, the result or the base unit
+	 */
+	private record MeterKey(String name, String sourceFormat, String targetFormat, Compression compression,
+			String tag) {
+	}
+
+	/**
+	 * Recorder of the conversion of one value, started and stopped samples time
+	 * the stages that span calls
+	 */
+	public final class Recorder implements ConversionRecorder {
+		private final String sourceFormat;
+		private final String targetFormat;
+		private Compression compression = Compression.NONE;
+		private boolean counted;
+
+		private Recorder(SourceFormatCode sourceCode, TargetFormatCode targetCode) {
+			this.sourceFormat = sourceCode.getCode();
+			this.targetFormat = targetCode.getCode();
+		}
+
+		@Override
+		public void setCompression(Compression compression) {
+			this.compression = compression;
+		}
+
+		/**
+		 * Starts timing a stage
+		 *
+		 * @return sample to stop, null when metrics are disabled
+		 */
+		public Timer.Sample start() {
+			return meterRegistry == null ? null : Timer.start(meterRegistry);
+		}
+
+		/**
+		 * Records the time of a stage that completed
+		 */
+		public void stop(Stage stage, Timer.Sample sample) {
+			if (sample != null)
+				sample.stop(timer(stage));
+		}
+
+		@Override
+		public void record(Stage stage, long nanos) {
+			if (meterRegistry != null)
+				timer(stage).record(nanos, TimeUnit.NANOSECONDS);
+		}
+
+		@Override
+		public <T> T record(Stage stage, Supplier<T> supplier) {
+			Timer.Sample sample = start();
+			T result = supplier.get();
+			stop(stage, sample);
+			return result;
+		}
+
+		public void recordInput(int size) {
+			summary(INPUT_SIZE, "bytes", size);
+		}
+
+		@Override
+		public void recordImage(int width, int height) {
+			summary(IMAGE_WIDTH, "pixels", width);
+			summary(IMAGE_HEIGHT, "pixels", height);
+		}
+
+		/**
+		 * Counts a converted value and records its size
+		 */
+		public void success(int size) {
+			count(SUCCESS);
+			summary(OUTPUT_SIZE, "bytes", size);
+		}
+
+		/**
+		 * Counts a failed conversion
+		 *
+		 * @param errorCode error code of the failure
+		 */
+		public void failure(String errorCode) {
+			count(errorCode);
+		}
+
+		/**
+		 * Counts a value served from the cache, unless the value was converted
+		 */
+		public void cached() {
+			if (!counted)
+				count(CACHED);
+		}
+
+		private void count(String result) {
+			counted = true;
+			if (meterRegistry != null)
+				counters.computeIfAbsent(key(CONVERSION_COUNTER, result),
+						key -> meterRegistry.counter(CONVERSION_COUNTER, tags().and(RESULT_TAG, result))).increment();
+		}
+
+		private Timer timer(Stage stage) {
+			return timers.computeIfAbsent(key(STAGE_TIMER, stage.getTag()),
+					key -> meterRegistry.timer(STAGE_TIMER, tags().and(STAGE_TAG, stage.getTag())));
+		}
+
+		private void summary(String name, String baseUnit, int value) {
+			if (meterRegistry != null)
+				summaries.computeIfAbsent(key(name, baseUnit), key -> DistributionSummary.builder(name)
+						.baseUnit(baseUnit).tags(tags()).register(meterRegistry)).record(value);
+		}
+
+		private MeterKey key(String name, String tag) {
+			return new MeterKey(name, sourceFormat, targetFormat, compression, tag);
+		}
+
+		private Tags tags() {
+			return Tags.of(SOURCE_TAG, sourceFormat, TARGET_TAG, targetFormat, COMPRESSION_TAG, compression.getTag());
+		}
+	}
+}
@@ -0,0 +1,145 @@
+package io.mosip.kernel.bio.converter.service.impl;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.mosip.kernel.bio.converter.constant.ConverterErrorCode;
+import io.mosip.kernel.bio.converter.constant.SourceFormatCode;
+import io.mosip.kernel.bio.converter.constant.TargetFormatCode;
+import io.mosip.kernel.bio.converter.dto.IsoRecordInfoDto;
+import io.mosip.kernel.bio.converter.exception.ConversionException;
+import io.mosip.kernel.bio.converter.service.ConversionRecorder;
+import io.mosip.kernel.bio.converter.service.ConverterPlugin;
+import io.mosip.kernel.bio.converter.service.ImageParameters;
+
+/**
+ * Registry of the {@link ConverterPlugin}s by source and target format.
+ *
+ * Plugins are collected once from the Spring context and, unless disabled,
+ * from the {@link ServiceLoader} of the context class loader, which includes
+ * the jars of the {@code loader.path}. A plugin class found both ways is
+ * registered once. Unavailable plugins are left out.
+ *
+ * Lookup is two {@link EnumMap} reads, the plugins of a pair are kept in an
+ * array ordered by cost.
+ *
+ * @author Janardhan B S
+ * @since 1.2.1
+ */
+@Component
+public class ConverterRegistry {
+	private static final Logger logger = LoggerFactory.getLogger(ConverterRegistry.class);
+	private static final ConverterPlugin[] NONE = new ConverterPlugin[0];
+
+	private final Map<SourceFormatCode, Map<TargetFormatCode, ConverterPlugin[]>> plugins = new EnumMap<>(
+			SourceFormatCode.class);
+	private final Map<SourceFormatCode, ConverterPlugin[]> sourcePlugins = new EnumMap<>(SourceFormatCode.class);
+
+	@Autowired
+	public ConverterRegistry(List<ConverterPlugin> beans,
+			@Value("${mosip.kernel.bio.converter.plugins.service.loader.enabled:true}") boolean serviceLoader) {
+		List<ConverterPlugin> candidates = new ArrayList<>(beans);
+		if (serviceLoader) {
+			Set<Class<?>> classes = new HashSet<>();
+			beans.forEach(plugin -> classes.add(plugin.getClass()));
+			for (ConverterPlugin plugin : ServiceLoader.load(ConverterPlugin.class,
+					Thread.currentThread().getContextClassLoader())) {
+				if (classes.add(plugin.getClass()))
+					candidates.add(plugin);
+			}
+		}
+		// stable, plugins of the same cost keep the bean order
+		candidates.sort(Comparator.comparingInt(ConverterPlugin::getCost));
+
+		Map<SourceFormatCode, Map<TargetFormatCode, List<ConverterPlugin>>> registered = new EnumMap<>(
+				SourceFormatCode.class);
+		Map<SourceFormatCode, List<ConverterPlugin>> bySource = new EnumMap<>(SourceFormatCode.class);
+		for (ConverterPlugin plugin : candidates) {
+			if (!plugin.isAvailable()) {
+				logger.info("Converter plugin {} not available", plugin.getClass().getName());
+				continue;
+			}
+			for (SourceFormatCode sourceCode : plugin.getSourceFormats()) {
+				bySource.computeIfAbsent(sourceCode, code -> new ArrayList<>()).add(plugin);
+				for (TargetFormatCode targetCode : plugin.getTargetFormats()) {
+					if (targetCode.isSupportedFor(sourceCode))
+						registered.computeIfAbsent(sourceCode, code -> new EnumMap<>(TargetFormatCode.class))
+								.computeIfAbsent(targetCode, code -> new ArrayList<>()).add(plugin);
+				}
+			}
+		}
+		registered.forEach((sourceCode, targets) -> {
+			Map<TargetFormatCode, ConverterPlugin[]> byTarget = new EnumMap<>(TargetFormatCode.class);
+			targets.forEach((targetCode, list) -> byTarget.put(targetCode, list.toArray(NONE)));
+			plugins.put(sourceCode, byTarget);
+		});
+		bySource.forEach((sourceCode, list) -> sourcePlugins.put(sourceCode, list.toArray(NONE)));
+	}
+
+	/**
+	 * @return plugins of the pair by increasing cost, empty when the conversion
+	 *         is not supported
+	 */
+	public ConverterPlugin[] get(SourceFormatCode sourceCode, TargetFormatCode targetCode) {
+		Map<TargetFormatCode, ConverterPlugin[]> byTarget = plugins.get(sourceCode);
+		ConverterPlugin[] candidates = byTarget == null ? null : byTarget.get(targetCode);
+		return candidates == null ? NONE : candidates;
+	}
+
+	public boolean supports(SourceFormatCode sourceCode, TargetFormatCode targetCode) {
+		return get(sourceCode, targetCode).length > 0;
+	}
+
+	/**
+	 * Converts the record with the cheapest plugin that accepts it
+	 *
+	 * @throws ConversionException MOS-CNV-011 when no plugin converts the pair,
+	 *                             MOS-CNV-012 when all plugins declined the
+	 *                             record
+	 */
+	public byte[] convert(ConversionRecorder recorder, SourceFormatCode sourceCode, byte[] isoData,
+			TargetFormatCode targetCode, ImageParameters imageParameters) throws ConversionException {
+		ConverterPlugin[] candidates = get(sourceCode, targetCode);
+		if (candidates.length == 0) {
+			ConverterErrorCode errorCode = ConverterErrorCode.TARGET_FORMAT_EXCEPTION;
+			throw new ConversionException(errorCode.getErrorCode(), errorCode.getErrorMessage());
+		}
+		for (ConverterPlugin plugin : candidates) {
+			byte[] targetData = plugin.convert(recorder, sourceCode, isoData, targetCode, imageParameters);
+			if (targetData != null)
+				return targetData;
+		}
+		ConverterErrorCode errorCode = ConverterErrorCode.NOT_SUPPORTED_COMPRESSION_TYPE;
+		throw new ConversionException(errorCode.getErrorCode(), errorCode.getErrorMessage());
+	}
+
+	/**
+	 * Reads the metadata of the record with the cheapest plugin of the source
+	 * format that reads its headers
+	 *
+	 * @throws ConversionException MOS-CNV-003 when no plugin reads the headers of
+	 *                             the source format
+	 */
+	public IsoRecordInfoDto inspect(SourceFormatCode sourceCode, byte[] isoData) throws ConversionException {
+		ConverterPlugin[] candidates = sourcePlugins.getOrDefault(sourceCode, NONE);
+		for (ConverterPlugin plugin : candidates) {
+			IsoRecordInfoDto info = plugin.inspect(sourceCode, isoData);
+			if (info != null)
+				return info;
+		}
+		ConverterErrorCode errorCode = ConverterErrorCode.INVALID_SOURCE_EXCEPTION;
+		throw new ConversionException(errorCode.getErrorCode(), errorCode.getErrorMessage());
+	}
+}
@@ -1,40 +1,37 @@
 package io.mosip.kernel.bio.converter.service.impl;
 
-import static io.mosip.kernel.bio.converter.constant.ConverterErrorCode.INVALID_TARGET_EXCEPTION;
-import static io.mosip.kernel.bio.converter.constant.ConverterErrorCode.NOT_SUPPORTED_COMPRESSION_TYPE;
-
-import java.awt.image.BufferedImage;
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
 
-import javax.imageio.ImageIO;
-
-import org.jnbis.api.model.Bitmap;
-import org.jnbis.internal.WsqDecoder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import io.mosip.biometrics.util.CommonUtil;
-import io.mosip.biometrics.util.ConvertRequestDto;
-import io.mosip.biometrics.util.face.FaceBDIR;
-import io.mosip.biometrics.util.face.FaceDecoder;
-import io.mosip.biometrics.util.face.ImageDataType;
-import io.mosip.biometrics.util.finger.FingerBDIR;
-import io.mosip.biometrics.util.finger.FingerDecoder;
-import io.mosip.biometrics.util.finger.FingerImageCompressionType;
-import io.mosip.biometrics.util.iris.ImageFormat;
-import io.mosip.biometrics.util.iris.IrisBDIR;
-import io.mosip.biometrics.util.iris.IrisDecoder;
 import io.mosip.kernel.bio.converter.constant.ConverterErrorCode;
 import io.mosip.kernel.bio.converter.constant.SourceFormatCode;
 import io.mosip.kernel.bio.converter.constant.TargetFormatCode;
+import io.mosip.kernel.bio.converter.dto.ConvertJobResultDto;
+import io.mosip.kernel.bio.converter.dto.ConvertRequestDto;
+import io.mosip.kernel.bio.converter.dto.IsoRecordInfoDto;
 import io.mosip.kernel.bio.converter.exception.ConversionException;
+import io.mosip.kernel.bio.converter.exception.ConversionRejectedException;
+import io.mosip.kernel.bio.converter.service.ConversionRecorder.Stage;
+import io.mosip.kernel.bio.converter.service.ConversionSession;
 import io.mosip.kernel.bio.converter.service.IConverterApi;
+import io.mosip.kernel.bio.converter.service.ImageParameters;
+import io.mosip.kernel.bio.converter.service.impl.ConversionMetrics.Recorder;
+import io.mosip.kernel.core.exception.ServiceError;
 
 /**
  * This class implements handling conversion of ISO format to JPEG or PNG Image
- * format
+ * format, the conversion of a record is dispatched to the
+ * {@link ConverterRegistry} plugins
  * 
  * @author Janardhan B S
  * @since 1.0.0
@@ -42,216 +39,359 @@ import io.mosip.kernel.bio.converter.service.IConverterApi;
  */
 @Service
 public class ConverterServiceImpl implements IConverterApi {
+	/**
+	 * Converter plugins by source and target format
+	 */
+	private ConverterRegistry converterRegistry;
+
+	/**
+	 * Worker pool used to convert the entries of a request concurrently
+	 */
+	private ConversionExecutor conversionExecutor;
+
+	/**
+	 * Cache of converted values, disabled by default
+	 */
+	private ConversionCache conversionCache;
+
+	/**
+	 * Stage timers and size summaries of the conversions
+	 */
+	private ConversionMetrics conversionMetrics;
+
+	/**
+	 * Admission control, a permit is held while a value is decoded and encoded
+	 */
+	private ConversionLimiter conversionLimiter;
+
+	/**
+	 * Maximum number of jobs of a batch
+	 */
+	private int maxBatchJobs;
+
+	/**
+	 * Maximum number of jobs of a batch converted at the same time
+	 */
+	private int batchParallelism;
+
+	@Autowired
+	public ConverterServiceImpl(ConverterRegistry converterRegistry, ConversionExecutor conversionExecutor,
+			ConversionCache conversionCache, ConversionMetrics conversionMetrics, ConversionLimiter conversionLimiter,
+			@Value("${mosip.kernel.bio.converter.batch.max.jobs:1000}") int maxBatchJobs,
+			@Value("${mosip.kernel.bio.converter.batch.max.parallelism:4}") int batchParallelism) {
+		this.converterRegistry = converterRegistry;
+		this.conversionExecutor = conversionExecutor;
+		this.conversionCache = conversionCache;
+		this.conversionMetrics = conversionMetrics;
+		this.conversionLimiter = conversionLimiter;
+		this.maxBatchJobs = maxBatchJobs;
+		this.batchParallelism = batchParallelism;
+	}
+
 	@Override
 	public Map<String, String> convert(Map<String, String> values, String sourceFormat, String targetFormat,
 			Map<String, String> sourceParameters, Map<String, String> targetParameters) throws ConversionException {
-		ConverterErrorCode errorCode = ConverterErrorCode.TECHNICAL_ERROR_EXCEPTION;
-		if (values == null || values.size() == 0)
-			throw new ConversionException(errorCode.getErrorCode(), errorCode.getErrorMessage());
+		checkValues(values);
+		SourceFormatCode sourceCode = SourceFormatCode.fromCode(sourceFormat);
+		TargetFormatCode targetCode = toTargetCode(sourceCode, targetFormat);
+		ImageParameters imageParameters = ImageParameters.from(targetParameters);
+
+		List<Map.Entry<String, String>> entries = new ArrayList<>(values.entrySet());
+		Admission admission = new Admission();
+		List<String> convertedValues = conversionExecutor.map(entries,
+				entry -> convertEncodedValue(sourceCode, entry.getValue(), targetCode, imageParameters, admission));
 
 		Map<String, String> targetValues = new HashMap<>();
+		for (int index = 0; index < entries.size(); index++) {
+			targetValues.put(entries.get(index).getKey(), convertedValues.get(index));
+		}
+		return targetValues;
+	}
 
+	@Override
+	public Map<String, byte[]> convertBytes(Map<String, byte[]> values, String sourceFormat, String targetFormat,
+			Map<String, String> sourceParameters, Map<String, String> targetParameters) throws ConversionException {
+		checkValues(values);
 		SourceFormatCode sourceCode = SourceFormatCode.fromCode(sourceFormat);
-		TargetFormatCode targetCode = TargetFormatCode.fromCode(targetFormat);
-		for (Map.Entry<String, String> entry : values.entrySet()) {
-			String targetValue = null;
-			String isoData = entry.getValue();
-			if (isoData == null || isoData.trim().length() == 0) {
-				errorCode = ConverterErrorCode.SOURCE_CAN_NOT_BE_EMPTY_OR_NULL_EXCEPTION;
-				throw new ConversionException(errorCode.getErrorCode(), errorCode.getErrorMessage());
-			}
+		TargetFormatCode targetCode = toTargetCode(sourceCode, targetFormat);
+		ImageParameters imageParameters = ImageParameters.from(targetParameters);
 
-			switch (sourceCode) {
-			// FINGER ISO can have JP2000 or WSQ
-			case ISO19794_4_2011:
-				targetValue = convertFingerIsoToImageType(sourceCode, entry.getValue(), targetCode, targetParameters);
-				break;
-			// FACE ISO can have JP2000
-			case ISO19794_5_2011:
-				targetValue = convertFaceIsoToImageType(sourceCode, entry.getValue(), targetCode, targetParameters);
-				break;
-			// IRIS ISO can have JP2000
-			case ISO19794_6_2011:
-				targetValue = convertIrisIsoToImageType(sourceCode, entry.getValue(), targetCode, targetParameters);
-				break;
-			default:
-				errorCode = ConverterErrorCode.INVALID_SOURCE_EXCEPTION;
-				throw new ConversionException(errorCode.getErrorCode(), errorCode.getErrorMessage());
-			}
-			targetValues.put(entry.getKey(), targetValue);
+		List<Map.Entry<String, byte[]>> entries = new ArrayList<>(values.entrySet());
+		Admission admission = new Admission();
+		List<byte[]> convertedValues = conversionExecutor.map(entries,
+				entry -> convertValue(conversionMetrics.recorder(sourceCode, targetCode), sourceCode, entry.getValue(),
+						targetCode, imageParameters, admission));
+
+		Map<String, byte[]> targetValues = new LinkedHashMap<>();
+		for (int index = 0; index < entries.size(); index++) {
+			targetValues.put(entries.get(index).getKey(), convertedValues.get(index));
 		}
 		return targetValues;
 	}
 
-	@SuppressWarnings({ "java:S1172", "java:S6208" })
-	private String convertFingerIsoToImageType(SourceFormatCode sourceCode, String isoData, TargetFormatCode targetCode,
-			Map<String, String> targetParameters)
-			throws ConversionException {
-		ConverterErrorCode errorCode = ConverterErrorCode.TECHNICAL_ERROR_EXCEPTION;
+	@Override
+	public ConversionSession openSession(String sourceFormat, String targetFormat,
+			Map<String, String> sourceParameters, Map<String, String> targetParameters) throws ConversionException {
+		SourceFormatCode sourceCode = SourceFormatCode.fromCode(sourceFormat);
+		TargetFormatCode targetCode = toTargetCode(sourceCode, targetFormat);
+		ImageParameters imageParameters = ImageParameters.from(targetParameters);
 
-		ConvertRequestDto requestDto = new ConvertRequestDto();
-		requestDto.setModality("Finger");
-		requestDto.setVersion(sourceCode.getCode());
+		Admission admission = new Admission();
+		return new Session(conversionExecutor.newBatch(value -> convertValue(
+				conversionMetrics.recorder(sourceCode, targetCode), sourceCode, value, targetCode, imageParameters,
+				admission)));
+	}
 
-		try {
-			requestDto.setInputBytes(CommonUtil.decodeURLSafeBase64(isoData));
-		} catch (Exception e) {
-			errorCode = ConverterErrorCode.SOURCE_NOT_VALID_BASE64URLENCODED_EXCEPTION;
-			throw new ConversionException(errorCode.getErrorCode(), e.getLocalizedMessage());
-		}
+	@Override
+	public List<ConvertJobResultDto> convertBatch(List<ConvertRequestDto> jobs) throws ConversionException {
+		return convertBatch(jobs, new Admission());
+	}
 
-		FingerBDIR bdir;
-		int inCompressionType = -1;
-		byte[] inImageData = null;
-		try {
-			bdir = FingerDecoder.getFingerBDIR(requestDto);
+	/**
+	 * Same as {@link #convertBatch(List)} without admission permits, for the
+	 * asynchronous jobs whose conversions are limited by their own workers
+	 */
+	List<ConvertJobResultDto> convertBatchWithoutAdmission(List<ConvertRequestDto> jobs) throws ConversionException {
+		return convertBatch(jobs, null);
+	}
 
-			inCompressionType = bdir.getCompressionType();
-			inImageData = bdir.getImage();
-		} catch (Exception e) {
-			errorCode = ConverterErrorCode.SOURCE_NOT_VALID_FINGER_ISO_FORMAT_EXCEPTION;
-			throw new ConversionException(errorCode.getErrorCode(), e.getLocalizedMessage());
+	/**
+	 * @param admission admission of the batch, null when its conversions take no
+	 *                  permit
+	 */
+	private List<ConvertJobResultDto> convertBatch(List<ConvertRequestDto> jobs, Admission admission)
+			throws ConversionException {
+		ConverterErrorCode errorCode;
+		if (jobs == null || jobs.isEmpty()) {
+			errorCode = ConverterErrorCode.TECHNICAL_ERROR_EXCEPTION;
+			throw new ConversionException(errorCode.getErrorCode(), errorCode.getErrorMessage());
+		}
+		if (jobs.size() > maxBatchJobs) {
+			errorCode = ConverterErrorCode.INVALID_REQUEST_EXCEPTION;
+			throw new ConversionException(errorCode.getErrorCode(),
+					errorCode.getErrorMessage() + " : more than " + maxBatchJobs + " jobs");
 		}
 
-		BufferedImage outImage = null;
-		byte[] outImageData = null;
-		switch (inCompressionType) {
-		case FingerImageCompressionType.JPEG_2000_LOSSY:
-		case FingerImageCompressionType.JPEG_2000_LOSS_LESS:
-			try {
-				outImage = ImageIO.read(new ByteArrayInputStream(inImageData));
-				// change here outImage width, height, dpi here based on targetParameters
-			} catch (IOException e) {
-				errorCode = ConverterErrorCode.COULD_NOT_READ_ISO_IMAGE_DATA_EXCEPTION;
-				throw new ConversionException(errorCode.getErrorCode(), e.getLocalizedMessage());
+		ConversionExecutor.Batch<ConvertRequestDto, ConvertJobResultDto> batch = conversionExecutor
+				.newBatch(job -> convertJob(job, admission), batchParallelism);
+		for (ConvertRequestDto job : jobs)
+			batch.add(job);
+		return batch.finish();
+	}
+
+	/**
+	 * Converts the values of a job one after the other, jobs are converted
+	 * concurrently instead. A rejected job rejects the whole batch, the jobs
+	 * after it are skipped.
+	 */
+	private ConvertJobResultDto convertJob(ConvertRequestDto job, Admission admission) {
+		ConvertJobResultDto result = new ConvertJobResultDto();
+		try {
+			checkValues(job == null ? null : job.getValues());
+			SourceFormatCode sourceCode = SourceFormatCode.fromCode(job.getSourceFormat());
+			TargetFormatCode targetCode = toTargetCode(sourceCode, job.getTargetFormat());
+			ImageParameters imageParameters = ImageParameters.from(job.getTargetParameters());
+
+			Map<String, String> targetValues = new LinkedHashMap<>();
+			for (Map.Entry<String, String> entry : job.getValues().entrySet()) {
+				targetValues.put(entry.getKey(),
+						convertEncodedValue(sourceCode, entry.getValue(), targetCode, imageParameters, admission));
 			}
-			outImageData = convertBufferedImageToBytes(targetCode, outImage);
-			break;
-		case FingerImageCompressionType.WSQ:
-			WsqDecoder decoder = new WsqDecoder();
-			Bitmap bitmap = decoder.decode(inImageData);
-			outImage = CommonUtil.convert(bitmap);
-			// change here outImage width, height, dpi here based on targetParameters
-			outImageData = convertBufferedImageToBytes(targetCode, outImage);
-			break;
-		default:
-			throw new ConversionException(NOT_SUPPORTED_COMPRESSION_TYPE.getErrorCode(),
-					NOT_SUPPORTED_COMPRESSION_TYPE.getErrorMessage());
+			result.setValues(targetValues);
+		} catch (ConversionRejectedException e) {
+			throw e;
+		} catch (ConversionException e) {
+			result.setErrors(List.of(new ServiceError(e.getErrorCode(), e.getMessage())));
+		} catch (RuntimeException e) {
+			result.setErrors(List.of(
+					new ServiceError(ConverterErrorCode.TECHNICAL_ERROR_EXCEPTION.getErrorCode(), e.getMessage())));
 		}
-		if (outImageData != null) {
-			return CommonUtil.encodeToURLSafeBase64(outImageData);
+		return result;
+	}
+
+	@Override
+	public Map<String, IsoRecordInfoDto> inspect(Map<String, String> values, String sourceFormat)
+			throws ConversionException {
+		checkValues(values);
+		SourceFormatCode sourceCode = SourceFormatCode.fromCode(sourceFormat);
+
+		List<Map.Entry<String, String>> entries = new ArrayList<>(values.entrySet());
+		List<IsoRecordInfoDto> infos = conversionExecutor.map(entries,
+				entry -> converterRegistry.inspect(sourceCode, decodeValue(entry.getValue())));
+
+		Map<String, IsoRecordInfoDto> targetValues = new LinkedHashMap<>();
+		for (int index = 0; index < entries.size(); index++) {
+			targetValues.put(entries.get(index).getKey(), infos.get(index));
 		}
-		throw new ConversionException(errorCode.getErrorCode(), errorCode.getErrorMessage());
+		return targetValues;
+	}
+
+	private static void checkValues(Map<String, ?> values) throws ConversionException {
+		checkValues(values == null ? null : values.keySet());
 	}
 
-	@SuppressWarnings({ "java:S1172" })
-	private String convertFaceIsoToImageType(SourceFormatCode sourceCode, String isoData, TargetFormatCode targetCode,
-			Map<String, String> targetParameters) throws ConversionException {
+	private static void checkValues(Collection<String> keys) throws ConversionException {
 		ConverterErrorCode errorCode = ConverterErrorCode.TECHNICAL_ERROR_EXCEPTION;
+		if (keys == null || keys.isEmpty())
+			throw new ConversionException(errorCode.getErrorCode(), errorCode.getErrorMessage());
+	}
 
-		ConvertRequestDto requestDto = new ConvertRequestDto();
-		requestDto.setModality("Face");
-		requestDto.setVersion(sourceCode.getCode());
+	private TargetFormatCode toTargetCode(SourceFormatCode sourceCode, String targetFormat)
+			throws ConversionException {
+		TargetFormatCode targetCode = TargetFormatCode.fromCode(targetFormat);
+		if (!converterRegistry.supports(sourceCode, targetCode)) {
+			ConverterErrorCode errorCode = ConverterErrorCode.TARGET_FORMAT_EXCEPTION;
+			throw new ConversionException(errorCode.getErrorCode(), errorCode.getErrorMessage());
+		}
+		return targetCode;
+	}
+
+	private static byte[] decodeValue(String isoData) throws ConversionException {
+		ConverterErrorCode errorCode;
+		if (isoData == null || isoData.trim().length() == 0) {
+			errorCode = ConverterErrorCode.SOURCE_CAN_NOT_BE_EMPTY_OR_NULL_EXCEPTION;
+			throw new ConversionException(errorCode.getErrorCode(), errorCode.getErrorMessage());
+		}
 		try {
-			requestDto.setInputBytes(CommonUtil.decodeURLSafeBase64(isoData));
+			return Base64UrlCodec.decode(isoData);
 		} catch (Exception e) {
 			errorCode = ConverterErrorCode.SOURCE_NOT_VALID_BASE64URLENCODED_EXCEPTION;
 			throw new ConversionException(errorCode.getErrorCode(), e.getLocalizedMessage());
 		}
+	}
 
-		FaceBDIR bdir;
-		int inImageDataType = -1;
-		byte[] inImageData = null;
-		try {
-			bdir = FaceDecoder.getFaceBDIR(requestDto);
+	private String convertEncodedValue(SourceFormatCode sourceCode, String value, TargetFormatCode targetCode,
+			ImageParameters imageParameters, Admission admission) throws ConversionException {
+		Recorder recorder = conversionMetrics.recorder(sourceCode, targetCode);
+		byte[] isoData = recorder.record(Stage.DECODE_BASE64, () -> decodeValue(value));
+		byte[] targetData = convertValue(recorder, sourceCode, isoData, targetCode, imageParameters, admission);
+		return recorder.record(Stage.ENCODE_BASE64, () -> Base64UrlCodec.encodeToString(targetData));
+	}
 
-			inImageDataType = bdir.getImageDataType();
-			inImageData = bdir.getImage();
-		} catch (Exception e) {
-			errorCode = ConverterErrorCode.SOURCE_NOT_VALID_FACE_ISO_FORMAT_EXCEPTION;
-			throw new ConversionException(errorCode.getErrorCode(), e.getLocalizedMessage());
+	/**
+	 * Converts a value, or returns it from the cache
+	 *
+	 * @param admission admission of the request, null when the conversion takes
+	 *                  no permit
+	 */
+	private byte[] convertValue(Recorder recorder, SourceFormatCode sourceCode, byte[] isoData,
+			TargetFormatCode targetCode, ImageParameters imageParameters, Admission admission)
+			throws ConversionException {
+		ConverterErrorCode errorCode;
+		if (isoData == null || isoData.length == 0) {
+			errorCode = ConverterErrorCode.SOURCE_CAN_NOT_BE_EMPTY_OR_NULL_EXCEPTION;
+			throw new ConversionException(errorCode.getErrorCode(), errorCode.getErrorMessage());
 		}
 
-		BufferedImage outImage = null;
-		byte[] outImageData = null;
-		if (inImageDataType == ImageDataType.JPEG2000_LOSSY || inImageDataType == ImageDataType.JPEG2000_LOSS_LESS) {
+		byte[] targetData = conversionCache.get(sourceCode, targetCode, imageParameters, isoData, () -> {
+			// a rejected value is not counted as a failed conversion
+			if (admission != null)
+				admission.acquire();
 			try {
-				outImage = ImageIO.read(new ByteArrayInputStream(inImageData));
-				// change here outImage width, height, dpi here based on targetParameters
-			} catch (IOException e) {
-				errorCode = ConverterErrorCode.COULD_NOT_READ_ISO_IMAGE_DATA_EXCEPTION;
-				throw new ConversionException(errorCode.getErrorCode(), e.getLocalizedMessage());
+				byte[] convertedData = convertIsoData(recorder, sourceCode, isoData, targetCode, imageParameters);
+				recorder.success(convertedData.length);
+				return convertedData;
+			} catch (RuntimeException e) {
+				recorder.failure(e instanceof ConversionException conversionException
+						? conversionException.getErrorCode()
+						: ConverterErrorCode.TECHNICAL_ERROR_EXCEPTION.getErrorCode());
+				throw e;
+			} finally {
+				if (admission != null)
+					conversionLimiter.release();
 			}
-			outImageData = convertBufferedImageToBytes(targetCode, outImage);
-		} else {
-			throw new ConversionException(NOT_SUPPORTED_COMPRESSION_TYPE.getErrorCode(),
-					NOT_SUPPORTED_COMPRESSION_TYPE.getErrorMessage());
-		}
-		if (outImageData != null) {
-			return CommonUtil.encodeToURLSafeBase64(outImageData);
+		});
+		recorder.cached();
+		return targetData;
+	}
+
+	private byte[] convertIsoData(Recorder recorder, SourceFormatCode sourceCode, byte[] isoData,
+			TargetFormatCode targetCode, ImageParameters imageParameters) throws ConversionException {
+		recorder.recordInput(isoData.length);
+		return converterRegistry.convert(recorder, sourceCode, isoData, targetCode, imageParameters);
+	}
+
+	/**
+	 * Admission of the values of a request, the permit of a value is held while
+	 * it is decoded and encoded only. Until the request is admitted, one value at
+	 * a time waits for its permit up to the queue timeout and is rejected with
+	 * its request, the values still waiting are then rejected at once. The next
+	 * values of an admitted request wait for their permit as long as it takes so
+	 * that the values already converted are not wasted.
+	 */
+	private final class Admission {
+		private final ReentrantLock lock = new ReentrantLock();
+		private volatile boolean admitted;
+		/**
+		 * Rejection of the request, guarded by the lock
+		 */
+		private ConversionRejectedException rejection;
+
+		void acquire() throws ConversionException {
+			if (!admitted) {
+				lock.lock();
+				try {
+					if (rejection != null)
+						throw new ConversionRejectedException(rejection.getRetryAfter());
+					if (!admitted) {
+						try {
+							conversionLimiter.acquire();
+						} catch (ConversionRejectedException e) {
+							rejection = e;
+							throw e;
+						}
+						admitted = true;
+						return;
+					}
+				} finally {
+					lock.unlock();
+				}
+			}
+			conversionLimiter.acquireAdmitted();
 		}
-		throw new ConversionException(errorCode.getErrorCode(), errorCode.getErrorMessage());
 	}
 
-	@SuppressWarnings({ "java:S1172" })
-	private String convertIrisIsoToImageType(SourceFormatCode sourceCode, String isoData, TargetFormatCode targetCode,
-			Map<String, String> targetParameters)
-			throws ConversionException {
-		ConverterErrorCode errorCode = ConverterErrorCode.TECHNICAL_ERROR_EXCEPTION;
+	private static final class Session implements ConversionSession {
+		private final List<String> keys = new ArrayList<>();
+		private final ConversionExecutor.Batch<byte[], byte[]> batch;
 
-		ConvertRequestDto requestDto = new ConvertRequestDto();
-		requestDto.setModality("Iris");
-		requestDto.setVersion(sourceCode.getCode());
-		try {
-			requestDto.setInputBytes(CommonUtil.decodeURLSafeBase64(isoData));
-		} catch (Exception e) {
-			errorCode = ConverterErrorCode.SOURCE_NOT_VALID_BASE64URLENCODED_EXCEPTION;
-			throw new ConversionException(errorCode.getErrorCode(), e.getLocalizedMessage());
+		private Session(ConversionExecutor.Batch<byte[], byte[]> batch) {
+			this.batch = batch;
 		}
 
-		int inImageFormat = -1;
-		byte[] inImageData = null;
-		IrisBDIR bdir;
-		try {
-			bdir = IrisDecoder.getIrisBDIR(requestDto);
+		@Override
+		public void add(String key, byte[] value) {
+			keys.add(key);
+			batch.add(value);
+		}
 
-			inImageFormat = bdir.getImageFormat();
-			inImageData = bdir.getImage();
-		} catch (Exception e) {
-			errorCode = ConverterErrorCode.SOURCE_NOT_VALID_IRIS_ISO_FORMAT_EXCEPTION;
-			throw new ConversionException(errorCode.getErrorCode(), e.getLocalizedMessage());
+		@Override
+		public void addFailure(String key, ConversionException exception) {
+			keys.add(key);
+			batch.addFailure(exception);
 		}
 
-		BufferedImage outImage = null;
-		byte[] outImageData = null;
-		if (inImageFormat == ImageFormat.MONO_JPEG2000) {
-			try {
-				outImage = ImageIO.read(new ByteArrayInputStream(inImageData));
-				// change here outImage width, height, dpi here based on targetParameters
-			} catch (IOException e) {
-				errorCode = ConverterErrorCode.COULD_NOT_READ_ISO_IMAGE_DATA_EXCEPTION;
-				throw new ConversionException(errorCode.getErrorCode(), e.getLocalizedMessage());
+		@Override
+		public Map<String, byte[]> finish() throws ConversionException {
+			checkValues(keys);
+			List<byte[]> convertedValues = batch.finish();
+
+			Map<String, byte[]> targetValues = new LinkedHashMap<>();
+			for (int index = 0; index < keys.size(); index++) {
+				targetValues.put(keys.get(index), convertedValues.get(index));
 			}
-			outImageData = convertBufferedImageToBytes(targetCode, outImage);
-		} else {
-			throw new ConversionException(NOT_SUPPORTED_COMPRESSION_TYPE.getErrorCode(),
-					NOT_SUPPORTED_COMPRESSION_TYPE.getErrorMessage());
+			return targetValues;
 		}
-		if (outImageData != null) {
-			return CommonUtil.encodeToURLSafeBase64(outImageData);
+
+		@Override
+		public void finish(boolean completionOrder, BiConsumer<String, byte[]> consumer) throws ConversionException {
+			checkValues(keys);
+			batch.forEachCompleted(completionOrder, (value, index) -> consumer.accept(keys.get(index), value));
 		}
-		throw new ConversionException(errorCode.getErrorCode(), errorCode.getErrorMessage());
-	}
 
-	private byte[] convertBufferedImageToBytes(TargetFormatCode targetCode, BufferedImage outImage) {
-		switch (targetCode) {
-		case IMAGE_JPEG:
-			return CommonUtil.convertBufferedImageToJPEGBytes(outImage);
-		case IMAGE_PNG:
-			return CommonUtil.convertBufferedImageToPNGBytes(outImage);
-		default:
-			throw new ConversionException(INVALID_TARGET_EXCEPTION.getErrorCode(),
-					INVALID_TARGET_EXCEPTION.getErrorMessage());
+		@Override
+		public void cancel() {
+			batch.cancel();
 		}
 	}
-}
\ No newline at end of file
+}
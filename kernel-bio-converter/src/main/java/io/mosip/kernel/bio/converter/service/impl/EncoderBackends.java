@@ -0,0 +1,91 @@
+package io.mosip.kernel.bio.converter.service.impl;
+
+import java.awt.image.RenderedImage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Encoders of the converted images, chosen by configuration.
+ *
+ * PNG images are encoded by the {@link PngEncoder} by default, which writes
+ * the same bytes as the ImageIO writer with less work around the deflate. The
+ * ImageIO writer is used when configured, and for the images the direct
+ * encoder does not handle. Both deflate in the zlib of the JDK.
+ *
+ * JPEG images are always encoded by the ImageIO writer, there is no JPEG
+ * backend to choose. Its DCT, color conversion and entropy coding already run
+ * in the native libjpeg of the JDK. No accelerated backend is provided either:
+ * the Vector API is an incubator module in Java 21, and the foreign function
+ * API that a libjpeg-turbo or libdeflate binding would use is a preview API.
+ * A class using it only loads in a JVM started with --enable-preview, which
+ * the service image does not do, and the image ships neither library.
+ *
+ * A scaled image is rendered in strips of the configured height while the PNG
+ * writer reads it, by default as many rows as fit in about a MB.
+ *
+ * @author Janardhan B S
+ * @since 1.2.1
+ */
+@Component
+public class EncoderBackends {
+	/**
+	 * PNG encoder backend
+	 */
+	public enum Backend {
+		/**
+		 * {@link PngEncoder}, falling back to ImageIO for the images it does not
+		 * handle
+		 */
+		DIRECT,
+		/**
+		 * ImageIO writer
+		 */
+		IMAGEIO
+	}
+
+	private final Backend pngBackend;
+	private final int stripHeight;
+
+	public EncoderBackends(@Value("${mosip.kernel.bio.converter.encoder.png.backend:direct}") Backend pngBackend,
+			@Value("${mosip.kernel.bio.converter.encoder.strip.height:0}") int stripHeight) {
+		this.pngBackend = pngBackend;
+		this.stripHeight = Math.max(0, stripHeight);
+	}
+
+	/**
+	 * @return configured PNG encoder backend
+	 */
+	public Backend getPngBackend() {
+		return pngBackend;
+	}
+
+	/**
+	 * @return rows of the strips a scaled image is rendered in while the PNG
+	 *         writer reads it, 0 for strips of about a MB
+	 */
+	public int getStripHeight() {
+		return stripHeight;
+	}
+
+	/**
+	 * @param image   image to encode
+	 * @param dpi     resolution to write, 0 when not known
+	 * @param quality JPEG quality from 1 to 100, 0 for the writer default
+	 */
+	public byte[] toJPEGBytes(RenderedImage image, int dpi, int quality) {
+		return ImageEncoder.toJPEGBytes(image, dpi, quality);
+	}
+
+	/**
+	 * @param image            image to encode
+	 * @param dpi              resolution to write, 0 when not known
+	 * @param compressionLevel deflate level from 0 to 9, -1 for the writer
+	 *                         default
+	 */
+	public byte[] toPNGBytes(RenderedImage image, int dpi, int compressionLevel) {
+		if (pngBackend == Backend.DIRECT && PngEncoder.canEncode(image))
+			return PngEncoder.encode(image, dpi, compressionLevel);
+		return ImageEncoder.toPNGBytes(image, dpi, compressionLevel);
+	}
+}
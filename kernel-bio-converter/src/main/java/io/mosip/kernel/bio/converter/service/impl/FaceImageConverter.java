@@ -0,0 +1,124 @@
+package io.mosip.kernel.bio.converter.service.impl;
+
+import static io.mosip.kernel.bio.converter.constant.ConverterErrorCode.NOT_SUPPORTED_COMPRESSION_TYPE;
+
+import java.awt.Rectangle;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import org.springframework.stereotype.Component;
+
+import io.mosip.biometrics.util.ConvertRequestDto;
+import io.mosip.biometrics.util.face.FaceBDIR;
+import io.mosip.biometrics.util.face.FaceDecoder;
+import io.mosip.biometrics.util.face.FaceQualityBlock;
+import io.mosip.biometrics.util.face.ImageDataType;
+import io.mosip.kernel.bio.converter.constant.ConverterErrorCode;
+import io.mosip.kernel.bio.converter.constant.SourceFormatCode;
+import io.mosip.kernel.bio.converter.constant.TargetFormatCode;
+import io.mosip.kernel.bio.converter.dto.IsoRecordInfoDto;
+import io.mosip.kernel.bio.converter.exception.ConversionException;
+import io.mosip.kernel.bio.converter.service.ConversionRecorder;
+import io.mosip.kernel.bio.converter.service.ConversionRecorder.Compression;
+import io.mosip.kernel.bio.converter.service.ConversionRecorder.Stage;
+import io.mosip.kernel.bio.converter.service.ImageCrop;
+import io.mosip.kernel.bio.converter.service.ImageParameters;
+import io.mosip.kernel.bio.converter.service.impl.MemoryBudget.Reservation;
+
+/**
+ * Face ISO (ISO19794_5_2011) with a JPEG2000 image.
+ *
+ * @author Janardhan B S
+ * @since 1.2.1
+ */
+@Component
+public class FaceImageConverter extends IsoImageConverter {
+	private static final int COLOR_BANDS = 3;
+
+	public FaceImageConverter(MemoryBudget memoryBudget, ConversionExecutor conversionExecutor,
+			EncoderBackends encoderBackends) {
+		super(SourceFormatCode.ISO19794_5_2011, memoryBudget, conversionExecutor, encoderBackends);
+	}
+
+	@Override
+	public byte[] convert(ConversionRecorder recorder, SourceFormatCode sourceCode, byte[] isoData,
+			TargetFormatCode targetCode, ImageParameters imageParameters) throws ConversionException {
+		long start = System.nanoTime();
+		FaceBDIR bdir = getBDIR(sourceCode, isoData);
+		int inImageDataType = bdir.getImageDataType();
+		byte[] inImageData = bdir.getImage();
+		recorder.setCompression(getCompression(inImageDataType));
+		recorder.record(Stage.PARSE_BDIR, System.nanoTime() - start);
+
+		if (inImageDataType != ImageDataType.JPEG2000_LOSSY && inImageDataType != ImageDataType.JPEG2000_LOSS_LESS)
+			throw new ConversionException(NOT_SUPPORTED_COMPRESSION_TYPE.getErrorCode(),
+					NOT_SUPPORTED_COMPRESSION_TYPE.getErrorMessage());
+		Rectangle region = getRegion(bdir, targetCode, imageParameters);
+		Reservation reservation = reserveJPEG2000(inImageData, bdir.getWidth(), bdir.getHeight(), COLOR_BANDS, 0,
+				imageParameters, region);
+		try {
+			DecodedImage outImage = readJPEG2000(recorder, inImageData, false, 0, imageParameters, region);
+			return convertImage(recorder, sourceCode, targetCode, outImage, 0, imageParameters, isoData, inImageData);
+		} finally {
+			reservation.close();
+		}
+	}
+
+	@Override
+	public IsoRecordInfoDto inspect(SourceFormatCode sourceCode, byte[] isoData) throws ConversionException {
+		FaceBDIR bdir = getBDIR(sourceCode, isoData);
+		IsoRecordInfoDto info = new IsoRecordInfoDto();
+		info.setModality("Face");
+		info.setRecordLength(bdir.getRecordLength());
+		info.setRepresentations(bdir.getNoOfRepresentations());
+		info.setCompression(getCompression(bdir.getImageDataType()).getTag());
+		info.setImageLength(bdir.getImageLength());
+		info.setWidth(bdir.getWidth());
+		info.setHeight(bdir.getHeight());
+		info.setQualityScores(bdir.getQualityBlocks() == null ? List.of()
+				: Arrays.stream(bdir.getQualityBlocks()).map(FaceQualityBlock::getQualityScore).toList());
+		return info;
+	}
+
+	private static FaceBDIR getBDIR(SourceFormatCode sourceCode, byte[] isoData) {
+		ConvertRequestDto requestDto = new ConvertRequestDto();
+		requestDto.setModality("Face");
+		requestDto.setVersion(sourceCode.getCode());
+		requestDto.setInputBytes(isoData);
+		try {
+			FaceBDIR bdir = FaceDecoder.getFaceBDIR(requestDto);
+			// a truncated record is returned without its representation
+			Objects.requireNonNull(bdir.getImage(), "No image data");
+			return bdir;
+		} catch (Exception e) {
+			ConverterErrorCode errorCode = ConverterErrorCode.SOURCE_NOT_VALID_FACE_ISO_FORMAT_EXCEPTION;
+			throw new ConversionException(errorCode.getErrorCode(), e.getLocalizedMessage());
+		}
+	}
+
+	/**
+	 * Region of the crop target parameter, null when the whole image is
+	 * converted. Crops are only made for image targets, the landmarks and geometry
+	 * of an ISO record would no longer match its image.
+	 */
+	private static Rectangle getRegion(FaceBDIR bdir, TargetFormatCode targetCode,
+			ImageParameters imageParameters) {
+		ImageCrop crop = imageParameters.getCrop();
+		if (crop == null)
+			return null;
+		if (targetCode != TargetFormatCode.IMAGE_JPEG && targetCode != TargetFormatCode.IMAGE_PNG)
+			throw new ConversionException(ConverterErrorCode.INVALID_REQUEST_EXCEPTION.getErrorCode(),
+					ConverterErrorCode.INVALID_REQUEST_EXCEPTION.getErrorMessage() + " : crop of "
+							+ targetCode.getCode());
+		return crop.getRegion(bdir.getLandmarkPoints());
+	}
+
+	private static Compression getCompression(int imageDataType) {
+		if (imageDataType == ImageDataType.JPEG2000_LOSSY)
+			return Compression.JPEG2000_LOSSY;
+		if (imageDataType == ImageDataType.JPEG2000_LOSS_LESS)
+			return Compression.JPEG2000_LOSSLESS;
+		return Compression.OTHER;
+	}
+}
@@ -0,0 +1,129 @@
+package io.mosip.kernel.bio.converter.service.impl;
+
+import static io.mosip.kernel.bio.converter.constant.ConverterErrorCode.NOT_SUPPORTED_COMPRESSION_TYPE;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import org.springframework.stereotype.Component;
+
+import io.mosip.biometrics.util.ConvertRequestDto;
+import io.mosip.biometrics.util.finger.FingerBDIR;
+import io.mosip.biometrics.util.finger.FingerDecoder;
+import io.mosip.biometrics.util.finger.FingerImageCompressionType;
+import io.mosip.biometrics.util.finger.FingerQualityBlock;
+import io.mosip.kernel.bio.converter.constant.ConverterErrorCode;
+import io.mosip.kernel.bio.converter.constant.SourceFormatCode;
+import io.mosip.kernel.bio.converter.constant.TargetFormatCode;
+import io.mosip.kernel.bio.converter.dto.IsoRecordInfoDto;
+import io.mosip.kernel.bio.converter.exception.ConversionException;
+import io.mosip.kernel.bio.converter.service.ConversionRecorder;
+import io.mosip.kernel.bio.converter.service.ConversionRecorder.Compression;
+import io.mosip.kernel.bio.converter.service.ConversionRecorder.Stage;
+import io.mosip.kernel.bio.converter.service.ImageParameters;
+import io.mosip.kernel.bio.converter.service.impl.MemoryBudget.Reservation;
+
+/**
+ * Finger ISO (ISO19794_4_2011) with a JPEG2000 or WSQ image.
+ *
+ * @author Janardhan B S
+ * @since 1.2.1
+ */
+@Component
+public class FingerImageConverter extends IsoImageConverter {
+	public FingerImageConverter(MemoryBudget memoryBudget, ConversionExecutor conversionExecutor,
+			EncoderBackends encoderBackends) {
+		super(SourceFormatCode.ISO19794_4_2011, memoryBudget, conversionExecutor, encoderBackends);
+	}
+
+	@Override
+	public byte[] convert(ConversionRecorder recorder, SourceFormatCode sourceCode, byte[] isoData,
+			TargetFormatCode targetCode, ImageParameters imageParameters) throws ConversionException {
+		checkNoCrop(sourceCode, imageParameters);
+		long start = System.nanoTime();
+		FingerBDIR bdir = getBDIR(sourceCode, isoData);
+		int inCompressionType = bdir.getCompressionType();
+		int inImageDpi = getImageDpi(bdir);
+		byte[] inImageData = bdir.getImage();
+		recorder.setCompression(getCompression(inCompressionType));
+		recorder.record(Stage.PARSE_BDIR, System.nanoTime() - start);
+
+		boolean wsq = inCompressionType == FingerImageCompressionType.WSQ;
+		if (!wsq && inCompressionType != FingerImageCompressionType.JPEG_2000_LOSSY
+				&& inCompressionType != FingerImageCompressionType.JPEG_2000_LOSS_LESS)
+			throw new ConversionException(NOT_SUPPORTED_COMPRESSION_TYPE.getErrorCode(),
+					NOT_SUPPORTED_COMPRESSION_TYPE.getErrorMessage());
+		int width = bdir.getLineLengthHorizontal();
+		int height = bdir.getLineLengthVertical();
+		Reservation reservation = wsq ? reserve((long) width * height)
+				: reserveJPEG2000(inImageData, width, height, 1, inImageDpi, imageParameters, null);
+		try {
+			DecodedImage outImage = wsq
+					? recorder.record(Stage.DECODE_IMAGE, () -> new DecodedImage(ImageDecoder.readWSQ(inImageData)))
+					: readJPEG2000(recorder, inImageData, true, inImageDpi, imageParameters, null);
+			return convertImage(recorder, sourceCode, targetCode, outImage, inImageDpi, imageParameters, isoData,
+					inImageData);
+		} finally {
+			reservation.close();
+		}
+	}
+
+	@Override
+	public IsoRecordInfoDto inspect(SourceFormatCode sourceCode, byte[] isoData) throws ConversionException {
+		FingerBDIR bdir = getBDIR(sourceCode, isoData);
+		IsoRecordInfoDto info = new IsoRecordInfoDto();
+		info.setModality("Finger");
+		info.setRecordLength(bdir.getRecordLength());
+		info.setRepresentations(bdir.getNoOfRepresentations());
+		info.setCompression(getCompression(bdir.getCompressionType()).getTag());
+		info.setImageLength(bdir.getImageLength());
+		info.setWidth(bdir.getLineLengthHorizontal());
+		info.setHeight(bdir.getLineLengthVertical());
+		info.setDpi(getImageDpi(bdir));
+		info.setPosition(bdir.getFingerPosition());
+		info.setQualityScores(bdir.getQualityBlocks() == null ? List.of()
+				: Arrays.stream(bdir.getQualityBlocks()).map(FingerQualityBlock::getQualityScore).toList());
+		return info;
+	}
+
+	private static FingerBDIR getBDIR(SourceFormatCode sourceCode, byte[] isoData) {
+		ConvertRequestDto requestDto = new ConvertRequestDto();
+		requestDto.setModality("Finger");
+		requestDto.setVersion(sourceCode.getCode());
+		requestDto.setInputBytes(isoData);
+		try {
+			FingerBDIR bdir = FingerDecoder.getFingerBDIR(requestDto);
+			// a truncated record is returned without its representation
+			Objects.requireNonNull(bdir.getImage(), "No image data");
+			return bdir;
+		} catch (Exception e) {
+			ConverterErrorCode errorCode = ConverterErrorCode.SOURCE_NOT_VALID_FINGER_ISO_FORMAT_EXCEPTION;
+			throw new ConversionException(errorCode.getErrorCode(), e.getLocalizedMessage());
+		}
+	}
+
+	private static Compression getCompression(int compressionType) {
+		switch (compressionType) {
+		case FingerImageCompressionType.WSQ:
+			return Compression.WSQ;
+		case FingerImageCompressionType.JPEG_2000_LOSSY:
+			return Compression.JPEG2000_LOSSY;
+		case FingerImageCompressionType.JPEG_2000_LOSS_LESS:
+			return Compression.JPEG2000_LOSSLESS;
+		default:
+			return Compression.OTHER;
+		}
+	}
+
+	/**
+	 * Finger image resolution in pixels per inch, 0 when not known
+	 */
+	private static int getImageDpi(FingerBDIR bdir) {
+		int samplingRate = bdir.getImageSpatialSamplingRateHorizontal();
+		// scale units 2 is pixels per centimeter
+		if (bdir.getScaleUnits() == 2)
+			return (int) Math.round(samplingRate * 2.54);
+		return samplingRate;
+	}
+}
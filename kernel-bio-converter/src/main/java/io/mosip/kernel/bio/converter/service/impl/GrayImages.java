@@ -0,0 +1,69 @@
+package io.mosip.kernel.bio.converter.service.impl;
+
+import java.awt.color.ColorSpace;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.awt.image.PixelInterleavedSampleModel;
+import java.awt.image.WritableRaster;
+
+/**
+ * Single channel handling of the finger and iris images, which are 8 bit
+ * grayscale by their ISO formats.
+ *
+ * The pixels are read and written through the {@link DataBufferByte} arrays of
+ * the rasters, never pixel by pixel through {@code getRGB}/{@code setRGB}.
+ *
+ * @author Janardhan B S
+ * @since 1.2.1
+ */
+final class GrayImages {
+	private static final int RGB_BANDS = 3;
+
+	private GrayImages() {
+		throw new IllegalStateException("GrayImages class");
+	}
+
+	/**
+	 * Returns the image as {@link BufferedImage#TYPE_BYTE_GRAY} when it holds
+	 * gray pixels only. Some encoders write monochrome JPEG2000 codestreams with
+	 * three identical components, which decode to an RGB image of three times the
+	 * size that is then encoded as color.
+	 *
+	 * @param image decoded image
+	 * @return the gray image, or the image itself when it is gray already, has a
+	 *         pixel layout other than 8 bit interleaved RGB or a colored pixel
+	 */
+	static BufferedImage toGray(BufferedImage image) {
+		if (image.getType() == BufferedImage.TYPE_BYTE_GRAY)
+			return image;
+		WritableRaster raster = image.getRaster();
+		if (raster.getNumBands() != RGB_BANDS || image.getColorModel().hasAlpha()
+				|| image.getColorModel().getColorSpace().getType() != ColorSpace.TYPE_RGB
+				|| !(raster.getDataBuffer() instanceof DataBufferByte dataBuffer)
+				|| !(raster.getSampleModel() instanceof PixelInterleavedSampleModel sampleModel))
+			return image;
+
+		int width = image.getWidth();
+		int height = image.getHeight();
+		int pixelStride = sampleModel.getPixelStride();
+		int scanlineStride = sampleModel.getScanlineStride();
+		int[] bandOffsets = sampleModel.getBandOffsets();
+		byte[] data = dataBuffer.getData();
+		int offset = dataBuffer.getOffset() - raster.getSampleModelTranslateY() * scanlineStride
+				- raster.getSampleModelTranslateX() * pixelStride;
+
+		BufferedImage grayImage = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_GRAY);
+		byte[] grayData = ((DataBufferByte) grayImage.getRaster().getDataBuffer()).getData();
+		int index = 0;
+		for (int y = 0; y < height; y++) {
+			int pixel = offset + y * scanlineStride;
+			for (int x = 0; x < width; x++, pixel += pixelStride) {
+				byte red = data[pixel + bandOffsets[0]];
+				if (red != data[pixel + bandOffsets[1]] || red != data[pixel + bandOffsets[2]])
+					return image;
+				grayData[index++] = red;
+			}
+		}
+		return grayImage;
+	}
+}
@@ -0,0 +1,127 @@
+package io.mosip.kernel.bio.converter.service.impl;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriter;
+import javax.imageio.spi.ImageReaderSpi;
+import javax.imageio.spi.ImageWriterSpi;
+
+import io.mosip.kernel.bio.converter.constant.ConverterErrorCode;
+import io.mosip.kernel.bio.converter.exception.ConversionException;
+
+/**
+ * ImageIO readers and writers by format name.
+ *
+ * The service provider of a format is looked up in the IIORegistry once, then
+ * readers and writers are created from it. Writers are kept idle between uses,
+ * up to {@link #MAX_IDLE} per format. A borrowed writer is confined to the
+ * thread that borrowed it until it is released, release resets it for the next
+ * use. A writer whose use failed must be disposed of instead of released.
+ *
+ * Readers are not pooled, a new one is created for every image. The JPEG2000
+ * reader can not be reset (its reset fails on the null input and forces a full
+ * GC) and keeps the header of the previous image without it.
+ *
+ * @author Janardhan B S
+ * @since 1.2.1
+ */
+final class ImageCodecPool {
+	/**
+	 * Idle writers kept per format
+	 */
+	static final int MAX_IDLE = Runtime.getRuntime().availableProcessors() * 2;
+
+	private static final ConcurrentMap<String, ImageReaderSpi> READERS = new ConcurrentHashMap<>();
+	private static final ConcurrentMap<String, Pool<ImageWriter>> WRITERS = new ConcurrentHashMap<>();
+
+	private ImageCodecPool() {
+		throw new IllegalStateException("ImageCodecPool class");
+	}
+
+	static ImageReader newReader(String format) {
+		ImageReaderSpi provider = READERS.computeIfAbsent(format, ImageCodecPool::findReaderProvider);
+		try {
+			return provider.createReaderInstance();
+		} catch (IOException e) {
+			throw new ConversionException(ConverterErrorCode.TECHNICAL_ERROR_EXCEPTION.getErrorCode(),
+					e.getLocalizedMessage(), e);
+		}
+	}
+
+	static ImageWriter borrowWriter(String format) {
+		return WRITERS.computeIfAbsent(format, ImageCodecPool::newWriterPool).borrow();
+	}
+
+	static void releaseWriter(String format, ImageWriter writer) {
+		WRITERS.get(format).release(writer);
+	}
+
+	private static ImageReaderSpi findReaderProvider(String format) {
+		Iterator<ImageReader> readers = ImageIO.getImageReadersByFormatName(format);
+		if (!readers.hasNext())
+			throw notFound("reader", format);
+		return readers.next().getOriginatingProvider();
+	}
+
+	private static Pool<ImageWriter> newWriterPool(String format) {
+		Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(format);
+		if (!writers.hasNext())
+			throw notFound("writer", format);
+		ImageWriterSpi provider = writers.next().getOriginatingProvider();
+		return new Pool<>(() -> {
+			try {
+				return provider.createWriterInstance();
+			} catch (IOException e) {
+				throw new ConversionException(ConverterErrorCode.TECHNICAL_ERROR_EXCEPTION.getErrorCode(),
+						e.getLocalizedMessage(), e);
+			}
+		}, ImageWriter::reset, ImageWriter::dispose);
+	}
+
+	private static ConversionException notFound(String type, String format) {
+		return new ConversionException(ConverterErrorCode.TECHNICAL_ERROR_EXCEPTION.getErrorCode(),
+				"No image " + type + " found for " + format);
+	}
+
+	private static final class Pool<T> {
+		private final Queue<T> idle = new ConcurrentLinkedQueue<>();
+		private final AtomicInteger idleCount = new AtomicInteger();
+		private final Supplier<T> factory;
+		private final Consumer<T> reset;
+		private final Consumer<T> dispose;
+
+		private Pool(Supplier<T> factory, Consumer<T> reset, Consumer<T> dispose) {
+			this.factory = factory;
+			this.reset = reset;
+			this.dispose = dispose;
+		}
+
+		private T borrow() {
+			T instance = idle.poll();
+			if (instance == null)
+				return factory.get();
+			idleCount.decrementAndGet();
+			return instance;
+		}
+
+		private void release(T instance) {
+			reset.accept(instance);
+			if (idleCount.incrementAndGet() <= MAX_IDLE) {
+				idle.offer(instance);
+			} else {
+				idleCount.decrementAndGet();
+				dispose.accept(instance);
+			}
+		}
+	}
+}
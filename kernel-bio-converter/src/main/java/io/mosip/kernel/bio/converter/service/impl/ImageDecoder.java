@@ -0,0 +1,211 @@
+package io.mosip.kernel.bio.converter.service.impl;
+
+import java.awt.Rectangle;
+import java.awt.Transparency;
+import java.awt.color.ColorSpace;
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.ComponentColorModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.Raster;
+import java.awt.image.WritableRaster;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import org.jnbis.api.model.Bitmap;
+import org.jnbis.internal.WsqDecoder;
+
+import com.github.jaiimageio.jpeg2000.J2KImageReadParam;
+
+import io.mosip.kernel.bio.converter.constant.ConverterErrorCode;
+import io.mosip.kernel.bio.converter.exception.ConversionException;
+
+/**
+ * Decodes the JPEG2000 and WSQ images of the ISO records.
+ *
+ * A JPEG2000 image is read by a reader created from the provider found once by
+ * the {@link ImageCodecPool}, through a {@link ByteArrayImageInputStream} over
+ * the image array. ImageIO.read would look up the stream and reader providers
+ * on every call and may cache the stream in a temporary file.
+ *
+ * The image can be decoded at a lower resolution level of the codestream, for
+ * a smaller target, and restricted to a region, for a crop. The region of a
+ * tiled image is split in bands of rows of tiles, decoded by idle workers of
+ * the {@link ConversionExecutor} while the calling thread decodes the first
+ * band.
+ *
+ * WSQ images are decoded by jnbis into an 8 bit gray bitmap, whose pixels
+ * become the data buffer of the image without being copied.
+ *
+ * @author Janardhan B S
+ * @since 1.2.1
+ */
+final class ImageDecoder {
+	static final int FULL_RESOLUTION = -1;
+	private static final String JPEG2000_FORMAT = "jpeg2000";
+	/**
+	 * The jnbis decoder has no fields, the decoding state lives in the call
+	 */
+	private static final WsqDecoder WSQ_DECODER = new WsqDecoder();
+	private static final ComponentColorModel GRAY_COLOR_MODEL = new ComponentColorModel(
+			ColorSpace.getInstance(ColorSpace.CS_GRAY), false, false, Transparency.OPAQUE, DataBuffer.TYPE_BYTE);
+
+	private ImageDecoder() {
+		throw new IllegalStateException("ImageDecoder class");
+	}
+
+	static BufferedImage readJPEG2000(byte[] imageData) throws IOException {
+		return readJPEG2000(imageData, FULL_RESOLUTION);
+	}
+
+	/**
+	 * Decodes a JPEG2000 image at a resolution level
+	 *
+	 * @param imageData  JPEG2000 image
+	 * @param resolution resolution level from 0, the lowest, up to the number of
+	 *                   decomposition levels, or {@value #FULL_RESOLUTION} for the
+	 *                   full image
+	 * @return decoded image
+	 */
+	static BufferedImage readJPEG2000(byte[] imageData, int resolution) throws IOException {
+		return readJPEG2000(imageData, resolution, null);
+	}
+
+	/**
+	 * Decodes a region of a JPEG2000 image at a resolution level
+	 *
+	 * @param imageData    JPEG2000 image
+	 * @param resolution   resolution level, or {@value #FULL_RESOLUTION}
+	 * @param sourceRegion region to decode in pixels of the resolution level,
+	 *                     inside the image, null for the whole image
+	 * @return decoded image
+	 */
+	static BufferedImage readJPEG2000(byte[] imageData, int resolution, Rectangle sourceRegion)
+			throws IOException {
+		ImageReader reader = ImageCodecPool.newReader(JPEG2000_FORMAT);
+		try (ImageInputStream imageInputStream = new ByteArrayImageInputStream(imageData)) {
+			reader.setInput(imageInputStream, true, true);
+			ImageReadParam readParam = reader.getDefaultReadParam();
+			if (resolution != FULL_RESOLUTION && readParam instanceof J2KImageReadParam j2kReadParam)
+				j2kReadParam.setResolution(resolution);
+			if (sourceRegion != null)
+				readParam.setSourceRegion(sourceRegion);
+			return reader.read(0, readParam);
+		} finally {
+			reader.dispose();
+		}
+	}
+
+	/**
+	 * Decodes a region of a tiled JPEG2000 image in bands of rows of tiles,
+	 * decoded at the same time by their own reader. The bands after the first
+	 * are handed to idle workers of the executor, the calling thread decodes the
+	 * first band and the bands no worker picked up. The region is decoded in one
+	 * go when no worker is idle or it covers a single row of tiles.
+	 *
+	 * @param imageData      JPEG2000 image
+	 * @param resolution     resolution level, or {@value #FULL_RESOLUTION}
+	 * @param sourceRegion   region to decode in pixels of the resolution level,
+	 *                       inside the image
+	 * @param tileRowStarts  rows where a row of tiles starts at the resolution
+	 *                       level, in increasing order
+	 * @param executor       decodes the bands, null to decode on the calling
+	 *                       thread
+	 * @param maxParallelism maximum number of bands decoded at the same time
+	 * @return decoded image, the same as decoded in one go
+	 */
+	static BufferedImage readJPEG2000(byte[] imageData, int resolution, Rectangle sourceRegion, int[] tileRowStarts,
+			ConversionExecutor executor, int maxParallelism) throws IOException {
+		List<Rectangle> bands = getBands(sourceRegion, tileRowStarts, maxParallelism);
+		if (executor == null || bands.size() <= 1)
+			return readJPEG2000(imageData, resolution, sourceRegion);
+
+		List<FutureTask<BufferedImage>> tasks = new ArrayList<>(bands.size() - 1);
+		try {
+			for (Rectangle band : bands.subList(1, bands.size())) {
+				FutureTask<BufferedImage> task = new FutureTask<>(() -> readJPEG2000(imageData, resolution, band));
+				// decoded in one go rather than band by band on this thread
+				if (!executor.tryExecute(task) && tasks.isEmpty())
+					return readJPEG2000(imageData, resolution, sourceRegion);
+				tasks.add(task);
+			}
+			BufferedImage first = readJPEG2000(imageData, resolution, bands.get(0));
+			ColorModel colorModel = first.getColorModel();
+			WritableRaster raster = colorModel.createCompatibleWritableRaster(sourceRegion.width,
+					sourceRegion.height);
+			raster.setRect(first.getRaster());
+			for (int index = 0; index < tasks.size(); index++)
+				raster.setRect(0, bands.get(index + 1).y - sourceRegion.y, await(tasks.get(index)).getRaster());
+			return new BufferedImage(colorModel, raster, colorModel.isAlphaPremultiplied(), null);
+		} finally {
+			// bands not started when a band failed
+			for (FutureTask<BufferedImage> task : tasks)
+				task.cancel(false);
+		}
+	}
+
+	/**
+	 * Splits the region at the tile rows into at most maxParallelism bands of
+	 * about the same number of tile rows
+	 */
+	private static List<Rectangle> getBands(Rectangle region, int[] tileRowStarts, int maxParallelism) {
+		List<Integer> cuts = new ArrayList<>();
+		for (int start : tileRowStarts) {
+			if (start > region.y && start < region.y + region.height)
+				cuts.add(start);
+		}
+		int count = Math.min(Math.max(1, maxParallelism), cuts.size() + 1);
+		List<Rectangle> bands = new ArrayList<>(count);
+		int top = region.y;
+		for (int band = 1; band <= count; band++) {
+			int bottom = band == count ? region.y + region.height : cuts.get(band * (cuts.size() + 1) / count - 1);
+			bands.add(new Rectangle(region.x, top, region.width, bottom - top));
+			top = bottom;
+		}
+		return bands;
+	}
+
+	/**
+	 * Waits for a band, decoded here when no worker started it yet
+	 */
+	private static BufferedImage await(FutureTask<BufferedImage> task) throws IOException {
+		task.run();
+		try {
+			return task.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ConversionException(ConverterErrorCode.TECHNICAL_ERROR_EXCEPTION.getErrorCode(),
+					e.getLocalizedMessage(), e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof IOException cause)
+				throw cause;
+			if (e.getCause() instanceof RuntimeException cause)
+				throw cause;
+			throw new ConversionException(ConverterErrorCode.TECHNICAL_ERROR_EXCEPTION.getErrorCode(),
+					e.getCause().getLocalizedMessage(), e.getCause());
+		}
+	}
+
+	/**
+	 * Decodes a WSQ image
+	 *
+	 * @return {@link BufferedImage#TYPE_BYTE_GRAY} image backed by the decoded
+	 *         pixels
+	 */
+	static BufferedImage readWSQ(byte[] imageData) {
+		Bitmap bitmap = WSQ_DECODER.decode(imageData);
+		int width = bitmap.getWidth();
+		WritableRaster raster = Raster.createInterleavedRaster(
+				new DataBufferByte(bitmap.getPixels(), width * bitmap.getHeight()), width, bitmap.getHeight(), width,
+				1, new int[] { 0 }, null);
+		return new BufferedImage(GRAY_COLOR_MODEL, raster, false, null);
+	}
+}
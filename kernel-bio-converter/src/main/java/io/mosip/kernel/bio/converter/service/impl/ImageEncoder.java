@@ -0,0 +1,122 @@
+package io.mosip.kernel.bio.converter.service.impl;
+
+import java.awt.image.RenderedImage;
+import java.io.IOException;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import io.mosip.kernel.bio.converter.constant.ConverterErrorCode;
+import io.mosip.kernel.bio.converter.exception.ConversionException;
+
+/**
+ * Encodes decoded images to JPEG or PNG, writing the image resolution into
+ * the JFIF (JPEG) or pHYs (PNG) metadata when it is known.
+ *
+ * Writers are borrowed from the {@link ImageCodecPool} and write to a memory
+ * cached stream over a {@link PooledOutputStream}. The JPEG quality and the PNG compression level are set
+ * explicitly when requested, otherwise the writer defaults are kept. The PNG
+ * writer reads the image row by row, a {@link StripedImage} is then encoded
+ * strip by strip.
+ *
+ * @author Janardhan B S
+ * @since 1.2.1
+ */
+final class ImageEncoder {
+	private static final String JPEG_FORMAT = "jpeg";
+	private static final String PNG_FORMAT = "png";
+	private static final String JPEG_METADATA_FORMAT = "javax_imageio_jpeg_image_1.0";
+	private static final String PNG_METADATA_FORMAT = "javax_imageio_png_1.0";
+	private static final double METERS_PER_INCH = 0.0254;
+	private static final int MAX_JPEG_QUALITY = 100;
+	private static final int MAX_PNG_COMPRESSION_LEVEL = 9;
+
+	private ImageEncoder() {
+		throw new IllegalStateException("ImageEncoder class");
+	}
+
+	/**
+	 * @param image   image to encode
+	 * @param dpi     resolution to write, 0 when not known
+	 * @param quality JPEG quality from 1 to 100, 0 for the writer default
+	 */
+	static byte[] toJPEGBytes(RenderedImage image, int dpi, int quality) {
+		return encode(image, JPEG_FORMAT, dpi, quality > 0 ? (float) quality / MAX_JPEG_QUALITY : -1f);
+	}
+
+	/**
+	 * @param image            image to encode
+	 * @param dpi              resolution to write, 0 when not known
+	 * @param compressionLevel deflate level from 0 to 9, -1 for the writer
+	 *                         default
+	 */
+	static byte[] toPNGBytes(RenderedImage image, int dpi, int compressionLevel) {
+		// the PNG writer maps a compression quality q to the deflate level 9 - round(9 * q)
+		return encode(image, PNG_FORMAT, dpi,
+				compressionLevel >= 0 ? 1f - (float) compressionLevel / MAX_PNG_COMPRESSION_LEVEL : -1f);
+	}
+
+	private static byte[] encode(RenderedImage image, String format, int dpi, float compressionQuality) {
+		ImageWriter writer = ImageCodecPool.borrowWriter(format);
+		boolean released = false;
+		try (PooledOutputStream outputStream = new PooledOutputStream();
+				ImageOutputStream imageOutputStream = new MemoryCacheImageOutputStream(outputStream)) {
+			ImageWriteParam writeParam = writer.getDefaultWriteParam();
+			if (compressionQuality >= 0 && writeParam.canWriteCompressed()) {
+				writeParam.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+				writeParam.setCompressionQuality(compressionQuality);
+			}
+			IIOMetadata metadata = null;
+			if (dpi > 0) {
+				metadata = writer.getDefaultImageMetadata(new ImageTypeSpecifier(image), writeParam);
+				setResolution(metadata, format, dpi);
+			}
+			writer.setOutput(imageOutputStream);
+			writer.write(null, new IIOImage(image, null, metadata), writeParam);
+			imageOutputStream.flush();
+			ImageCodecPool.releaseWriter(format, writer);
+			released = true;
+			return outputStream.toByteArray();
+		} catch (IOException e) {
+			throw new ConversionException(ConverterErrorCode.TECHNICAL_ERROR_EXCEPTION.getErrorCode(),
+					e.getLocalizedMessage(), e);
+		} finally {
+			// a writer that failed is not reused
+			if (!released)
+				writer.dispose();
+		}
+	}
+
+	private static void setResolution(IIOMetadata metadata, String format, int dpi) throws IOException {
+		if (JPEG_FORMAT.equals(format)) {
+			Element tree = (Element) metadata.getAsTree(JPEG_METADATA_FORMAT);
+			NodeList jfif = tree.getElementsByTagName("app0JFIF");
+			if (jfif.getLength() == 0)
+				return;
+			Element app0JFIF = (Element) jfif.item(0);
+			// resUnits 1 is dots per inch
+			app0JFIF.setAttribute("resUnits", "1");
+			app0JFIF.setAttribute("Xdensity", Integer.toString(dpi));
+			app0JFIF.setAttribute("Ydensity", Integer.toString(dpi));
+			metadata.setFromTree(JPEG_METADATA_FORMAT, tree);
+		} else {
+			String pixelsPerMeter = Integer.toString((int) Math.round(dpi / METERS_PER_INCH));
+			IIOMetadataNode pHYs = new IIOMetadataNode("pHYs");
+			pHYs.setAttribute("pixelsPerUnitXAxis", pixelsPerMeter);
+			pHYs.setAttribute("pixelsPerUnitYAxis", pixelsPerMeter);
+			pHYs.setAttribute("unitSpecifier", "meter");
+			IIOMetadataNode root = new IIOMetadataNode(PNG_METADATA_FORMAT);
+			root.appendChild(pHYs);
+			metadata.mergeTree(PNG_METADATA_FORMAT, root);
+		}
+	}
+}
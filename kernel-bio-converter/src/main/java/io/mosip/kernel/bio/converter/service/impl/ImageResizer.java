@@ -0,0 +1,135 @@
+package io.mosip.kernel.bio.converter.service.impl;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+
+import org.imgscalr.Scalr;
+
+/**
+ * Resamples decoded images between decode and encode.
+ *
+ * @author Janardhan B S
+ * @since 1.2.1
+ */
+final class ImageResizer {
+	/**
+	 * Target lengths up to which {@link Scalr.Method#AUTOMATIC} picks the
+	 * {@link Scalr.Method#QUALITY} and {@link Scalr.Method#BALANCED} methods, as
+	 * imgscalr does
+	 */
+	private static final int QUALITY_MAX_LENGTH = 800;
+	private static final int BALANCED_MAX_LENGTH = 1600;
+	/**
+	 * Reduction per step of {@link Scalr.Method#ULTRA_QUALITY}, a seventh of the
+	 * size as imgscalr does
+	 */
+	private static final int ULTRA_QUALITY_STEP_DIVISOR = 7;
+	private static final int QUALITY_STEP_DIVISOR = 2;
+
+	private ImageResizer() {
+		throw new IllegalStateException("ImageResizer class");
+	}
+
+	/**
+	 * Scales the image down by the given factor
+	 *
+	 * @param image  decoded image
+	 * @param scale  scale factor, less than 1
+	 * @param method imgscalr resampling method
+	 * @return scaled image, grayscale images stay grayscale
+	 */
+	static BufferedImage resize(BufferedImage image, double scale, Scalr.Method method) {
+		int width = Math.max(1, (int) Math.round(image.getWidth() * scale));
+		int height = Math.max(1, (int) Math.round(image.getHeight() * scale));
+		return resize(image, width, height, method);
+	}
+
+	/**
+	 * Scales the image down to the given size
+	 *
+	 * @param image  decoded image
+	 * @param width  scaled image width
+	 * @param height scaled image height
+	 * @param method imgscalr resampling method
+	 * @return scaled image, grayscale images stay grayscale
+	 */
+	static BufferedImage resize(BufferedImage image, int width, int height, Scalr.Method method) {
+		return resizeStriped(image, width, height, method, 0, null).toBufferedImage();
+	}
+
+	/**
+	 * Scales the image down to the given size, the last step is rendered strip
+	 * by strip as the scaled image is read. The steps before it are smaller than
+	 * the decoded image but are scaled in full. Java2D steps the interpolation
+	 * from the origin of every strip, a pixel of the first row of a strip can be
+	 * one level off the image scaled at once.
+	 *
+	 * Color images are scaled the way imgscalr does, into RGB images: nearest
+	 * neighbour for {@link Scalr.Method#SPEED}, a single bilinear step for
+	 * {@link Scalr.Method#BALANCED} and bicubic steps down to the size for the
+	 * quality methods. Grayscale images are scaled into grayscale images only,
+	 * imgscalr renders them into an RGB image, four bytes a pixel for every step,
+	 * that finger and iris images do not need. Their quality methods take
+	 * bilinear steps.
+	 *
+	 * @param image    decoded image
+	 * @param width    scaled image width
+	 * @param height   scaled image height
+	 * @param method      imgscalr resampling method
+	 * @param stripHeight rows of a strip, 0 for strips of about a MB
+	 * @param executor    renders the strips ahead of the reader, may be null
+	 * @return scaled image
+	 */
+	static StripedImage resizeStriped(BufferedImage image, int width, int height, Scalr.Method method,
+			int stripHeight, ConversionExecutor executor) {
+		boolean gray = image.getType() == BufferedImage.TYPE_BYTE_GRAY;
+		int imageType = gray ? BufferedImage.TYPE_BYTE_GRAY
+				: image.getTransparency() == Transparency.OPAQUE ? BufferedImage.TYPE_INT_RGB
+						: BufferedImage.TYPE_INT_ARGB;
+		if (method == Scalr.Method.AUTOMATIC) {
+			// imgscalr picks the method from the target length along the longer side
+			int length = gray ? Math.max(width, height) : image.getHeight() <= image.getWidth() ? width : height;
+			method = length <= QUALITY_MAX_LENGTH ? Scalr.Method.QUALITY
+					: length <= BALANCED_MAX_LENGTH ? Scalr.Method.BALANCED : Scalr.Method.SPEED;
+		}
+		Object interpolation = method == Scalr.Method.SPEED ? RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR
+				: method == Scalr.Method.BALANCED || gray ? RenderingHints.VALUE_INTERPOLATION_BILINEAR
+						: RenderingHints.VALUE_INTERPOLATION_BICUBIC;
+		int divisor = method == Scalr.Method.ULTRA_QUALITY ? ULTRA_QUALITY_STEP_DIVISOR
+				: method == Scalr.Method.QUALITY ? QUALITY_STEP_DIVISOR : 1;
+
+		BufferedImage scaledImage = image;
+		int stepWidth = step(image.getWidth(), width, divisor);
+		int stepHeight = step(image.getHeight(), height, divisor);
+		while (stepWidth != width || stepHeight != height) {
+			BufferedImage stepImage = new BufferedImage(stepWidth, stepHeight, imageType);
+			Graphics2D graphics = stepImage.createGraphics();
+			try {
+				draw(graphics, scaledImage, stepWidth, stepHeight, interpolation);
+			} finally {
+				graphics.dispose();
+			}
+			if (scaledImage != image)
+				scaledImage.flush();
+			scaledImage = stepImage;
+			stepWidth = step(stepWidth, width, divisor);
+			stepHeight = step(stepHeight, height, divisor);
+		}
+		BufferedImage lastImage = scaledImage;
+		return new StripedImage(width, height, imageType, stripHeight,
+				graphics -> draw(graphics, lastImage, width, height, interpolation), executor);
+	}
+
+	private static void draw(Graphics2D graphics, BufferedImage image, int width, int height, Object interpolation) {
+		graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, interpolation);
+		graphics.drawImage(image, 0, 0, width, height, null);
+	}
+
+	private static int step(int length, int targetLength, int divisor) {
+		if (divisor == 1 || length <= targetLength)
+			return targetLength;
+		return Math.max(targetLength, Math.min(length - 1, length - length / divisor));
+	}
+}
@@ -0,0 +1,100 @@
+package io.mosip.kernel.bio.converter.service.impl;
+
+import static io.mosip.kernel.bio.converter.constant.ConverterErrorCode.NOT_SUPPORTED_COMPRESSION_TYPE;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import org.springframework.stereotype.Component;
+
+import io.mosip.biometrics.util.ConvertRequestDto;
+import io.mosip.biometrics.util.iris.ImageFormat;
+import io.mosip.biometrics.util.iris.IrisBDIR;
+import io.mosip.biometrics.util.iris.IrisDecoder;
+import io.mosip.biometrics.util.iris.IrisQualityBlock;
+import io.mosip.kernel.bio.converter.constant.ConverterErrorCode;
+import io.mosip.kernel.bio.converter.constant.SourceFormatCode;
+import io.mosip.kernel.bio.converter.constant.TargetFormatCode;
+import io.mosip.kernel.bio.converter.dto.IsoRecordInfoDto;
+import io.mosip.kernel.bio.converter.exception.ConversionException;
+import io.mosip.kernel.bio.converter.service.ConversionRecorder;
+import io.mosip.kernel.bio.converter.service.ConversionRecorder.Compression;
+import io.mosip.kernel.bio.converter.service.ConversionRecorder.Stage;
+import io.mosip.kernel.bio.converter.service.ImageParameters;
+import io.mosip.kernel.bio.converter.service.impl.MemoryBudget.Reservation;
+
+/**
+ * Iris ISO (ISO19794_6_2011) with a monochrome JPEG2000 image.
+ *
+ * @author Janardhan B S
+ * @since 1.2.1
+ */
+@Component
+public class IrisImageConverter extends IsoImageConverter {
+	public IrisImageConverter(MemoryBudget memoryBudget, ConversionExecutor conversionExecutor,
+			EncoderBackends encoderBackends) {
+		super(SourceFormatCode.ISO19794_6_2011, memoryBudget, conversionExecutor, encoderBackends);
+	}
+
+	@Override
+	public byte[] convert(ConversionRecorder recorder, SourceFormatCode sourceCode, byte[] isoData,
+			TargetFormatCode targetCode, ImageParameters imageParameters) throws ConversionException {
+		checkNoCrop(sourceCode, imageParameters);
+		long start = System.nanoTime();
+		IrisBDIR bdir = getBDIR(sourceCode, isoData);
+		int inImageFormat = bdir.getImageFormat();
+		byte[] inImageData = bdir.getImage();
+		recorder.setCompression(getCompression(inImageFormat));
+		recorder.record(Stage.PARSE_BDIR, System.nanoTime() - start);
+
+		if (inImageFormat != ImageFormat.MONO_JPEG2000)
+			throw new ConversionException(NOT_SUPPORTED_COMPRESSION_TYPE.getErrorCode(),
+					NOT_SUPPORTED_COMPRESSION_TYPE.getErrorMessage());
+		Reservation reservation = reserveJPEG2000(inImageData, bdir.getWidth(), bdir.getHeight(), 1, 0,
+				imageParameters, null);
+		try {
+			DecodedImage outImage = readJPEG2000(recorder, inImageData, true, 0, imageParameters, null);
+			return convertImage(recorder, sourceCode, targetCode, outImage, 0, imageParameters, isoData, inImageData);
+		} finally {
+			reservation.close();
+		}
+	}
+
+	@Override
+	public IsoRecordInfoDto inspect(SourceFormatCode sourceCode, byte[] isoData) throws ConversionException {
+		IrisBDIR bdir = getBDIR(sourceCode, isoData);
+		IsoRecordInfoDto info = new IsoRecordInfoDto();
+		info.setModality("Iris");
+		info.setRecordLength(bdir.getRecordLength());
+		info.setRepresentations(bdir.getNoOfRepresentations());
+		info.setCompression(getCompression(bdir.getImageFormat()).getTag());
+		info.setImageLength(bdir.getImageLength());
+		info.setWidth(bdir.getWidth());
+		info.setHeight(bdir.getHeight());
+		info.setPosition(bdir.getEyeLabel());
+		info.setQualityScores(bdir.getQualityBlocks() == null ? List.of()
+				: Arrays.stream(bdir.getQualityBlocks()).map(IrisQualityBlock::getQualityScore).toList());
+		return info;
+	}
+
+	private static IrisBDIR getBDIR(SourceFormatCode sourceCode, byte[] isoData) {
+		ConvertRequestDto requestDto = new ConvertRequestDto();
+		requestDto.setModality("Iris");
+		requestDto.setVersion(sourceCode.getCode());
+		requestDto.setInputBytes(isoData);
+		try {
+			IrisBDIR bdir = IrisDecoder.getIrisBDIR(requestDto);
+			// a truncated record is returned without its representation
+			Objects.requireNonNull(bdir.getImage(), "No image data");
+			return bdir;
+		} catch (Exception e) {
+			ConverterErrorCode errorCode = ConverterErrorCode.SOURCE_NOT_VALID_IRIS_ISO_FORMAT_EXCEPTION;
+			throw new ConversionException(errorCode.getErrorCode(), e.getLocalizedMessage());
+		}
+	}
+
+	private static Compression getCompression(int imageFormat) {
+		return imageFormat == ImageFormat.MONO_JPEG2000 ? Compression.JPEG2000 : Compression.OTHER;
+	}
+}
@@ -0,0 +1,296 @@
+package io.mosip.kernel.bio.converter.service.impl;
+
+import static io.mosip.kernel.bio.converter.constant.ConverterErrorCode.INVALID_TARGET_EXCEPTION;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.RenderedImage;
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.Set;
+
+import io.mosip.biometrics.util.face.ImageDataType;
+import io.mosip.biometrics.util.finger.FingerImageCompressionType;
+import io.mosip.biometrics.util.iris.ImageFormat;
+import io.mosip.kernel.bio.converter.constant.ConverterErrorCode;
+import io.mosip.kernel.bio.converter.constant.SourceFormatCode;
+import io.mosip.kernel.bio.converter.constant.TargetFormatCode;
+import io.mosip.kernel.bio.converter.exception.ConversionException;
+import io.mosip.kernel.bio.converter.exception.ConversionRejectedException;
+import io.mosip.kernel.bio.converter.service.ConversionRecorder;
+import io.mosip.kernel.bio.converter.service.ConversionRecorder.Stage;
+import io.mosip.kernel.bio.converter.service.ConverterPlugin;
+import io.mosip.kernel.bio.converter.service.ImageParameters;
+import io.mosip.kernel.bio.converter.service.impl.MemoryBudget.Reservation;
+
+/**
+ * Built in converter of one ISO format: the image of the record is decoded to
+ * a {@link BufferedImage}, resized when asked and encoded to the target
+ * format, written back into the record for ISO targets.
+ *
+ * The memory of a conversion is reserved from the {@link MemoryBudget} before
+ * its image is decoded, from the size the image is decoded at. A scaled image
+ * is rendered in strips while the PNG writer reads it, the next strip on an
+ * idle worker of the {@link ConversionExecutor}. The rows of tiles of a tiled
+ * JPEG2000 image are decoded on idle workers too. Images are encoded by the
+ * configured {@link EncoderBackends}.
+ *
+ * @author Janardhan B S
+ * @since 1.2.1
+ */
+abstract class IsoImageConverter implements ConverterPlugin {
+	/**
+	 * Memory used per decoded image sample: the 32 bit working buffers of the
+	 * decoder (wavelet coefficients or WSQ floats), the decoded image and its
+	 * resized copy
+	 */
+	static final int WORKING_BYTES_PER_SAMPLE = 8;
+	private static final Set<TargetFormatCode> PNG_TARGETS = EnumSet.of(TargetFormatCode.IMAGE_PNG,
+			TargetFormatCode.ISO19794_4_2011_PNG, TargetFormatCode.ISO19794_5_2011_PNG,
+			TargetFormatCode.ISO19794_6_2011_PNG);
+
+	private final SourceFormatCode sourceFormat;
+	private final Set<TargetFormatCode> targetFormats;
+	private final MemoryBudget memoryBudget;
+	private final ConversionExecutor conversionExecutor;
+	private final EncoderBackends encoderBackends;
+
+	IsoImageConverter(SourceFormatCode sourceFormat, MemoryBudget memoryBudget,
+			ConversionExecutor conversionExecutor, EncoderBackends encoderBackends) {
+		this.sourceFormat = sourceFormat;
+		this.memoryBudget = memoryBudget;
+		this.conversionExecutor = conversionExecutor;
+		this.encoderBackends = encoderBackends;
+		this.targetFormats = EnumSet.noneOf(TargetFormatCode.class);
+		for (TargetFormatCode targetCode : TargetFormatCode.values()) {
+			if (targetCode.isSupportedFor(sourceFormat))
+				targetFormats.add(targetCode);
+		}
+	}
+
+	@Override
+	public Set<SourceFormatCode> getSourceFormats() {
+		return EnumSet.of(sourceFormat);
+	}
+
+	@Override
+	public Set<TargetFormatCode> getTargetFormats() {
+		return EnumSet.copyOf(targetFormats);
+	}
+
+	/**
+	 * Rejects the crop target parameter of the records whose image is not a
+	 * face, crops are only made of face images
+	 */
+	static void checkNoCrop(SourceFormatCode sourceCode, ImageParameters imageParameters) {
+		if (imageParameters.getCrop() != null)
+			throw new ConversionException(ConverterErrorCode.INVALID_REQUEST_EXCEPTION.getErrorCode(),
+					ConverterErrorCode.INVALID_REQUEST_EXCEPTION.getErrorMessage() + " : crop of "
+							+ sourceCode.getCode());
+	}
+
+	/**
+	 * Reserves the memory of the conversion of an image
+	 *
+	 * @param samples number of samples of the decoded image, width by height by
+	 *                bands
+	 */
+	Reservation reserve(long samples) throws ConversionRejectedException {
+		return memoryBudget.reserve(samples * WORKING_BYTES_PER_SAMPLE);
+	}
+
+	/**
+	 * Reserves the memory of the conversion of a JPEG2000 image, at the
+	 * resolution level and region {@link #readJPEG2000} decodes
+	 *
+	 * @param width  image width in the record, when the codestream header can not
+	 *               be read
+	 * @param height image height in the record, when the codestream header can
+	 *               not be read
+	 * @param bands  image bands in the record, when the codestream header can not
+	 *               be read
+	 */
+	Reservation reserveJPEG2000(byte[] imageData, int width, int height, int bands, int imageDpi,
+			ImageParameters imageParameters, Rectangle region) throws ConversionException {
+		Jpeg2000Header header = Jpeg2000Header.read(imageData);
+		if (header == null)
+			return reserve((long) width * height * bands);
+		Rectangle sourceRegion = clip(region, header.getWidth(), header.getHeight());
+		Rectangle decoded = header.reduce(sourceRegion, getReduction(header, sourceRegion, imageDpi, imageParameters));
+		return reserve((long) decoded.width * decoded.height * header.getComponents());
+	}
+
+	/**
+	 * Decodes the JPEG2000 image of a record. When the image is scaled down, it is
+	 * decoded at the lowest resolution level that is still at least the size of
+	 * the converted image.
+	 *
+	 * @param monochrome      true when the ISO format only holds gray images, a
+	 *                        color decoded image is then made single channel when
+	 *                        its pixels are gray
+	 * @param imageDpi        source image resolution, 0 when not known
+	 * @param imageParameters image parameters of the conversion
+	 * @param region          region of the image to keep in pixels of the full
+	 *                        image, null for the whole image
+	 */
+	DecodedImage readJPEG2000(ConversionRecorder recorder, byte[] imageData, boolean monochrome, int imageDpi,
+			ImageParameters imageParameters, Rectangle region) throws ConversionException {
+		return recorder.record(Stage.DECODE_IMAGE, () -> {
+			try {
+				Jpeg2000Header header = Jpeg2000Header.read(imageData);
+				BufferedImage image;
+				Rectangle sourceRegion;
+				if (header == null) {
+					image = ImageDecoder.readJPEG2000(imageData);
+					sourceRegion = clip(region, image.getWidth(), image.getHeight());
+					if (region != null)
+						image = image.getSubimage(sourceRegion.x, sourceRegion.y, sourceRegion.width,
+								sourceRegion.height);
+				} else {
+					sourceRegion = clip(region, header.getWidth(), header.getHeight());
+					int reduction = getReduction(header, sourceRegion, imageDpi, imageParameters);
+					int maxParallelism = conversionExecutor == null ? 1 : conversionExecutor.getMaxImageParallelism();
+					image = ImageDecoder.readJPEG2000(imageData,
+							reduction == 0 ? ImageDecoder.FULL_RESOLUTION : header.getLevels() - reduction,
+							header.reduce(sourceRegion, reduction), header.getTileRowStarts(reduction),
+							conversionExecutor, maxParallelism);
+				}
+				if (monochrome)
+					image = GrayImages.toGray(image);
+				return new DecodedImage(image, sourceRegion.width, sourceRegion.height);
+			} catch (IOException e) {
+				ConverterErrorCode errorCode = ConverterErrorCode.COULD_NOT_READ_ISO_IMAGE_DATA_EXCEPTION;
+				throw new ConversionException(errorCode.getErrorCode(), e.getLocalizedMessage());
+			}
+		});
+	}
+
+	/**
+	 * Levels skipped when the region is decoded for the image parameters
+	 */
+	private static int getReduction(Jpeg2000Header header, Rectangle sourceRegion, int imageDpi,
+			ImageParameters imageParameters) {
+		double scale = imageParameters.getScale(sourceRegion.width, sourceRegion.height, imageDpi);
+		return scale < 1.0
+				? header.getReduction(sourceRegion, scaledLength(sourceRegion.width, scale),
+						scaledLength(sourceRegion.height, scale))
+				: 0;
+	}
+
+	/**
+	 * Region clipped to the image, the whole image when not given
+	 */
+	private static Rectangle clip(Rectangle region, int imageWidth, int imageHeight) {
+		Rectangle image = new Rectangle(imageWidth, imageHeight);
+		if (region == null)
+			return image;
+		Rectangle clipped = region.intersection(image);
+		if (clipped.isEmpty())
+			throw new ConversionException(ConverterErrorCode.INVALID_REQUEST_EXCEPTION.getErrorCode(),
+					ConverterErrorCode.INVALID_REQUEST_EXCEPTION.getErrorMessage() + " : crop outside of the image");
+		return clipped;
+	}
+
+	byte[] convertImage(ConversionRecorder recorder, SourceFormatCode sourceCode, TargetFormatCode targetCode,
+			DecodedImage inImage, int inImageDpi, ImageParameters imageParameters, byte[] isoData,
+			byte[] inImageData) {
+		recorder.recordImage(inImage.width(), inImage.height());
+		double scale = imageParameters.getScale(inImage.width(), inImage.height(), inImageDpi);
+		int outWidth = scaledLength(inImage.width(), scale);
+		int outHeight = scaledLength(inImage.height(), scale);
+		RenderedImage outImage = inImage.image().getWidth() != outWidth || inImage.image().getHeight() != outHeight
+				? recorder.record(Stage.RESIZE_IMAGE,
+						() -> resize(inImage.image(), outWidth, outHeight, imageParameters,
+								PNG_TARGETS.contains(targetCode)))
+				: inImage.image();
+		int outImageDpi = imageParameters.getOutputDpi(inImageDpi, scale);
+		// the ISO resolution is only rewritten when the image was resampled
+		int outIsoDpi = scale < 1.0 && inImageDpi > 0 ? outImageDpi : 0;
+
+		switch (targetCode) {
+		case IMAGE_JPEG:
+			return toJPEGBytes(recorder, outImage, outImageDpi, imageParameters);
+		case IMAGE_PNG:
+			return toPNGBytes(recorder, outImage, outImageDpi, imageParameters);
+		case ISO19794_4_2011_JPEG:
+			return replaceIsoImage(sourceCode, isoData, inImageData, outImage,
+					toJPEGBytes(recorder, outImage, outImageDpi, imageParameters),
+					FingerImageCompressionType.JPEG_LOSSY, outIsoDpi);
+		case ISO19794_4_2011_PNG:
+			return replaceIsoImage(sourceCode, isoData, inImageData, outImage,
+					toPNGBytes(recorder, outImage, outImageDpi, imageParameters), FingerImageCompressionType.PNG,
+					outIsoDpi);
+		case ISO19794_5_2011_JPEG:
+			return replaceIsoImage(sourceCode, isoData, inImageData, outImage,
+					toJPEGBytes(recorder, outImage, outImageDpi, imageParameters), ImageDataType.JPEG, outIsoDpi);
+		case ISO19794_5_2011_PNG:
+			return replaceIsoImage(sourceCode, isoData, inImageData, outImage,
+					toPNGBytes(recorder, outImage, outImageDpi, imageParameters), ImageDataType.PNG, outIsoDpi);
+		case ISO19794_6_2011_PNG:
+			return replaceIsoImage(sourceCode, isoData, inImageData, outImage,
+					toPNGBytes(recorder, outImage, outImageDpi, imageParameters),
+					outImage.getColorModel().getNumColorComponents() == 1 ? ImageFormat.MONO_PNG
+							: ImageFormat.RGB_PNG,
+					outIsoDpi);
+		default:
+			throw new ConversionException(INVALID_TARGET_EXCEPTION.getErrorCode(),
+					INVALID_TARGET_EXCEPTION.getErrorMessage());
+		}
+	}
+
+	/**
+	 * Scaled image, rendered in strips while the PNG writer reads it. The JPEG
+	 * writer reads the whole raster, the image is then rendered at once.
+	 */
+	private RenderedImage resize(BufferedImage image, int width, int height, ImageParameters imageParameters,
+			boolean striped) {
+		StripedImage scaledImage = ImageResizer.resizeStriped(image, width, height, imageParameters.getScaleMethod(),
+				encoderBackends.getStripHeight(), conversionExecutor);
+		return striped ? scaledImage : scaledImage.toBufferedImage();
+	}
+
+	private static int scaledLength(int length, double scale) {
+		return scale < 1.0 ? Math.max(1, (int) Math.round(length * scale)) : length;
+	}
+
+	private byte[] toJPEGBytes(ConversionRecorder recorder, RenderedImage image, int dpi,
+			ImageParameters imageParameters) {
+		return recorder.record(Stage.ENCODE_IMAGE,
+				() -> encoderBackends.toJPEGBytes(image, dpi, imageParameters.getQuality()));
+	}
+
+	private byte[] toPNGBytes(ConversionRecorder recorder, RenderedImage image, int dpi,
+			ImageParameters imageParameters) {
+		return recorder.record(Stage.ENCODE_IMAGE,
+				() -> encoderBackends.toPNGBytes(image, dpi, imageParameters.getCompressionLevel()));
+	}
+
+	/**
+	 * Rebuilds the source ISO record with the re-encoded image, reusing the
+	 * original header bytes
+	 */
+	private static byte[] replaceIsoImage(SourceFormatCode sourceCode, byte[] isoData, byte[] inImageData,
+			RenderedImage outImage, byte[] outImageData, int outImageType, int outImageDpi) {
+		try {
+			return IsoRecordBuilder.replaceImage(sourceCode, isoData, inImageData, outImageData, outImageType,
+					outImage.getWidth(), outImage.getHeight(), outImageDpi);
+		} catch (RuntimeException e) {
+			ConverterErrorCode errorCode = ConverterErrorCode.TECHNICAL_ERROR_EXCEPTION;
+			throw new ConversionException(errorCode.getErrorCode(), e.getLocalizedMessage());
+		}
+	}
+
+	/**
+	 * Image decoded from a record, at a lower resolution than the source image
+	 * when the decoder could skip levels
+	 *
+	 * @param image  decoded image
+	 * @param width  source image width, or of the cropped region
+	 * @param height source image height, or of the cropped region
+	 */
+	record DecodedImage(BufferedImage image, int width, int height) {
+		DecodedImage(BufferedImage image) {
+			this(image, image.getWidth(), image.getHeight());
+		}
+	}
+}
@@ -0,0 +1,174 @@
+package io.mosip.kernel.bio.converter.service.impl;
+
+import java.util.Arrays;
+
+import io.mosip.kernel.bio.converter.constant.SourceFormatCode;
+
+/**
+ * Rebuilds an ISO 19794-4/5/6:2011 record around a re-encoded image.
+ *
+ * The original header bytes are reused as they are. Only the record length,
+ * the representation length, the image length, the image type and the image
+ * geometry fields are patched, so the new record is written with a single
+ * copy.
+ *
+ * @author Janardhan B S
+ * @since 1.2.1
+ */
+final class IsoRecordBuilder {
+	private static final int RECORD_LENGTH_OFFSET = 8;
+	private static final int NO_OF_REPRESENTATIONS_OFFSET = 12;
+	private static final int LENGTH_FIELD_SIZE = 4;
+	/**
+	 * Finger scale units value for pixels per centimeter
+	 */
+	private static final int SCALE_UNITS_PPCM = 2;
+
+	private IsoRecordBuilder() {
+		throw new IllegalStateException("IsoRecordBuilder class");
+	}
+
+	/**
+	 * Replaces the image of the representation holding {@code image}.
+	 *
+	 * @param sourceCode   ISO format of the record
+	 * @param record       original ISO record
+	 * @param image        image data of the original record
+	 * @param newImage     re-encoded image data
+	 * @param newImageType ISO image type (compression/image data type/image
+	 *                     format) of the re-encoded image
+	 * @param width        width of the re-encoded image
+	 * @param height       height of the re-encoded image
+	 * @param ppi          resolution of the re-encoded image, 0 to keep the
+	 *                     original (finger records only)
+	 * @return the rebuilt ISO record
+	 */
+	static byte[] replaceImage(SourceFormatCode sourceCode, byte[] record, byte[] image, byte[] newImage,
+			int newImageType, int width, int height, int ppi) {
+		Layout layout = Layout.of(sourceCode);
+		int imageTypeOffset = layout.imageTypeOffset;
+		int recordLength = (int) Math.min(readInt(record, RECORD_LENGTH_OFFSET) & 0xFFFFFFFFL, record.length);
+		int noOfRepresentations = readUnsignedShort(record, NO_OF_REPRESENTATIONS_OFFSET);
+
+		int representationOffset = layout.generalHeaderLength;
+		for (int index = 0; index < noOfRepresentations; index++) {
+			int representationLength = readInt(record, representationOffset);
+			int representationEnd = representationOffset + representationLength;
+			if (representationLength <= 0 || representationEnd > recordLength)
+				break;
+
+			int imageOffset = findImage(record, representationOffset + LENGTH_FIELD_SIZE - imageTypeOffset,
+					representationEnd, image);
+			if (imageOffset > 0) {
+				int delta = newImage.length - image.length;
+				int tailOffset = imageOffset + image.length;
+				byte[] newRecord = new byte[recordLength + delta];
+				System.arraycopy(record, 0, newRecord, 0, imageOffset);
+				System.arraycopy(newImage, 0, newRecord, imageOffset, newImage.length);
+				System.arraycopy(record, tailOffset, newRecord, imageOffset + newImage.length,
+						recordLength - tailOffset);
+
+				writeInt(newRecord, RECORD_LENGTH_OFFSET, recordLength + delta);
+				writeInt(newRecord, representationOffset, representationLength + delta);
+				writeInt(newRecord, imageOffset - LENGTH_FIELD_SIZE, newImage.length);
+				newRecord[imageOffset + imageTypeOffset] = (byte) newImageType;
+				writeUnsignedShort(newRecord, imageOffset + layout.widthOffset, width);
+				writeUnsignedShort(newRecord, imageOffset + layout.heightOffset, height);
+				if (ppi > 0 && layout.samplingRateOffset != 0) {
+					int samplingRate = newRecord[imageOffset + layout.scaleUnitsOffset] == SCALE_UNITS_PPCM
+							? (int) Math.round(ppi / 2.54)
+							: ppi;
+					writeUnsignedShort(newRecord, imageOffset + layout.samplingRateOffset, samplingRate);
+					writeUnsignedShort(newRecord, imageOffset + layout.samplingRateOffset + 2, samplingRate);
+				}
+				return newRecord;
+			}
+			representationOffset = representationEnd;
+		}
+		throw new IllegalArgumentException("Image data not found in " + sourceCode.getCode() + " record");
+	}
+
+	/**
+	 * Finds the image data by its preceding image length field and content
+	 */
+	private static int findImage(byte[] record, int from, int to, byte[] image) {
+		for (int offset = from; offset + image.length <= to; offset++) {
+			if (readInt(record, offset - LENGTH_FIELD_SIZE) == image.length
+					&& Arrays.equals(record, offset, offset + image.length, image, 0, image.length))
+				return offset;
+		}
+		return -1;
+	}
+
+	private static int readUnsignedShort(byte[] data, int offset) {
+		return ((data[offset] & 0xFF) << 8) | (data[offset + 1] & 0xFF);
+	}
+
+	private static void writeUnsignedShort(byte[] data, int offset, int value) {
+		data[offset] = (byte) (value >>> 8);
+		data[offset + 1] = (byte) value;
+	}
+
+	private static int readInt(byte[] data, int offset) {
+		return ((data[offset] & 0xFF) << 24) | ((data[offset + 1] & 0xFF) << 16) | ((data[offset + 2] & 0xFF) << 8)
+				| (data[offset + 3] & 0xFF);
+	}
+
+	private static void writeInt(byte[] data, int offset, int value) {
+		data[offset] = (byte) (value >>> 24);
+		data[offset + 1] = (byte) (value >>> 16);
+		data[offset + 2] = (byte) (value >>> 8);
+		data[offset + 3] = (byte) value;
+	}
+
+	/**
+	 * Field positions of a representation, relative to the first byte of the
+	 * image data
+	 */
+	private enum Layout {
+		// general header: format identifier, version, record length, representations, certification flag,
+		// fingers present
+		// representation: ... scale units, capture device sampling rates, image sampling rates, bit depth,
+		// compression type, impression type, line length horizontal/vertical, image length, image data
+		FINGER(16, -10, -8, -6, -15, -20),
+		// general header: format identifier, version, record length, representations, certification flag,
+		// temporal semantics
+		// representation: ... image data type, width, height, spatial sampling rate, post acquisition
+		// processing, cross reference, image colour space, image length, image data
+		FACE(17, -14, -13, -11, 0, 0),
+		// general header: format identifier, version, record length, representations, certification flag,
+		// eyes present
+		// representation: ... image format, image properties, width, height, bit depth, range, roll angle,
+		// roll angle uncertainty, iris centre smallest/largest X/Y, iris diameter smallest/largest, image
+		// length, image data
+		IRIS(16, -29, -27, -25, 0, 0);
+
+		private final int generalHeaderLength;
+		private final int imageTypeOffset;
+		private final int widthOffset;
+		private final int heightOffset;
+		private final int samplingRateOffset;
+		private final int scaleUnitsOffset;
+
+		Layout(int generalHeaderLength, int imageTypeOffset, int widthOffset, int heightOffset,
+				int samplingRateOffset, int scaleUnitsOffset) {
+			this.generalHeaderLength = generalHeaderLength;
+			this.imageTypeOffset = imageTypeOffset;
+			this.widthOffset = widthOffset;
+			this.heightOffset = heightOffset;
+			this.samplingRateOffset = samplingRateOffset;
+			this.scaleUnitsOffset = scaleUnitsOffset;
+		}
+
+		static Layout of(SourceFormatCode sourceCode) {
+			switch (sourceCode) {
+			case ISO19794_4_2011:
+				return FINGER;
+			case ISO19794_5_2011:
+				return FACE;
+			default:
+				return IRIS;
+			}
+		}
+	}
+}
@@ -0,0 +1,253 @@
+package io.mosip.kernel.bio.converter.service.impl;
+
+import java.awt.Rectangle;
+import java.util.Arrays;
+
+/**
+ * Size, tiling and wavelet decomposition levels of a JPEG2000 image, read from
+ * the SIZ, COD and COC marker segments of the main header of the codestream.
+ *
+ * A codestream of n decomposition levels can be decoded at n + 1 resolutions,
+ * each half the size of the next. Decoding at a lower resolution skips the
+ * entropy decoding and the wavelet synthesis of the higher levels, which is
+ * where most of the decoding time goes.
+ *
+ * Tiles are coded independently, a region of a tiled image is decoded from
+ * the tiles it covers only. The image of a single tile is decoded whole
+ * whatever the region.
+ *
+ * @author Janardhan B S
+ * @since 1.2.1
+ */
+final class Jpeg2000Header {
+	private static final int JP2_SIGNATURE_LENGTH = 12;
+	private static final int JP2C_BOX_TYPE = 0x6A703263;
+	private static final int SOC = 0xFF4F;
+	private static final int SIZ = 0xFF51;
+	private static final int COD = 0xFF52;
+	private static final int COC = 0xFF53;
+	private static final int SOT = 0xFF90;
+	private static final int MAX_SINGLE_BYTE_COMPONENTS = 256;
+
+	private final int x0;
+	private final int y0;
+	private final int x1;
+	private final int y1;
+	private final int tileY0;
+	private final int tileHeight;
+	private final int components;
+	private final int levels;
+
+	private Jpeg2000Header(int x0, int y0, int x1, int y1, int tileY0, int tileHeight, int components, int levels) {
+		this.x0 = x0;
+		this.y0 = y0;
+		this.x1 = x1;
+		this.y1 = y1;
+		this.tileY0 = tileY0;
+		this.tileHeight = tileHeight;
+		this.components = components;
+		this.levels = levels;
+	}
+
+	/**
+	 * Reads the header of a JP2 file or of a raw codestream
+	 *
+	 * @param imageData JPEG2000 image
+	 * @return header, null when the data is not a JPEG2000 image the header can be
+	 *         read from
+	 */
+	static Jpeg2000Header read(byte[] imageData) {
+		try {
+			int offset = findCodestream(imageData);
+			return offset < 0 ? null : readMainHeader(imageData, offset);
+		} catch (ArrayIndexOutOfBoundsException e) {
+			// truncated header, decoded at full resolution and reported by the reader
+			return null;
+		}
+	}
+
+	int getWidth() {
+		return x1 - x0;
+	}
+
+	int getHeight() {
+		return y1 - y0;
+	}
+
+	/**
+	 * Number of image components, 1 for a gray image and 3 for a color image
+	 */
+	int getComponents() {
+		return components;
+	}
+
+	/**
+	 * Number of decomposition levels, the lowest of all components
+	 */
+	int getLevels() {
+		return levels;
+	}
+
+	/**
+	 * Decomposition levels that can be skipped while the decoded region stays at
+	 * least as large as the target size
+	 *
+	 * @param region       region of the image to decode, in pixels of the full
+	 *                     image
+	 * @param targetWidth  width of the converted image
+	 * @param targetHeight height of the converted image
+	 * @return number of levels to skip, 0 to decode the full resolution
+	 */
+	int getReduction(Rectangle region, int targetWidth, int targetHeight) {
+		int reduction = 0;
+		while (reduction < levels) {
+			Rectangle reduced = reduce(region, reduction + 1);
+			if (reduced.width < targetWidth || reduced.height < targetHeight)
+				break;
+			reduction++;
+		}
+		return reduction;
+	}
+
+	/**
+	 * Region of the image with the given number of levels skipped
+	 *
+	 * @param region    region in pixels of the full image
+	 * @param reduction number of levels skipped
+	 * @return region in pixels of the reduced image, clipped to it
+	 */
+	Rectangle reduce(Rectangle region, int reduction) {
+		int x = region.x >> reduction;
+		int y = region.y >> reduction;
+		Rectangle reduced = new Rectangle(x, y, ceilShift(region.x + region.width, reduction) - x,
+				ceilShift(region.y + region.height, reduction) - y);
+		return reduced.intersection(new Rectangle(getWidth(reduction), getHeight(reduction)));
+	}
+
+	/**
+	 * Width of the image with the given number of levels skipped
+	 */
+	int getWidth(int reduction) {
+		return ceilShift(x1, reduction) - ceilShift(x0, reduction);
+	}
+
+	/**
+	 * Height of the image with the given number of levels skipped
+	 */
+	int getHeight(int reduction) {
+		return ceilShift(y1, reduction) - ceilShift(y0, reduction);
+	}
+
+	/**
+	 * Rows where a row of tiles starts, in the image with the given number of
+	 * levels skipped. The first row of tiles, at row 0, is left out.
+	 *
+	 * @param reduction number of levels skipped
+	 * @return rows in increasing order, empty for an image of a single row of
+	 *         tiles
+	 */
+	int[] getTileRowStarts(int reduction) {
+		// tiles over 2^31 rows high read as negative, there is one row of them
+		if (tileHeight <= 0 || tileY0 > y0)
+			return new int[0];
+		long first = Math.floorDiv((long) y0 - tileY0, tileHeight);
+		long last = Math.floorDiv((long) y1 - 1 - tileY0, tileHeight);
+		int origin = ceilShift(y0, reduction);
+		int height = getHeight(reduction);
+		int[] starts = new int[(int) (last - first)];
+		int count = 0;
+		for (long row = first + 1; row <= last; row++) {
+			int start = ceilShift((int) (tileY0 + row * tileHeight), reduction) - origin;
+			// tiles lower than the skipped levels add no row
+			if (start > (count == 0 ? 0 : starts[count - 1]) && start < height)
+				starts[count++] = start;
+		}
+		return Arrays.copyOf(starts, count);
+	}
+
+	private static int ceilShift(int value, int shift) {
+		return (int) ((value + (1L << shift) - 1) >> shift);
+	}
+
+	/**
+	 * Offset of the codestream, the content of the contiguous codestream box of a
+	 * JP2 file
+	 */
+	private static int findCodestream(byte[] data) {
+		if (readUnsignedShort(data, 0) == SOC)
+			return 0;
+		// boxes after the signature box: length (0 up to the end, 1 for a 64 bit
+		// length) and type
+		int offset = JP2_SIGNATURE_LENGTH;
+		while (offset + 8 <= data.length) {
+			long length = readInt(data, offset) & 0xFFFFFFFFL;
+			int type = readInt(data, offset + 4);
+			int headerLength = 8;
+			if (length == 1) {
+				length = ((long) readInt(data, offset + 8) << 32) | (readInt(data, offset + 12) & 0xFFFFFFFFL);
+				headerLength = 16;
+			} else if (length == 0) {
+				length = (long) data.length - offset;
+			}
+			if (type == JP2C_BOX_TYPE)
+				return offset + headerLength;
+			if (length < headerLength || offset + length > data.length)
+				return -1;
+			offset += (int) length;
+		}
+		return -1;
+	}
+
+	private static Jpeg2000Header readMainHeader(byte[] data, int offset) {
+		if (readUnsignedShort(data, offset) != SOC)
+			return null;
+		int x0 = 0;
+		int y0 = 0;
+		int x1 = -1;
+		int y1 = -1;
+		int tileY0 = 0;
+		int tileHeight = 0;
+		int components = 0;
+		int levels = -1;
+		int componentLevels = Integer.MAX_VALUE;
+		int segment = offset + 2;
+		int marker = readUnsignedShort(data, segment);
+		// marker segments up to the first tile-part, offsets are from the length
+		while (marker != SOT) {
+			int content = segment + 2;
+			switch (marker) {
+			case SIZ:
+				x1 = readInt(data, content + 4);
+				y1 = readInt(data, content + 8);
+				x0 = readInt(data, content + 12);
+				y0 = readInt(data, content + 16);
+				tileHeight = readInt(data, content + 24);
+				tileY0 = readInt(data, content + 32);
+				components = readUnsignedShort(data, content + 36);
+				break;
+			case COD:
+				levels = data[content + 7] & 0xFF;
+				break;
+			case COC:
+				int componentLength = components > MAX_SINGLE_BYTE_COMPONENTS ? 2 : 1;
+				componentLevels = Math.min(componentLevels, data[content + 2 + componentLength + 1] & 0xFF);
+				break;
+			default:
+				break;
+			}
+			segment = content + readUnsignedShort(data, content);
+			marker = readUnsignedShort(data, segment);
+		}
+		if (x1 <= x0 || y1 <= y0 || components <= 0 || levels < 0)
+			return null;
+		return new Jpeg2000Header(x0, y0, x1, y1, tileY0, tileHeight, components, Math.min(levels, componentLevels));
+	}
+
+	private static int readUnsignedShort(byte[] data, int offset) {
+		return ((data[offset] & 0xFF) << 8) | (data[offset + 1] & 0xFF);
+	}
+
+	private static int readInt(byte[] data, int offset) {
+		return (readUnsignedShort(data, offset) << 16) | readUnsignedShort(data, offset + 2);
+	}
+}
@@ -0,0 +1,140 @@
+package io.mosip.kernel.bio.converter.service.impl;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.mosip.kernel.bio.converter.exception.ConversionRejectedException;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Memory budget of the images being converted, shared by all conversions.
+ *
+ * Before an image is decoded, the memory of its conversion is estimated from
+ * the image size in the record and reserved from the budget until the image
+ * is encoded. A conversion over the budget waits, in arrival order, for up to
+ * {@code wait.timeout}. It is rejected with a
+ * {@link ConversionRejectedException} when not enough memory is released in
+ * time. A reservation larger than the whole budget waits for the whole budget,
+ * so that a large image is converted alone rather than never. The budget
+ * defaults to half of the maximum heap.
+ *
+ * The reserved bytes and the rejected conversions are published as
+ * {@value #RESERVED_GAUGE} and {@value #REJECTED_COUNTER} when a meter registry
+ * is available.
+ *
+ * @author Janardhan B S
+ * @since 1.2.1
+ */
+@Component
+public class MemoryBudget {
+	static final String RESERVED_GAUGE = "bio.converter.memory.reserved";
+	static final String REJECTED_COUNTER = "bio.converter.memory.rejected";
+
+	/**
+	 * Permits are KB, a budget of up to 2 TB
+	 */
+	private static final int UNIT_SHIFT = 10;
+
+	private final boolean enabled;
+	private final int units;
+	private final Semaphore semaphore;
+	private final Duration waitTimeout;
+	private final Duration retryAfter;
+	private final MeterRegistry meterRegistry;
+	private final Counter rejectedCounter;
+
+	public MemoryBudget(@Value("${mosip.kernel.bio.converter.memory.budget.enabled:true}") boolean enabled,
+			@Value("${mosip.kernel.bio.converter.memory.budget.max.size:0}") DataSize maxSize,
+			@Value("${mosip.kernel.bio.converter.memory.budget.wait.timeout:2s}") Duration waitTimeout,
+			@Value("${mosip.kernel.bio.converter.memory.budget.retry.after:1s}") Duration retryAfter,
+			ObjectProvider<MeterRegistry> meterRegistry) {
+		this.enabled = enabled;
+		long maxBytes = maxSize.toBytes() > 0 ? maxSize.toBytes() : Runtime.getRuntime().maxMemory() / 2;
+		this.units = (int) Math.max(1, Math.min(Integer.MAX_VALUE, maxBytes >> UNIT_SHIFT));
+		this.semaphore = new Semaphore(units, true);
+		this.waitTimeout = waitTimeout;
+		this.retryAfter = retryAfter;
+
+		this.meterRegistry = meterRegistry == null ? null : meterRegistry.getIfAvailable();
+		this.rejectedCounter = this.meterRegistry == null ? null : this.meterRegistry.counter(REJECTED_COUNTER);
+	}
+
+	/**
+	 * Registers the gauge once the budget is constructed
+	 */
+	@PostConstruct
+	public void registerGauges() {
+		if (meterRegistry != null)
+			Gauge.builder(RESERVED_GAUGE, this, MemoryBudget::getReserved).baseUnit("bytes").register(meterRegistry);
+	}
+
+	/**
+	 * Waits until the memory is available and reserves it
+	 *
+	 * @param bytes estimated memory of the conversion
+	 * @return reservation, to be closed once the image is converted
+	 * @throws ConversionRejectedException MOS-CNV-013 when the memory is not
+	 *                                     available in time
+	 */
+	public Reservation reserve(long bytes) throws ConversionRejectedException {
+		if (!enabled || bytes <= 0)
+			return new Reservation(0);
+		int count = (int) Math.min(units, (bytes + (1L << UNIT_SHIFT) - 1) >> UNIT_SHIFT);
+		try {
+			if (!semaphore.tryAcquire(count, waitTimeout.toNanos(), TimeUnit.NANOSECONDS))
+				throw reject();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw reject();
+		}
+		return new Reservation(count);
+	}
+
+	/**
+	 * @return size of the budget in bytes
+	 */
+	public long getMaxSize() {
+		return (long) units << UNIT_SHIFT;
+	}
+
+	/**
+	 * @return bytes reserved by the conversions in flight
+	 */
+	public long getReserved() {
+		return enabled ? (long) (units - semaphore.availablePermits()) << UNIT_SHIFT : 0;
+	}
+
+	private ConversionRejectedException reject() {
+		if (rejectedCounter != null)
+			rejectedCounter.increment();
+		return new ConversionRejectedException(retryAfter);
+	}
+
+	/**
+	 * Memory reserved for one conversion, released on close
+	 */
+	public final class Reservation implements AutoCloseable {
+		private int count;
+
+		private Reservation(int count) {
+			this.count = count;
+		}
+
+		@Override
+		public void close() {
+			if (count > 0) {
+				semaphore.release(count);
+				count = 0;
+			}
+		}
+	}
+}
@@ -0,0 +1,241 @@
+package io.mosip.kernel.bio.converter.service.impl;
+
+import java.awt.color.ColorSpace;
+import java.awt.image.ColorModel;
+import java.awt.image.ComponentSampleModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.IndexColorModel;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.awt.image.SampleModel;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Encodes 8 bit gray, RGB and RGBA images to PNG straight from their raster,
+ * without going through the ImageIO writer.
+ *
+ * The output is byte for byte the one of the ImageIO PNG writer: the same
+ * chunks (IHDR, pHYs when the resolution is known, IDAT of up to
+ * {@value #IDAT_LENGTH} bytes and IEND), no interlacing, filter type None on
+ * every row and the same deflate level. What is saved is the work of the
+ * writer around the deflate: the rows are copied out of the raster as bytes
+ * instead of int samples scaled through lookup tables, and the CRC is computed
+ * by {@link CRC32} rather than a table in Java.
+ *
+ * Images of any other layout (16 bit samples, palettes, premultiplied alpha,
+ * several tile columns) are left to the ImageIO writer, see
+ * {@link #canEncode(RenderedImage)}.
+ *
+ * @author Janardhan B S
+ * @since 1.2.1
+ */
+final class PngEncoder {
+	/**
+	 * Length of the IDAT chunks written by the ImageIO writer
+	 */
+	static final int IDAT_LENGTH = 32768;
+	/**
+	 * Deflate level of the ImageIO writer when none is requested
+	 */
+	static final int DEFAULT_COMPRESSION_LEVEL = 4;
+	private static final byte[] SIGNATURE = { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n' };
+	private static final byte[] IHDR = chunkType("IHDR");
+	private static final byte[] PHYS = chunkType("pHYs");
+	private static final byte[] IDAT = chunkType("IDAT");
+	private static final byte[] IEND = chunkType("IEND");
+	private static final int BIT_DEPTH = 8;
+	private static final int COLOR_TYPE_GRAY = 0;
+	private static final int COLOR_TYPE_RGB = 2;
+	private static final int COLOR_TYPE_RGBA = 6;
+	private static final int UNIT_METER = 1;
+	private static final double METERS_PER_INCH = 0.0254;
+
+	private PngEncoder() {
+		throw new IllegalStateException("PngEncoder class");
+	}
+
+	/**
+	 * @return whether the image has 8 bit gray, RGB or RGBA samples, in bytes or
+	 *         packed in ints, and a single column of tiles
+	 */
+	static boolean canEncode(RenderedImage image) {
+		ColorModel colorModel = image.getColorModel();
+		SampleModel sampleModel = image.getSampleModel();
+		if (colorModel == null || colorModel instanceof IndexColorModel || colorModel.isAlphaPremultiplied()
+				|| image.getMinX() != 0 || image.getMinY() != 0 || image.getNumXTiles() != 1
+				|| image.getTileWidth() < image.getWidth() || image.getTileGridXOffset() != 0)
+			return false;
+		int bands = sampleModel.getNumBands();
+		int colorSpaceType = colorModel.getColorSpace().getType();
+		boolean gray = bands == 1 && colorSpaceType == ColorSpace.TYPE_GRAY && !colorModel.hasAlpha();
+		boolean rgb = bands == 3 && colorSpaceType == ColorSpace.TYPE_RGB && !colorModel.hasAlpha();
+		boolean rgba = bands == 4 && colorSpaceType == ColorSpace.TYPE_RGB && colorModel.hasAlpha();
+		if (!gray && !rgb && !rgba)
+			return false;
+		for (int sampleSize : sampleModel.getSampleSize()) {
+			if (sampleSize != BIT_DEPTH)
+				return false;
+		}
+		if (sampleModel instanceof ComponentSampleModel)
+			return sampleModel.getDataType() == DataBuffer.TYPE_BYTE && sampleModel.getNumDataElements() == bands;
+		return sampleModel instanceof SinglePixelPackedSampleModel && sampleModel.getDataType() == DataBuffer.TYPE_INT;
+	}
+
+	/**
+	 * @param image            image to encode, one {@link #canEncode} accepts
+	 * @param dpi              resolution to write, 0 when not known
+	 * @param compressionLevel deflate level from 0 to 9, -1 for the ImageIO
+	 *                         writer default
+	 */
+	static byte[] encode(RenderedImage image, int dpi, int compressionLevel) {
+		int width = image.getWidth();
+		int height = image.getHeight();
+		int bands = image.getSampleModel().getNumBands();
+		Deflater deflater = new Deflater(compressionLevel >= 0 ? compressionLevel : DEFAULT_COMPRESSION_LEVEL);
+		// deflated rows are about the size of the raw rows for biometric images
+		try (PooledOutputStream outputStream = new PooledOutputStream(
+				(int) Math.min(BufferPool.MAX_SIZE, (long) width * height * bands + IDAT_LENGTH))) {
+			ChunkWriter chunkWriter = new ChunkWriter(outputStream);
+			outputStream.write(SIGNATURE, 0, SIGNATURE.length);
+			writeHeader(chunkWriter, width, height, bands);
+			if (dpi > 0)
+				writeResolution(chunkWriter, dpi);
+			writeImageData(chunkWriter, image, deflater);
+			chunkWriter.write(IEND, new byte[0], 0);
+			return outputStream.toByteArray();
+		} finally {
+			deflater.end();
+		}
+	}
+
+	private static void writeHeader(ChunkWriter chunkWriter, int width, int height, int bands) {
+		byte[] header = new byte[13];
+		putInt(header, 0, width);
+		putInt(header, 4, height);
+		header[8] = BIT_DEPTH;
+		header[9] = (byte) switch (bands) {
+		case 1 -> COLOR_TYPE_GRAY;
+		case 3 -> COLOR_TYPE_RGB;
+		default -> COLOR_TYPE_RGBA;
+		};
+		// compression, filter and interlace methods 0
+		chunkWriter.write(IHDR, header, header.length);
+	}
+
+	private static void writeResolution(ChunkWriter chunkWriter, int dpi) {
+		int pixelsPerMeter = (int) Math.round(dpi / METERS_PER_INCH);
+		byte[] resolution = new byte[9];
+		putInt(resolution, 0, pixelsPerMeter);
+		putInt(resolution, 4, pixelsPerMeter);
+		resolution[8] = UNIT_METER;
+		chunkWriter.write(PHYS, resolution, resolution.length);
+	}
+
+	private static void writeImageData(ChunkWriter chunkWriter, RenderedImage image, Deflater deflater) {
+		int width = image.getWidth();
+		int height = image.getHeight();
+		SampleModel sampleModel = image.getSampleModel();
+		int bands = sampleModel.getNumBands();
+		// filter type byte, 0 (None), then the samples of the row
+		byte[] row = new byte[1 + width * bands];
+		byte[] chunk = BufferPool.borrow(IDAT_LENGTH);
+		try {
+			int chunkLength = 0;
+			int[] masks = sampleModel instanceof SinglePixelPackedSampleModel packed ? packed.getBitMasks() : null;
+			int[] offsets = sampleModel instanceof SinglePixelPackedSampleModel packed ? packed.getBitOffsets() : null;
+			byte[] byteRow = masks == null ? new byte[width * bands] : null;
+			int[] intRow = masks != null ? new int[width] : null;
+			int minTileY = image.getMinTileY();
+			for (int tileY = minTileY; tileY < minTileY + image.getNumYTiles(); tileY++) {
+				Raster tile = image.getTile(image.getMinTileX(), tileY);
+				int top = Math.max(0, tile.getMinY());
+				int bottom = Math.min(height, tile.getMinY() + tile.getHeight());
+				for (int y = top; y < bottom; y++) {
+					if (masks == null) {
+						// pixel interleaved bytes come out in band order, RGB for a BGR raster
+						tile.getDataElements(0, y, width, 1, byteRow);
+						System.arraycopy(byteRow, 0, row, 1, byteRow.length);
+					} else {
+						tile.getDataElements(0, y, width, 1, intRow);
+						unpack(intRow, masks, offsets, row);
+					}
+					deflater.setInput(row);
+					while (!deflater.needsInput())
+						chunkLength = deflate(chunkWriter, deflater, chunk, chunkLength);
+				}
+			}
+			deflater.finish();
+			while (!deflater.finished())
+				chunkLength = deflate(chunkWriter, deflater, chunk, chunkLength);
+			chunkWriter.write(IDAT, chunk, chunkLength);
+		} finally {
+			BufferPool.release(chunk);
+		}
+	}
+
+	/**
+	 * Deflates into the current IDAT chunk, a full chunk is written once more
+	 * data comes so that the last chunk is never empty
+	 *
+	 * @return length of the current chunk
+	 */
+	private static int deflate(ChunkWriter chunkWriter, Deflater deflater, byte[] chunk, int chunkLength) {
+		int length = chunkLength;
+		if (length == IDAT_LENGTH) {
+			chunkWriter.write(IDAT, chunk, length);
+			length = 0;
+		}
+		return length + deflater.deflate(chunk, length, IDAT_LENGTH - length);
+	}
+
+	private static void unpack(int[] pixels, int[] masks, int[] offsets, byte[] row) {
+		int bands = masks.length;
+		int index = 1;
+		for (int pixel : pixels) {
+			for (int band = 0; band < bands; band++)
+				row[index++] = (byte) ((pixel & masks[band]) >>> offsets[band]);
+		}
+	}
+
+	private static void putInt(byte[] data, int offset, int value) {
+		data[offset] = (byte) (value >>> 24);
+		data[offset + 1] = (byte) (value >>> 16);
+		data[offset + 2] = (byte) (value >>> 8);
+		data[offset + 3] = (byte) value;
+	}
+
+	private static byte[] chunkType(String type) {
+		return type.getBytes(StandardCharsets.US_ASCII);
+	}
+
+	/**
+	 * Writes chunks: length, type, data and the CRC of the type and data
+	 */
+	private static final class ChunkWriter {
+		private final PooledOutputStream outputStream;
+		private final CRC32 crc = new CRC32();
+		private final byte[] intBytes = new byte[4];
+
+		ChunkWriter(PooledOutputStream outputStream) {
+			this.outputStream = outputStream;
+		}
+
+		void write(byte[] type, byte[] data, int length) {
+			writeInt(length);
+			outputStream.write(type, 0, type.length);
+			outputStream.write(data, 0, length);
+			crc.reset();
+			crc.update(type);
+			crc.update(data, 0, length);
+			writeInt((int) crc.getValue());
+		}
+
+		private void writeInt(int value) {
+			putInt(intBytes, 0, value);
+			outputStream.write(intBytes, 0, intBytes.length);
+		}
+	}
+}
@@ -0,0 +1,81 @@
+package io.mosip.kernel.bio.converter.service.impl;
+
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Same as a {@link java.io.ByteArrayOutputStream} whose buffer is borrowed
+ * from the {@link BufferPool}. The buffer grows into a larger pooled array,
+ * and goes back to the pool on close. Not thread safe.
+ *
+ * @author Janardhan B S
+ * @since 1.2.1
+ */
+public final class PooledOutputStream extends OutputStream {
+	private byte[] buffer;
+	private int count;
+
+	public PooledOutputStream() {
+		this(BufferPool.MIN_SIZE);
+	}
+
+	/**
+	 * @param initialSize expected size of the written data
+	 */
+	public PooledOutputStream(int initialSize) {
+		buffer = BufferPool.borrow(initialSize);
+	}
+
+	@Override
+	public void write(int value) {
+		ensureCapacity(count + 1);
+		buffer[count++] = (byte) value;
+	}
+
+	@Override
+	public void write(byte[] data, int offset, int length) {
+		Objects.checkFromIndexSize(offset, length, data.length);
+		ensureCapacity(count + length);
+		System.arraycopy(data, offset, buffer, count, length);
+		count += length;
+	}
+
+	public int size() {
+		return count;
+	}
+
+	public void reset() {
+		count = 0;
+	}
+
+	/**
+	 * @return copy of the written data
+	 */
+	public byte[] toByteArray() {
+		return Arrays.copyOf(buffer, count);
+	}
+
+	/**
+	 * Releases the buffer, the stream can not be written any more
+	 */
+	@Override
+	public void close() {
+		if (buffer != null) {
+			BufferPool.release(buffer);
+			buffer = null;
+		}
+	}
+
+	private void ensureCapacity(int minCapacity) {
+		if (minCapacity < 0)
+			throw new OutOfMemoryError("Output too large");
+		if (minCapacity <= buffer.length)
+			return;
+		byte[] grown = BufferPool.borrow(Math.max(minCapacity, (int) Math.min(Integer.MAX_VALUE - 8L,
+				buffer.length * 2L)));
+		System.arraycopy(buffer, 0, grown, 0, count);
+		BufferPool.release(buffer);
+		buffer = grown;
+	}
+}
@@ -0,0 +1,276 @@
+package io.mosip.kernel.bio.converter.service.impl;
+
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.awt.image.SampleModel;
+import java.awt.image.WritableRaster;
+import java.util.Vector;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import io.mosip.kernel.bio.converter.constant.ConverterErrorCode;
+import io.mosip.kernel.bio.converter.exception.ConversionException;
+
+/**
+ * Image rendered in horizontal strips as they are read, for the encoders that
+ * read the image row by row such as the PNG writer. Only the strip being read
+ * and the next one are in memory, not the whole image.
+ *
+ * The next strip is rendered ahead on an idle worker of the
+ * {@link ConversionExecutor}, so that rendering and encoding overlap. When no
+ * worker is idle the reading thread renders it when it gets there. Strips are
+ * expected to be read top to bottom, a strip read again is rendered again.
+ *
+ * @author Janardhan B S
+ * @since 1.2.1
+ */
+final class StripedImage implements RenderedImage {
+	/**
+	 * Size of a strip when its height is not given, as many rows as fit
+	 */
+	static final int STRIP_SIZE = 1 << 20;
+
+	/**
+	 * Draws the whole image. The graphics is clipped and translated to the strip
+	 * being rendered, only the pixels of the strip are computed.
+	 */
+	@FunctionalInterface
+	interface StripRenderer {
+		void render(Graphics2D graphics);
+	}
+
+	private final int width;
+	private final int height;
+	private final int imageType;
+	private final int stripHeight;
+	private final ColorModel colorModel;
+	private final SampleModel sampleModel;
+	private final StripRenderer renderer;
+	private final ConversionExecutor executor;
+
+	private int stripIndex = -1;
+	private BufferedImage strip;
+	private int nextIndex = -1;
+	private FutureTask<BufferedImage> next;
+
+	/**
+	 * @param width     image width
+	 * @param height    image height
+	 * @param imageType   {@link BufferedImage} type of the strips
+	 * @param stripHeight rows of a strip, 0 for as many rows as fit in
+	 *                    {@value #STRIP_SIZE} bytes
+	 * @param renderer    renders the image
+	 * @param executor    renders the next strip ahead, null to render every
+	 *                    strip on the reading thread
+	 */
+	StripedImage(int width, int height, int imageType, int stripHeight, StripRenderer renderer,
+			ConversionExecutor executor) {
+		this.width = width;
+		this.height = height;
+		this.imageType = imageType;
+		this.renderer = renderer;
+		this.executor = executor;
+		BufferedImage pixel = new BufferedImage(1, 1, imageType);
+		SampleModel pixelModel = pixel.getSampleModel();
+		int rowSize = width * pixelModel.getNumDataElements() * DataBuffer.getDataTypeSize(pixelModel.getDataType())
+				/ Byte.SIZE;
+		this.stripHeight = Math.clamp(stripHeight > 0 ? stripHeight : STRIP_SIZE / Math.max(1, rowSize), 1, height);
+		this.colorModel = pixel.getColorModel();
+		this.sampleModel = pixelModel.createCompatibleSampleModel(width, this.stripHeight);
+	}
+
+	/**
+	 * Renders the whole image at once, for the encoders that read all of it
+	 */
+	BufferedImage toBufferedImage() {
+		return render(0, height);
+	}
+
+	@Override
+	public Raster getTile(int tileX, int tileY) {
+		// the last strip is only as high as the rows left
+		return getStrip(tileY).getRaster().createTranslatedChild(0, tileY * stripHeight);
+	}
+
+	@Override
+	public Raster getData() {
+		return copyData(null);
+	}
+
+	@Override
+	public Raster getData(Rectangle rect) {
+		Rectangle bounds = rect.intersection(new Rectangle(width, height));
+		int tileY = bounds.y / stripHeight;
+		// a strip is never changed once rendered, the rows of one strip are not copied
+		if (!bounds.isEmpty() && (bounds.y + bounds.height - 1) / stripHeight == tileY)
+			return getTile(0, tileY).createChild(bounds.x, bounds.y, bounds.width, bounds.height, bounds.x,
+					bounds.y, null);
+		return copyData(colorModel.createCompatibleWritableRaster(bounds.width, bounds.height)
+				.createWritableTranslatedChild(bounds.x, bounds.y));
+	}
+
+	@Override
+	public WritableRaster copyData(WritableRaster raster) {
+		WritableRaster data = raster != null ? raster : colorModel.createCompatibleWritableRaster(width, height);
+		Rectangle bounds = data.getBounds().intersection(new Rectangle(width, height));
+		if (bounds.isEmpty())
+			return data;
+		for (int tileY = bounds.y / stripHeight; tileY * stripHeight < bounds.y + bounds.height; tileY++)
+			data.setRect(getTile(0, tileY));
+		return data;
+	}
+
+	@Override
+	@SuppressWarnings({ "java:S1149" })
+	public Vector<RenderedImage> getSources() {
+		return null;
+	}
+
+	@Override
+	public Object getProperty(String name) {
+		return Image.UndefinedProperty;
+	}
+
+	@Override
+	@SuppressWarnings({ "java:S1168" })
+	public String[] getPropertyNames() {
+		return null;
+	}
+
+	@Override
+	public ColorModel getColorModel() {
+		return colorModel;
+	}
+
+	@Override
+	public SampleModel getSampleModel() {
+		return sampleModel;
+	}
+
+	@Override
+	public int getWidth() {
+		return width;
+	}
+
+	@Override
+	public int getHeight() {
+		return height;
+	}
+
+	@Override
+	public int getMinX() {
+		return 0;
+	}
+
+	@Override
+	public int getMinY() {
+		return 0;
+	}
+
+	@Override
+	public int getNumXTiles() {
+		return 1;
+	}
+
+	@Override
+	public int getNumYTiles() {
+		return (height + stripHeight - 1) / stripHeight;
+	}
+
+	@Override
+	public int getMinTileX() {
+		return 0;
+	}
+
+	@Override
+	public int getMinTileY() {
+		return 0;
+	}
+
+	@Override
+	public int getTileWidth() {
+		return width;
+	}
+
+	@Override
+	public int getTileHeight() {
+		return stripHeight;
+	}
+
+	@Override
+	public int getTileGridXOffset() {
+		return 0;
+	}
+
+	@Override
+	public int getTileGridYOffset() {
+		return 0;
+	}
+
+	private BufferedImage getStrip(int index) {
+		if (index == stripIndex)
+			return strip;
+		BufferedImage rendered = null;
+		if (next != null) {
+			if (nextIndex == index)
+				rendered = await(next);
+			else
+				next.cancel(false);
+			next = null;
+		}
+		strip = rendered != null ? rendered : renderStrip(index);
+		stripIndex = index;
+		renderAhead(index + 1);
+		return strip;
+	}
+
+	private void renderAhead(int index) {
+		if (executor == null || index >= getNumYTiles())
+			return;
+		FutureTask<BufferedImage> task = new FutureTask<>(() -> renderStrip(index));
+		if (executor.tryExecute(task)) {
+			next = task;
+			nextIndex = index;
+		}
+	}
+
+	private BufferedImage renderStrip(int index) {
+		int y = index * stripHeight;
+		return render(y, Math.min(stripHeight, height - y));
+	}
+
+	private BufferedImage render(int y, int rows) {
+		BufferedImage image = new BufferedImage(width, rows, imageType);
+		Graphics2D graphics = image.createGraphics();
+		try {
+			graphics.translate(0, -y);
+			renderer.render(graphics);
+		} finally {
+			graphics.dispose();
+		}
+		return image;
+	}
+
+	private static BufferedImage await(FutureTask<BufferedImage> task) {
+		// rendered here when no worker picked the task up yet
+		task.run();
+		try {
+			return task.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ConversionException(ConverterErrorCode.TECHNICAL_ERROR_EXCEPTION.getErrorCode(),
+					e.getLocalizedMessage(), e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException cause)
+				throw cause;
+			throw new ConversionException(ConverterErrorCode.TECHNICAL_ERROR_EXCEPTION.getErrorCode(),
+					e.getCause().getLocalizedMessage(), e.getCause());
+		}
+	}
+}
@@ -0,0 +1,93 @@
+package io.mosip.kernel.bio.converter.controller;
+
+import io.mosip.kernel.bio.converter.constant.SourceFormatCode;
+import io.mosip.kernel.bio.converter.constant.TargetFormatCode;
+import org.apache.commons.io.IOUtils;
+import org.junit.Before;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.MethodSorters;
+import org.springframework.security.test.context.support.WithUserDetails;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import io.mosip.kernel.bio.converter.dto.ConvertRequestDto;
+import io.mosip.kernel.bio.converter.service.impl.ConversionCache;
+import io.mosip.kernel.bio.converter.TestBootApplication;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.mosip.kernel.bio.converter.util.ConverterDataUtil;
+import io.mosip.kernel.core.http.RequestWrapper;
+import java.io.FileInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Convert Handler Controller Test with the cache of converted values enabled
+ *
+ *
+ * @author Janardhan B S
+ * @since 1.2.1
+ */
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = TestBootApplication.class)
+@AutoConfigureMockMvc
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+@TestPropertySource(properties = { "mosip.kernel.bio.converter.cache.enabled=true",
+		"mosip.kernel.bio.converter.cache.max.size=64MB", "mosip.kernel.bio.converter.cache.ttl=10m" })
+public class ConvertControllerCacheTest {
+	@Autowired
+	public MockMvc mockMvc;
+
+	@Autowired
+	private ConversionCache conversionCache;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private RequestWrapper<ConvertRequestDto> convertRequestDto = new RequestWrapper<ConvertRequestDto>();
+	private ObjectMapper mapper;
+
+	@Before
+	public void setUp() {
+		mapper = new ObjectMapper();
+		mapper.registerModule(new JavaTimeModule());
+		convertRequestDto.setId("sample-converter");
+		convertRequestDto.setVersion("1.0");
+	}
+
+	/*
+	 * get Iris (ISO19794_6_2011) to PNG twice, the second conversion is served from the cache
+	 */
+	@Test
+	@WithUserDetails("reg-officer")
+	public void t001ConvertTest() throws Exception {
+		FileInputStream fis = new FileInputStream("src/test/resources/iris.txt");
+		String bioData = IOUtils.toString(fis, StandardCharsets.UTF_8);
+		String req = "{" + "\"values\":{" + "\"Left Iris\": \"" + bioData + "\"" + "},"
+				+ "\"sourceFormat\":\"ISO19794_6_2011\"," + "\"targetFormat\":\"IMAGE/PNG\","
+				+ "\"sourceParameters\":{" + "\"key\":\"value\"" + "}," + "\"targetParameters\":{" + "\"width\":\"320\""
+				+ "}" + "}";
+		convertRequestDto.setRequest(mapper.readValue(req, ConvertRequestDto.class));
+
+		long hitCount = conversionCache.getStats().hitCount();
+		for (int i = 0; i < 2; i++) {
+			ConverterDataUtil.checkResponse(
+					mockMvc.perform(post("/convert").contentType(MediaType.APPLICATION_JSON)
+							.content(mapper.writeValueAsString(convertRequestDto))).andReturn(),
+					200, SourceFormatCode.ISO19794_6_2011, TargetFormatCode.IMAGE_PNG.getCode());
+		}
+		assertTrue(conversionCache.getStats().hitCount() > hitCount);
+		assertTrue(meterRegistry.get("bio.converter.conversions").tag("result", "cached")
+				.tag("source", "ISO19794_6_2011").tag("target", "IMAGE/PNG").counter().count() > 0);
+	}
+}
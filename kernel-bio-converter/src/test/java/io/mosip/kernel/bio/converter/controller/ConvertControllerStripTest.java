@@ -0,0 +1,112 @@
+package io.mosip.kernel.bio.converter.controller;
+
+import io.mosip.kernel.bio.converter.constant.SourceFormatCode;
+import io.mosip.kernel.bio.converter.constant.TargetFormatCode;
+import org.apache.commons.io.IOUtils;
+import org.imgscalr.Scalr;
+import org.junit.Before;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.MethodSorters;
+import org.springframework.security.test.context.support.WithUserDetails;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import io.mosip.kernel.bio.converter.dto.ConvertRequestDto;
+import io.mosip.kernel.bio.converter.TestBootApplication;
+import io.mosip.kernel.bio.converter.util.ConverterDataUtil;
+import io.mosip.kernel.core.http.RequestWrapper;
+import java.awt.image.BufferedImage;
+import java.io.FileInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Convert Handler Controller Test with scaled PNG images rendered in strips of
+ * a few rows
+ *
+ *
+ * @author Janardhan B S
+ * @since 1.2.1
+ */
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = TestBootApplication.class)
+@AutoConfigureMockMvc
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+@TestPropertySource(properties = { "mosip.kernel.bio.converter.encoder.strip.height=8" })
+public class ConvertControllerStripTest {
+	@Autowired
+	public MockMvc mockMvc;
+
+	private RequestWrapper<ConvertRequestDto> convertRequestDto = new RequestWrapper<ConvertRequestDto>();
+	private ObjectMapper mapper;
+
+	@Before
+	public void setUp() {
+		mapper = new ObjectMapper();
+		mapper.registerModule(new JavaTimeModule());
+		convertRequestDto.setId("sample-converter");
+		convertRequestDto.setVersion("1.0");
+	}
+
+	/*
+	 * get Face (ISO19794_5_2011) scaled to PNG in 22 strips, within one level of
+	 * the image scaled at once
+	 */
+	@Test
+	@WithUserDetails("reg-officer")
+	public void t001ConvertTest() throws Exception {
+		FileInputStream fis = new FileInputStream("src/test/resources/face.txt");
+		String bioData = IOUtils.toString(fis, StandardCharsets.UTF_8);
+		String req = "{" + "\"values\":{" + "\"Face\": \"" + bioData + "\"" + "},"
+				+ "\"sourceFormat\":\"ISO19794_5_2011\"," + "\"targetFormat\":\"IMAGE/PNG\","
+				+ "\"sourceParameters\":{" + "\"key\":\"value\"" + "}," + "\"targetParameters\":{%s}" + "}";
+
+		BufferedImage fullImage = ConverterDataUtil.getImage(convert(String.format(req, "")), "Face");
+		for (Scalr.Method method : Arrays.asList(Scalr.Method.SPEED, Scalr.Method.BALANCED,
+				Scalr.Method.ULTRA_QUALITY)) {
+			String scaleMode = method == Scalr.Method.ULTRA_QUALITY ? "ultra" : method.name().toLowerCase();
+			MvcResult result = convert(String.format(req, "\"width\":\"130\",\"scaleMode\":\"" + scaleMode + "\""));
+			ConverterDataUtil.checkResponse(result, 200, SourceFormatCode.ISO19794_5_2011,
+					TargetFormatCode.IMAGE_PNG.getCode());
+			BufferedImage scaledImage = ConverterDataUtil.getImage(result, "Face");
+			BufferedImage expectedImage = Scalr.resize(fullImage, method, Scalr.Mode.FIT_EXACT, 130, 173);
+			assertEquals(130, scaledImage.getWidth());
+			assertEquals(173, scaledImage.getHeight());
+			for (int y = 0; y < scaledImage.getHeight(); y++) {
+				for (int x = 0; x < scaledImage.getWidth(); x++)
+					assertTrue(scaleMode + " at " + x + "," + y,
+							maxDifference(expectedImage.getRGB(x, y), scaledImage.getRGB(x, y)) <= 1);
+			}
+		}
+	}
+
+	private MvcResult convert(String req) throws Exception {
+		convertRequestDto.setRequest(mapper.readValue(req, ConvertRequestDto.class));
+		return mockMvc.perform(post("/convert").contentType(MediaType.APPLICATION_JSON)
+				.content(mapper.writeValueAsString(convertRequestDto))).andReturn();
+	}
+
+	/**
+	 * Largest difference between the channels of two pixels
+	 */
+	private static int maxDifference(int rgb, int otherRgb) {
+		int difference = 0;
+		for (int shift = 0; shift < Integer.SIZE; shift += Byte.SIZE)
+			difference = Math.max(difference, Math.abs((rgb >>> shift & 0xFF) - (otherRgb >>> shift & 0xFF)));
+		return difference;
+	}
+}
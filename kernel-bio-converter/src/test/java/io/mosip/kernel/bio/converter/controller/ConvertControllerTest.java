@@ -1,8 +1,13 @@
 package io.mosip.kernel.bio.converter.controller;
 
+import io.mosip.biometrics.util.CommonUtil;
+import io.mosip.biometrics.util.face.LandmarkPointType;
+import io.mosip.biometrics.util.face.LandmarkPoints;
+import io.mosip.biometrics.util.finger.FingerBDIR;
 import io.mosip.kernel.bio.converter.constant.SourceFormatCode;
 import io.mosip.kernel.bio.converter.constant.TargetFormatCode;
 import org.apache.commons.io.IOUtils;
+import org.imgscalr.Scalr;
 import org.junit.Before;
 import org.junit.FixMethodOrder;
 import org.junit.Test;
@@ -13,6 +18,7 @@ import org.springframework.security.test.context.support.WithUserDetails;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
@@ -20,16 +26,65 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.DelegatingServletInputStream;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.util.unit.DataSize;
 
 import io.mosip.kernel.bio.converter.dto.ConvertRequestDto;
+import io.mosip.kernel.bio.converter.exception.ConversionRejectedException;
+import io.mosip.kernel.bio.converter.service.impl.Base64UrlCodec;
+import io.mosip.kernel.bio.converter.service.impl.ConversionExecutor;
+import io.mosip.kernel.bio.converter.service.impl.ConversionJobServiceImpl;
+import io.mosip.kernel.bio.converter.service.impl.ConversionLimiter;
+import io.mosip.kernel.bio.converter.service.impl.ConverterRegistry;
+import io.mosip.kernel.bio.converter.service.impl.ConverterServiceImpl;
+import io.mosip.kernel.bio.converter.service.impl.EncoderBackends;
+import io.mosip.kernel.bio.converter.service.impl.FingerImageConverter;
+import io.mosip.kernel.bio.converter.service.ImageCrop;
+import io.mosip.kernel.bio.converter.service.impl.MemoryBudget;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 import io.mosip.kernel.bio.converter.TestBootApplication;
 import io.mosip.kernel.bio.converter.util.ConverterDataUtil;
 import io.mosip.kernel.core.http.RequestWrapper;
+import jakarta.servlet.ServletInputStream;
 
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
 import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+
+import com.github.jaiimageio.jpeg2000.J2KImageReadParam;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 
 /**
@@ -48,6 +103,27 @@ public class ConvertControllerTest {
 	@Autowired
 	public MockMvc mockMvc;
 
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private ConversionLimiter conversionLimiter;
+
+	@Autowired
+	private ConverterServiceImpl converterService;
+
+	@Autowired
+	private ConverterRegistry converterRegistry;
+
+	@Autowired
+	private MemoryBudget memoryBudget;
+
+	@Autowired
+	private EncoderBackends encoderBackends;
+
+	@Autowired
+	private ConversionExecutor conversionExecutor;
+
 	private RequestWrapper<ConvertRequestDto> convertRequestDto = new RequestWrapper<ConvertRequestDto>();
 	private ObjectMapper mapper;
 
@@ -407,4 +483,1327 @@ public class ConvertControllerTest {
 						.content(mapper.writeValueAsString(convertRequestDto))).andReturn(),
 				200, SourceFormatCode.ISO19794_6_2011, TargetFormatCode.IMAGE_PNG.getCode());
 	}
+
+	/*
+	 * get multiple Fingers (ISO19794_4_2011) to JPEG
+	 */
+	@Test
+	@WithUserDetails("reg-officer")
+	public void t015ConvertTest() throws Exception {
+		FileInputStream fis = new FileInputStream("src/test/resources/finger.txt");
+		String bioData = IOUtils.toString(fis, StandardCharsets.UTF_8);
+		String req = "{" + "\"values\":{" + "\"Left IndexFinger\": \"" + bioData + "\","
+				+ "\"Left MiddleFinger\": \"" + bioData + "\"," + "\"Left RingFinger\": \"" + bioData + "\","
+				+ "\"Left LittleFinger\": \"" + bioData + "\"," + "\"Left Thumb\": \"" + bioData + "\"" + "},"
+				+ "\"sourceFormat\":\"ISO19794_4_2011\"," + "\"targetFormat\":\"IMAGE/JPEG\","
+				+ "\"sourceParameters\":{" + "\"key\":\"value\"" + "}," + "\"targetParameters\":{" + "\"key\":\"value\""
+				+ "}" + "}";
+		convertRequestDto.setRequest(mapper.readValue(req, ConvertRequestDto.class));
+
+		ConverterDataUtil.checkResponse(
+				mockMvc.perform(post("/convert").contentType(MediaType.APPLICATION_JSON)
+						.content(mapper.writeValueAsString(convertRequestDto))).andReturn(),
+				200, SourceFormatCode.ISO19794_4_2011, TargetFormatCode.IMAGE_JPEG.getCode());
+	}
+
+	/*
+	 * test multiple Fingers (ISO19794_4_2011) fail with the error of the first
+	 * invalid value
+	 */
+	@Test
+	@WithUserDetails("reg-officer")
+	public void t0151ConvertTest() throws Exception {
+		FileInputStream fis = new FileInputStream("src/test/resources/finger.txt");
+		String bioData = IOUtils.toString(fis, StandardCharsets.UTF_8);
+		String req = "{" + "\"values\":{" + "\"Left IndexFinger\": \"" + bioData + "\","
+				+ "\"Left MiddleFinger\": \"aGVsbG8gaG93IGFyZSB5b3U\"," + "\"Left RingFinger\": \"" + bioData + "\","
+				+ "\"Left LittleFinger\": \"\"" + "}," + "\"sourceFormat\":\"ISO19794_4_2011\","
+				+ "\"targetFormat\":\"IMAGE/JPEG\"," + "\"sourceParameters\":{" + "\"key\":\"value\"" + "},"
+				+ "\"targetParameters\":{" + "\"key\":\"value\"" + "}" + "}";
+		convertRequestDto.setRequest(mapper.readValue(req, ConvertRequestDto.class));
+
+		ConverterDataUtil
+				.checkResponse(
+						mockMvc.perform(post("/convert").contentType(MediaType.APPLICATION_JSON)
+								.content(mapper.writeValueAsString(convertRequestDto))).andReturn(),
+						500, null, "MOS-CNV-008");
+	}
+
+	/*
+	 * get Finger (ISO19794_4_2011) to Finger ISO with JPEG image
+	 */
+	@Test
+	@WithUserDetails("reg-officer")
+	public void t016ConvertTest() throws Exception {
+		FileInputStream fis = new FileInputStream("src/test/resources/finger.txt");
+		String bioData = IOUtils.toString(fis, StandardCharsets.UTF_8);
+		String req = "{" + "\"values\":{" + "\"Left IndexFinger\": \"" + bioData + "\"" + "},"
+				+ "\"sourceFormat\":\"ISO19794_4_2011\"," + "\"targetFormat\":\"ISO19794_4_2011/JPEG\","
+				+ "\"sourceParameters\":{" + "\"key\":\"value\"" + "}," + "\"targetParameters\":{" + "\"key\":\"value\""
+				+ "}" + "}";
+		convertRequestDto.setRequest(mapper.readValue(req, ConvertRequestDto.class));
+
+		ConverterDataUtil.checkResponse(
+				mockMvc.perform(post("/convert").contentType(MediaType.APPLICATION_JSON)
+						.content(mapper.writeValueAsString(convertRequestDto))).andReturn(),
+				200, SourceFormatCode.ISO19794_4_2011, TargetFormatCode.ISO19794_4_2011_JPEG.getCode());
+	}
+
+	/*
+	 * get Finger (ISO19794_4_2011) to Finger ISO with PNG image
+	 */
+	@Test
+	@WithUserDetails("reg-officer")
+	public void t0161ConvertTest() throws Exception {
+		FileInputStream fis = new FileInputStream("src/test/resources/finger.txt");
+		String bioData = IOUtils.toString(fis, StandardCharsets.UTF_8);
+		String req = "{" + "\"values\":{" + "\"Left IndexFinger\": \"" + bioData + "\"" + "},"
+				+ "\"sourceFormat\":\"ISO19794_4_2011\"," + "\"targetFormat\":\"ISO19794_4_2011/PNG\","
+				+ "\"sourceParameters\":{" + "\"key\":\"value\"" + "}," + "\"targetParameters\":{" + "\"key\":\"value\""
+				+ "}" + "}";
+		convertRequestDto.setRequest(mapper.readValue(req, ConvertRequestDto.class));
+
+		ConverterDataUtil.checkResponse(
+				mockMvc.perform(post("/convert").contentType(MediaType.APPLICATION_JSON)
+						.content(mapper.writeValueAsString(convertRequestDto))).andReturn(),
+				200, SourceFormatCode.ISO19794_4_2011, TargetFormatCode.ISO19794_4_2011_PNG.getCode());
+	}
+
+	/*
+	 * get Face (ISO19794_5_2011) to Face ISO with JPEG image
+	 */
+	@Test
+	@WithUserDetails("reg-officer")
+	public void t017ConvertTest() throws Exception {
+		FileInputStream fis = new FileInputStream("src/test/resources/face.txt");
+		String bioData = IOUtils.toString(fis, StandardCharsets.UTF_8);
+		String req = "{" + "\"values\":{" + "\"Face\": \"" + bioData + "\"" + "},"
+				+ "\"sourceFormat\":\"ISO19794_5_2011\"," + "\"targetFormat\":\"ISO19794_5_2011/JPEG\","
+				+ "\"sourceParameters\":{" + "\"key\":\"value\"" + "}," + "\"targetParameters\":{" + "\"key\":\"value\""
+				+ "}" + "}";
+		convertRequestDto.setRequest(mapper.readValue(req, ConvertRequestDto.class));
+
+		ConverterDataUtil.checkResponse(
+				mockMvc.perform(post("/convert").contentType(MediaType.APPLICATION_JSON)
+						.content(mapper.writeValueAsString(convertRequestDto))).andReturn(),
+				200, SourceFormatCode.ISO19794_5_2011, TargetFormatCode.ISO19794_5_2011_JPEG.getCode());
+	}
+
+	/*
+	 * get Iris (ISO19794_6_2011) to Iris ISO with PNG image
+	 */
+	@Test
+	@WithUserDetails("reg-officer")
+	public void t018ConvertTest() throws Exception {
+		FileInputStream fis = new FileInputStream("src/test/resources/iris.txt");
+		String bioData = IOUtils.toString(fis, StandardCharsets.UTF_8);
+		String req = "{" + "\"values\":{" + "\"Left Iris\": \"" + bioData + "\"" + "},"
+				+ "\"sourceFormat\":\"ISO19794_6_2011\"," + "\"targetFormat\":\"ISO19794_6_2011/PNG\","
+				+ "\"sourceParameters\":{" + "\"key\":\"value\"" + "}," + "\"targetParameters\":{" + "\"key\":\"value\""
+				+ "}" + "}";
+		convertRequestDto.setRequest(mapper.readValue(req, ConvertRequestDto.class));
+
+		ConverterDataUtil.checkResponse(
+				mockMvc.perform(post("/convert").contentType(MediaType.APPLICATION_JSON)
+						.content(mapper.writeValueAsString(convertRequestDto))).andReturn(),
+				200, SourceFormatCode.ISO19794_6_2011, TargetFormatCode.ISO19794_6_2011_PNG.getCode());
+	}
+
+	/*
+	 * Target Format(ISO19794_5_2011/JPEG) Not Supported For the Given Source
+	 * Format(ISO19794_4_2011)
+	 */
+	@Test
+	@WithUserDetails("reg-officer")
+	public void t019ConvertTest() throws Exception {
+		FileInputStream fis = new FileInputStream("src/test/resources/finger.txt");
+		String bioData = IOUtils.toString(fis, StandardCharsets.UTF_8);
+		String req = "{" + "\"values\":{" + "\"Left IndexFinger\": \"" + bioData + "\"" + "},"
+				+ "\"sourceFormat\":\"ISO19794_4_2011\"," + "\"targetFormat\":\"ISO19794_5_2011/JPEG\","
+				+ "\"sourceParameters\":{" + "\"key\":\"value\"" + "}," + "\"targetParameters\":{" + "\"key\":\"value\""
+				+ "}" + "}";
+		convertRequestDto.setRequest(mapper.readValue(req, ConvertRequestDto.class));
+
+		ConverterDataUtil.checkResponse(
+				mockMvc.perform(post("/convert").contentType(MediaType.APPLICATION_JSON)
+						.content(mapper.writeValueAsString(convertRequestDto))).andReturn(),
+				500, null, "MOS-CNV-011");
+	}
+
+	/*
+	 * get Finger (ISO19794_4_2011) to JPEG resampled to 250 dpi
+	 */
+	@Test
+	@WithUserDetails("reg-officer")
+	public void t020ConvertTest() throws Exception {
+		FileInputStream fis = new FileInputStream("src/test/resources/finger.txt");
+		String bioData = IOUtils.toString(fis, StandardCharsets.UTF_8);
+		String req = "{" + "\"values\":{" + "\"Left IndexFinger\": \"" + bioData + "\"" + "},"
+				+ "\"sourceFormat\":\"ISO19794_4_2011\"," + "\"targetFormat\":\"IMAGE/JPEG\","
+				+ "\"sourceParameters\":{" + "\"key\":\"value\"" + "}," + "\"targetParameters\":{" + "\"dpi\":\"250\""
+				+ "}" + "}";
+		convertRequestDto.setRequest(mapper.readValue(req, ConvertRequestDto.class));
+
+		MvcResult rst = mockMvc.perform(post("/convert").contentType(MediaType.APPLICATION_JSON)
+				.content(mapper.writeValueAsString(convertRequestDto))).andReturn();
+		ConverterDataUtil.checkResponse(rst, 200, SourceFormatCode.ISO19794_4_2011,
+				TargetFormatCode.IMAGE_JPEG.getCode());
+		// 275x400 at 500 dpi
+		BufferedImage image = ConverterDataUtil.getImage(rst, "Left IndexFinger");
+		assertEquals(138, image.getWidth());
+		assertEquals(200, image.getHeight());
+		assertEquals(250, ConverterDataUtil.getDpi(ConverterDataUtil.getValue(rst, "Left IndexFinger")));
+	}
+
+	/*
+	 * get Face (ISO19794_5_2011) to PNG thumbnail
+	 */
+	@Test
+	@WithUserDetails("reg-officer")
+	public void t0201ConvertTest() throws Exception {
+		FileInputStream fis = new FileInputStream("src/test/resources/face.txt");
+		String bioData = IOUtils.toString(fis, StandardCharsets.UTF_8);
+		String req = "{" + "\"values\":{" + "\"Face\": \"" + bioData + "\"" + "},"
+				+ "\"sourceFormat\":\"ISO19794_5_2011\"," + "\"targetFormat\":\"IMAGE/PNG\","
+				+ "\"sourceParameters\":{" + "\"key\":\"value\"" + "}," + "\"targetParameters\":{" + "\"width\":\"120\",\"height\":\"120\",\"scaleMode\":\"speed\""
+				+ "}" + "}";
+		convertRequestDto.setRequest(mapper.readValue(req, ConvertRequestDto.class));
+
+		MvcResult rst = mockMvc.perform(post("/convert").contentType(MediaType.APPLICATION_JSON)
+				.content(mapper.writeValueAsString(convertRequestDto))).andReturn();
+		ConverterDataUtil.checkResponse(rst, 200, SourceFormatCode.ISO19794_5_2011,
+				TargetFormatCode.IMAGE_PNG.getCode());
+		// 240x320 without a known resolution
+		BufferedImage image = ConverterDataUtil.getImage(rst, "Face");
+		assertEquals(90, image.getWidth());
+		assertEquals(120, image.getHeight());
+		assertEquals(0, ConverterDataUtil.getDpi(ConverterDataUtil.getValue(rst, "Face")));
+	}
+
+	/*
+	 * get Finger (ISO19794_4_2011) to Finger ISO with PNG image resized
+	 */
+	@Test
+	@WithUserDetails("reg-officer")
+	public void t0202ConvertTest() throws Exception {
+		FileInputStream fis = new FileInputStream("src/test/resources/finger.txt");
+		String bioData = IOUtils.toString(fis, StandardCharsets.UTF_8);
+		String req = "{" + "\"values\":{" + "\"Left IndexFinger\": \"" + bioData + "\"" + "},"
+				+ "\"sourceFormat\":\"ISO19794_4_2011\"," + "\"targetFormat\":\"ISO19794_4_2011/PNG\","
+				+ "\"sourceParameters\":{" + "\"key\":\"value\"" + "}," + "\"targetParameters\":{" + "\"width\":\"100\",\"scaleMode\":\"ultra\""
+				+ "}" + "}";
+		convertRequestDto.setRequest(mapper.readValue(req, ConvertRequestDto.class));
+
+		MvcResult rst = mockMvc.perform(post("/convert").contentType(MediaType.APPLICATION_JSON)
+				.content(mapper.writeValueAsString(convertRequestDto))).andReturn();
+		ConverterDataUtil.checkResponse(rst, 200, SourceFormatCode.ISO19794_4_2011,
+				TargetFormatCode.ISO19794_4_2011_PNG.getCode());
+		// 275x400 at 500 dpi, the record carries the resolution of the resized image
+		FingerBDIR bdir = ConverterDataUtil.getFingerBDIR(ConverterDataUtil.getValue(rst, "Left IndexFinger"));
+		assertEquals(100, bdir.getLineLengthHorizontal());
+		assertEquals(145, bdir.getLineLengthVertical());
+		assertEquals(182, bdir.getImageSpatialSamplingRateHorizontal());
+		BufferedImage image = ImageIO.read(new ByteArrayInputStream(bdir.getImage()));
+		assertEquals(100, image.getWidth());
+		assertEquals(145, image.getHeight());
+		assertEquals(182, ConverterDataUtil.getDpi(bdir.getImage()));
+	}
+
+	/*
+	 * test invalid target parameter width
+	 */
+	@Test
+	@WithUserDetails("reg-officer")
+	public void t0203ConvertTest() throws Exception {
+		FileInputStream fis = new FileInputStream("src/test/resources/iris.txt");
+		String bioData = IOUtils.toString(fis, StandardCharsets.UTF_8);
+		String req = "{" + "\"values\":{" + "\"Left Iris\": \"" + bioData + "\"" + "},"
+				+ "\"sourceFormat\":\"ISO19794_6_2011\"," + "\"targetFormat\":\"IMAGE/PNG\","
+				+ "\"sourceParameters\":{" + "\"key\":\"value\"" + "}," + "\"targetParameters\":{" + "\"width\":\"-10\""
+				+ "}" + "}";
+		convertRequestDto.setRequest(mapper.readValue(req, ConvertRequestDto.class));
+
+		ConverterDataUtil.checkResponse(
+				mockMvc.perform(post("/convert").contentType(MediaType.APPLICATION_JSON)
+						.content(mapper.writeValueAsString(convertRequestDto))).andReturn(),
+				500, null, "MOS-CNV-002");
+	}
+
+	/*
+	 * get Finger (ISO19794_4_2011) to JPEG as multipart
+	 */
+	@Test
+	@WithUserDetails("reg-officer")
+	public void t021ConvertTest() throws Exception {
+		FileInputStream fis = new FileInputStream("src/test/resources/finger.txt");
+		byte[] bioData = CommonUtil.decodeURLSafeBase64(IOUtils.toString(fis, StandardCharsets.UTF_8));
+
+		MvcResult rst = mockMvc.perform(multipart("/convert/binary")
+				.file(new MockMultipartFile("Left IndexFinger", "finger.iso", "application/octet-stream", bioData))
+				.file(new MockMultipartFile("Left RingFinger", "finger.iso", "application/octet-stream", bioData))
+				.param("sourceFormat", "ISO19794_4_2011").param("targetFormat", "IMAGE/JPEG").param("dpi", "250"))
+				.andReturn();
+
+		assertEquals(200, rst.getResponse().getStatus());
+		Map<String, byte[]> values = ConverterDataUtil.getMultipartValues(rst);
+		assertEquals(2, values.size());
+		for (byte[] value : values.values())
+			ConverterDataUtil.checkValue(value, SourceFormatCode.ISO19794_4_2011, TargetFormatCode.IMAGE_JPEG.getCode());
+	}
+
+	/*
+	 * get Face (ISO19794_5_2011) to Face ISO with PNG image as length prefixed binary
+	 */
+	@Test
+	@WithUserDetails("reg-officer")
+	public void t0211ConvertTest() throws Exception {
+		FileInputStream fis = new FileInputStream("src/test/resources/face.txt");
+		byte[] bioData = CommonUtil.decodeURLSafeBase64(IOUtils.toString(fis, StandardCharsets.UTF_8));
+		ByteArrayOutputStream body = new ByteArrayOutputStream();
+		BinaryValueCodec.write(body, Map.of("Face", bioData));
+
+		MvcResult rst = mockMvc.perform(post("/convert/binary").contentType(MediaType.APPLICATION_OCTET_STREAM)
+				.param("sourceFormat", "ISO19794_5_2011").param("targetFormat", "ISO19794_5_2011/PNG")
+				.content(body.toByteArray())).andReturn();
+
+		assertEquals(200, rst.getResponse().getStatus());
+		Map<String, byte[]> values = BinaryValueCodec.read(
+				new ByteArrayInputStream(rst.getResponse().getContentAsByteArray()), Long.MAX_VALUE, Long.MAX_VALUE);
+		assertEquals(1, values.size());
+		ConverterDataUtil.checkValue(values.get("Face"), SourceFormatCode.ISO19794_5_2011,
+				TargetFormatCode.ISO19794_5_2011_PNG.getCode());
+	}
+
+	/*
+	 * test truncated length prefixed binary body
+	 */
+	@Test
+	@WithUserDetails("reg-officer")
+	public void t0212ConvertTest() throws Exception {
+		FileInputStream fis = new FileInputStream("src/test/resources/iris.txt");
+		byte[] bioData = CommonUtil.decodeURLSafeBase64(IOUtils.toString(fis, StandardCharsets.UTF_8));
+		ByteArrayOutputStream body = new ByteArrayOutputStream();
+		BinaryValueCodec.write(body, Map.of("Left Iris", bioData));
+
+		ConverterDataUtil.checkResponse(
+				mockMvc.perform(post("/convert/binary").contentType(MediaType.APPLICATION_OCTET_STREAM)
+						.param("sourceFormat", "ISO19794_6_2011").param("targetFormat", "IMAGE/PNG")
+						.content(Arrays.copyOf(body.toByteArray(), body.size() - 10))).andReturn(),
+				500, null, "MOS-CNV-002");
+	}
+
+	/*
+	 * test length prefixed binary bodies with value lengths over the 20MB value limit
+	 */
+	@Test
+	@WithUserDetails("reg-officer")
+	public void t0213ConvertTest() throws Exception {
+		for (int valueLength : new int[] { 21 * 1024 * 1024, 0xFFFFFFFF }) {
+			ByteArrayOutputStream body = new ByteArrayOutputStream();
+			DataOutputStream dataOutputStream = new DataOutputStream(body);
+			dataOutputStream.writeShort(9);
+			dataOutputStream.write("Left Iris".getBytes(StandardCharsets.UTF_8));
+			dataOutputStream.writeInt(valueLength);
+			dataOutputStream.write(new byte[16]);
+
+			ConverterDataUtil.checkResponse(
+					mockMvc.perform(post("/convert/binary").contentType(MediaType.APPLICATION_OCTET_STREAM)
+							.param("sourceFormat", "ISO19794_6_2011").param("targetFormat", "IMAGE/PNG")
+							.content(body.toByteArray())).andReturn(),
+					500, null, "MOS-CNV-014");
+		}
+	}
+
+	/*
+	 * get Finger (ISO19794_4_2011) to JPEG with the formats before the values, padded and unpadded values
+	 */
+	@Test
+	@WithUserDetails("reg-officer")
+	public void t022ConvertTest() throws Exception {
+		FileInputStream fis = new FileInputStream("src/test/resources/finger.txt");
+		String bioData = IOUtils.toString(fis, StandardCharsets.UTF_8).trim();
+		String paddedBioData = bioData + "===".substring(0, (4 - bioData.length() % 4) % 4);
+		String req = "{" + "\"id\":\"sample-converter\"," + "\"version\":\"1.0\"," + "\"request\":{"
+				+ "\"sourceFormat\":\"ISO19794_4_2011\"," + "\"targetFormat\":\"IMAGE/JPEG\","
+				+ "\"targetParameters\":{" + "\"dpi\":\"250\"" + "}," + "\"values\":{" + "\"Left IndexFinger\": \""
+				+ bioData + "\"," + "\"Left MiddleFinger\": \"" + paddedBioData + "\"," + "\"Left RingFinger\": \""
+				+ bioData + "\"" + "}" + "}" + "}";
+
+		ConverterDataUtil.checkResponse(
+				mockMvc.perform(post("/convert").contentType(MediaType.APPLICATION_JSON).content(req)).andReturn(), 200,
+				SourceFormatCode.ISO19794_4_2011, TargetFormatCode.IMAGE_JPEG.getCode());
+	}
+
+	/*
+	 * test value with invalid base64 padding ending at the closing quote, formats before the values
+	 */
+	@Test
+	@WithUserDetails("reg-officer")
+	public void t0221ConvertTest() throws Exception {
+		String req = "{" + "\"id\":\"sample-converter\"," + "\"version\":\"1.0\"," + "\"request\":{"
+				+ "\"sourceFormat\":\"ISO19794_4_2011\"," + "\"targetFormat\":\"IMAGE/JPEG\","
+				+ "\"targetParameters\":{" + "\"key\":\"value\"" + "}," + "\"values\":{"
+				+ "\"Left IndexFinger\": \"aGVsbA=\"," + "\"Left MiddleFinger\": \"aGVsbA\"" + "}" + "}" + "}";
+
+		ConverterDataUtil.checkResponse(
+				mockMvc.perform(post("/convert").contentType(MediaType.APPLICATION_JSON).content(req)).andReturn(), 500,
+				null, "MOS-CNV-006");
+	}
+
+	/*
+	 * test request constraints and malformed bodies read as a stream: missing values, blank target
+	 * format after the values, invalid JSON
+	 */
+	@Test
+	@WithUserDetails("reg-officer")
+	public void t0222ConvertTest() throws Exception {
+		String formats = "\"sourceFormat\":\"ISO19794_4_2011\"," + "\"targetFormat\":\"IMAGE/JPEG\"";
+		String[][] requests = {
+				{ "{" + "\"request\":{" + formats + "}" + "}", "MOS-CNV-500" },
+				{ "{" + "\"request\":{" + "\"values\":{" + "\"Left IndexFinger\": \"aGVsbG8\"" + "},"
+						+ "\"sourceFormat\":\"ISO19794_4_2011\"," + "\"targetFormat\":\" \"" + "}" + "}",
+						"MOS-CNV-004" },
+				{ "{" + "\"request\":{" + formats + "," + "\"values\" {" + "}" + "}" + "}", "MOS-CNV-500" } };
+		for (String[] request : requests) {
+			ConverterDataUtil.checkResponse(
+					mockMvc.perform(post("/convert").contentType(MediaType.APPLICATION_JSON).content(request[0]))
+							.andReturn(),
+					500, null, request[1]);
+		}
+	}
+
+	/*
+	 * test body truncated after the first values, formats before the values: the values handed to
+	 * the workers are cancelled and never converted
+	 */
+	@Test
+	@WithUserDetails("reg-officer")
+	public void t0223ConvertTest() throws Exception {
+		String finger = IOUtils.toString(new FileInputStream("src/test/resources/finger.txt"), StandardCharsets.UTF_8);
+		String req = "{" + "\"id\":\"sample-converter\"," + "\"version\":\"1.0\"," + "\"request\":{"
+				+ "\"sourceFormat\":\"ISO19794_4_2011\"," + "\"targetFormat\":\"IMAGE/PNG\","
+				+ "\"targetParameters\":{" + "\"key\":\"value\"" + "}," + "\"values\":{" + "\"Left IndexFinger\": \""
+				+ finger + "\"," + "\"Left MiddleFinger\": \"" + finger + "\"," + "\"Left RingFinger\": \"";
+		double conversions = countConversions("ISO19794_4_2011", "IMAGE/PNG");
+
+		// the workers are kept busy, so the values wait in the pool queue until the body fails
+		CountDownLatch release = new CountDownLatch(1);
+		Runnable blocker = () -> {
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		};
+		MvcResult rst;
+		try {
+			while (conversionExecutor.tryExecute(blocker)) {
+				// until no worker is idle
+			}
+			rst = mockMvc.perform(post("/convert").contentType(MediaType.APPLICATION_JSON).content(req)).andReturn();
+		} finally {
+			release.countDown();
+		}
+		ConverterDataUtil.checkResponse(rst, 500, null, "MOS-CNV-500");
+
+		// waits for the workers to take the cancelled values, and for a conversion they would run
+		Runnable idle = () -> {
+		};
+		for (int attempt = 0; attempt < 100 && !conversionExecutor.tryExecute(idle); attempt++)
+			Thread.sleep(100);
+		Thread.sleep(500);
+		assertEquals(conversions, countConversions("ISO19794_4_2011", "IMAGE/PNG"), 0);
+	}
+
+	/*
+	 * get Finger (ISO19794_4_2011) to JPEG as a streamed response in request order
+	 */
+	@Test
+	@WithUserDetails("reg-officer")
+	public void t023ConvertTest() throws Exception {
+		FileInputStream fis = new FileInputStream("src/test/resources/finger.txt");
+		String bioData = IOUtils.toString(fis, StandardCharsets.UTF_8);
+		String req = "{" + "\"sourceFormat\":\"ISO19794_4_2011\"," + "\"targetFormat\":\"IMAGE/JPEG\","
+				+ "\"targetParameters\":{" + "\"key\":\"value\"" + "}," + "\"values\":{" + "\"Left IndexFinger\": \""
+				+ bioData + "\"," + "\"Left MiddleFinger\": \"" + bioData + "\"," + "\"Left RingFinger\": \"" + bioData
+				+ "\"" + "}" + "}";
+		convertRequestDto.setRequest(mapper.readValue(req, ConvertRequestDto.class));
+
+		MvcResult rst = mockMvc.perform(post("/convert").param("stream", "ordered")
+				.contentType(MediaType.APPLICATION_JSON).content(mapper.writeValueAsString(convertRequestDto)))
+				.andReturn();
+		ConverterDataUtil.checkResponse(rst, 200, SourceFormatCode.ISO19794_4_2011,
+				TargetFormatCode.IMAGE_JPEG.getCode());
+		Map<?, ?> response = mapper.readValue(rst.getResponse().getContentAsString(), Map.class);
+		assertEquals("sample-converter", response.get("id"));
+		assertEquals(3, ((Map<?, ?>) response.get("response")).size());
+	}
+
+	/*
+	 * get Face (ISO19794_5_2011) to Face ISO with JPEG image as a streamed response in completion order
+	 */
+	@Test
+	@WithUserDetails("reg-officer")
+	public void t0231ConvertTest() throws Exception {
+		FileInputStream fis = new FileInputStream("src/test/resources/face.txt");
+		String bioData = IOUtils.toString(fis, StandardCharsets.UTF_8);
+		String req = "{" + "\"values\":{" + "\"Face\": \"" + bioData + "\"" + "},"
+				+ "\"sourceFormat\":\"ISO19794_5_2011\"," + "\"targetFormat\":\"ISO19794_5_2011/JPEG\","
+				+ "\"sourceParameters\":{" + "\"key\":\"value\"" + "}," + "\"targetParameters\":{" + "\"key\":\"value\""
+				+ "}" + "}";
+		convertRequestDto.setRequest(mapper.readValue(req, ConvertRequestDto.class));
+
+		ConverterDataUtil.checkResponse(
+				mockMvc.perform(post("/convert").param("stream", "completion").contentType(MediaType.APPLICATION_JSON)
+						.content(mapper.writeValueAsString(convertRequestDto))).andReturn(),
+				200, SourceFormatCode.ISO19794_5_2011, TargetFormatCode.ISO19794_5_2011_JPEG.getCode());
+	}
+
+	/*
+	 * test streamed response with a failing value after a converted one
+	 */
+	@Test
+	@WithUserDetails("reg-officer")
+	public void t0232ConvertTest() throws Exception {
+		FileInputStream fis = new FileInputStream("src/test/resources/finger.txt");
+		String bioData = IOUtils.toString(fis, StandardCharsets.UTF_8);
+		String req = "{" + "\"values\":{" + "\"Left IndexFinger\": \"" + bioData + "\","
+				+ "\"Left MiddleFinger\": \"aGVsbG8gaG93IGFyZSB5b3U\"" + "}," + "\"sourceFormat\":\"ISO19794_4_2011\","
+				+ "\"targetFormat\":\"IMAGE/PNG\"," + "\"sourceParameters\":{" + "\"key\":\"value\"" + "},"
+				+ "\"targetParameters\":{" + "\"key\":\"value\"" + "}" + "}";
+		convertRequestDto.setRequest(mapper.readValue(req, ConvertRequestDto.class));
+
+		MvcResult rst = mockMvc.perform(post("/convert").param("stream", "ordered")
+				.contentType(MediaType.APPLICATION_JSON).content(mapper.writeValueAsString(convertRequestDto)))
+				.andReturn();
+		assertEquals(200, rst.getResponse().getStatus());
+		Map<?, ?> response = mapper.readValue(rst.getResponse().getContentAsString(), Map.class);
+		assertEquals(1, ((Map<?, ?>) response.get("response")).size());
+		assertEquals("MOS-CNV-008", ((Map<?, ?>) ((List<?>) response.get("errors")).get(0)).get("errorCode"));
+	}
+
+	/*
+	 * test invalid stream mode
+	 */
+	@Test
+	@WithUserDetails("reg-officer")
+	public void t0233ConvertTest() throws Exception {
+		FileInputStream fis = new FileInputStream("src/test/resources/iris.txt");
+		String bioData = IOUtils.toString(fis, StandardCharsets.UTF_8);
+		String req = "{" + "\"values\":{" + "\"Left Iris\": \"" + bioData + "\"" + "},"
+				+ "\"sourceFormat\":\"ISO19794_6_2011\"," + "\"targetFormat\":\"IMAGE/PNG\","
+				+ "\"sourceParameters\":{" + "\"key\":\"value\"" + "}," + "\"targetParameters\":{" + "\"key\":\"value\""
+				+ "}" + "}";
+		convertRequestDto.setRequest(mapper.readValue(req, ConvertRequestDto.class));
+
+		ConverterDataUtil.checkResponse(
+				mockMvc.perform(post("/convert").param("stream", "random").contentType(MediaType.APPLICATION_JSON)
+						.content(mapper.writeValueAsString(convertRequestDto))).andReturn(),
+				500, null, "MOS-CNV-002");
+	}
+
+	/*
+	 * test stage metrics of a conversion
+	 */
+	@Test
+	@WithUserDetails("reg-officer")
+	public void t025ConvertTest() throws Exception {
+		FileInputStream fis = new FileInputStream("src/test/resources/iris.txt");
+		String bioData = IOUtils.toString(fis, StandardCharsets.UTF_8);
+		String req = "{" + "\"values\":{" + "\"Left Iris\": \"" + bioData + "\"" + "},"
+				+ "\"sourceFormat\":\"ISO19794_6_2011\"," + "\"targetFormat\":\"IMAGE/JPEG\","
+				+ "\"sourceParameters\":{" + "\"key\":\"value\"" + "}," + "\"targetParameters\":{" + "\"width\":\"160\""
+				+ "}" + "}";
+		convertRequestDto.setRequest(mapper.readValue(req, ConvertRequestDto.class));
+
+		ConverterDataUtil.checkResponse(
+				mockMvc.perform(post("/convert").contentType(MediaType.APPLICATION_JSON)
+						.content(mapper.writeValueAsString(convertRequestDto))).andReturn(),
+				200, SourceFormatCode.ISO19794_6_2011, TargetFormatCode.IMAGE_JPEG.getCode());
+
+		for (String stage : Arrays.asList("parse_bdir", "decode_image", "encode_image")) {
+			assertTrue(stage, meterRegistry.get("bio.converter.stage").tag("stage", stage)
+					.tag("source", "ISO19794_6_2011").tag("target", "IMAGE/JPEG").tag("compression", "jpeg2000")
+					.timer().count() > 0);
+		}
+		// the 320 px wide image is decoded at half size, already the target size
+		assertEquals(null, meterRegistry.find("bio.converter.stage").tag("stage", "resize_image")
+				.tag("source", "ISO19794_6_2011").tag("target", "IMAGE/JPEG").timer());
+		assertTrue(meterRegistry.get("bio.converter.conversions").tag("result", "success")
+				.tag("source", "ISO19794_6_2011").counter().count() > 0);
+		assertEquals(320.0, meterRegistry.get("bio.converter.image.width").tag("source", "ISO19794_6_2011")
+				.tag("target", "IMAGE/JPEG").summary().max(), 0.0);
+		for (String stage : Arrays.asList("decode_base64", "encode_base64")) {
+			assertTrue(stage, countStage(stage, "ISO19794_6_2011", "IMAGE/JPEG") > 0);
+		}
+	}
+
+	/*
+	 * test base64 stage metrics of a streamed conversion
+	 */
+	@Test
+	@WithUserDetails("reg-officer")
+	public void t0251ConvertTest() throws Exception {
+		FileInputStream fis = new FileInputStream("src/test/resources/finger.txt");
+		String bioData = IOUtils.toString(fis, StandardCharsets.UTF_8);
+		String req = "{" + "\"sourceFormat\":\"ISO19794_4_2011\"," + "\"targetFormat\":\"IMAGE/PNG\","
+				+ "\"targetParameters\":{" + "\"key\":\"value\"" + "}," + "\"values\":{" + "\"Left IndexFinger\": \""
+				+ bioData + "\"," + "\"Left MiddleFinger\": \"" + bioData + "\"" + "}" + "}";
+		convertRequestDto.setRequest(mapper.readValue(req, ConvertRequestDto.class));
+
+		long decodeCount = countStage("decode_base64", "ISO19794_4_2011", "IMAGE/PNG");
+		long encodeCount = countStage("encode_base64", "ISO19794_4_2011", "IMAGE/PNG");
+		ConverterDataUtil.checkResponse(
+				mockMvc.perform(post("/convert").param("stream", "ordered").contentType(MediaType.APPLICATION_JSON)
+						.content(mapper.writeValueAsString(convertRequestDto))).andReturn(),
+				200, SourceFormatCode.ISO19794_4_2011, TargetFormatCode.IMAGE_PNG.getCode());
+
+		assertEquals(decodeCount + 2, countStage("decode_base64", "ISO19794_4_2011", "IMAGE/PNG"));
+		assertEquals(encodeCount + 2, countStage("encode_base64", "ISO19794_4_2011", "IMAGE/PNG"));
+	}
+
+	/*
+	 * get Face (ISO19794_5_2011) to JPEG with a lower quality and to PNG with a compression level
+	 */
+	@Test
+	@WithUserDetails("reg-officer")
+	public void t026ConvertTest() throws Exception {
+		FileInputStream fis = new FileInputStream("src/test/resources/face.txt");
+		byte[] bioData = CommonUtil.decodeURLSafeBase64(IOUtils.toString(fis, StandardCharsets.UTF_8));
+
+		MvcResult rst = mockMvc.perform(multipart("/convert/binary")
+				.file(new MockMultipartFile("Face", "face.iso", "application/octet-stream", bioData))
+				.param("sourceFormat", "ISO19794_5_2011").param("targetFormat", "IMAGE/JPEG")).andReturn();
+		assertEquals(200, rst.getResponse().getStatus());
+		byte[] defaultQuality = ConverterDataUtil.getMultipartValues(rst).get("Face");
+
+		rst = mockMvc.perform(multipart("/convert/binary")
+				.file(new MockMultipartFile("Face", "face.iso", "application/octet-stream", bioData))
+				.param("sourceFormat", "ISO19794_5_2011").param("targetFormat", "IMAGE/JPEG").param("quality", "20"))
+				.andReturn();
+		assertEquals(200, rst.getResponse().getStatus());
+		byte[] lowQuality = ConverterDataUtil.getMultipartValues(rst).get("Face");
+		ConverterDataUtil.checkValue(lowQuality, SourceFormatCode.ISO19794_5_2011, TargetFormatCode.IMAGE_JPEG.getCode());
+		assertTrue(lowQuality.length < defaultQuality.length);
+
+		rst = mockMvc.perform(multipart("/convert/binary")
+				.file(new MockMultipartFile("Face", "face.iso", "application/octet-stream", bioData))
+				.param("sourceFormat", "ISO19794_5_2011").param("targetFormat", "IMAGE/PNG")
+				.param("compressionLevel", "0")).andReturn();
+		assertEquals(200, rst.getResponse().getStatus());
+		ConverterDataUtil.checkValue(ConverterDataUtil.getMultipartValues(rst).get("Face"),
+				SourceFormatCode.ISO19794_5_2011, TargetFormatCode.IMAGE_PNG.getCode());
+	}
+
+	/*
+	 * test invalid target parameter quality
+	 */
+	@Test
+	@WithUserDetails("reg-officer")
+	public void t0261ConvertTest() throws Exception {
+		FileInputStream fis = new FileInputStream("src/test/resources/face.txt");
+		String bioData = IOUtils.toString(fis, StandardCharsets.UTF_8);
+		String req = "{" + "\"values\":{" + "\"Face\": \"" + bioData + "\"" + "},"
+				+ "\"sourceFormat\":\"ISO19794_5_2011\"," + "\"targetFormat\":\"IMAGE/JPEG\","
+				+ "\"sourceParameters\":{" + "\"key\":\"value\"" + "}," + "\"targetParameters\":{" + "\"quality\":\"101\""
+				+ "}" + "}";
+		convertRequestDto.setRequest(mapper.readValue(req, ConvertRequestDto.class));
+
+		ConverterDataUtil.checkResponse(
+				mockMvc.perform(post("/convert").contentType(MediaType.APPLICATION_JSON)
+						.content(mapper.writeValueAsString(convertRequestDto))).andReturn(),
+				500, null, "MOS-CNV-002");
+	}
+
+	/*
+	 * batch of jobs with their own formats, failing jobs do not fail the batch
+	 */
+	@Test
+	@WithUserDetails("reg-officer")
+	@SuppressWarnings("unchecked")
+	public void t027ConvertTest() throws Exception {
+		String finger = IOUtils.toString(new FileInputStream("src/test/resources/finger.txt"), StandardCharsets.UTF_8);
+		String face = IOUtils.toString(new FileInputStream("src/test/resources/face.txt"), StandardCharsets.UTF_8);
+		String iris = IOUtils.toString(new FileInputStream("src/test/resources/iris.txt"), StandardCharsets.UTF_8);
+		String req = "{" + "\"id\":\"sample-converter\"," + "\"version\":\"1.0\"," + "\"request\":{" + "\"jobs\":["
+				+ "{" + "\"values\":{" + "\"Left IndexFinger\": \"" + finger + "\"" + "},"
+				+ "\"sourceFormat\":\"ISO19794_4_2011\"," + "\"targetFormat\":\"IMAGE/JPEG\"" + "},"
+				+ "{" + "\"values\":{" + "\"Face\": \"" + face + "\"" + "},"
+				+ "\"sourceFormat\":\"ISO19794_5_2011\"," + "\"targetFormat\":\"IMAGE/PNG\","
+				+ "\"targetParameters\":{" + "\"width\":\"120\"" + "}" + "},"
+				+ "{" + "\"values\":{" + "\"Left Iris\": \"" + iris + "\"" + "},"
+				+ "\"sourceFormat\":\"ISO19794_6_2011\"," + "\"targetFormat\":\"ISO19794_4_2011/JPEG\"" + "},"
+				+ "{" + "\"values\":{" + "\"Left IndexFinger\": \"####\"" + "},"
+				+ "\"sourceFormat\":\"ISO19794_4_2011\"," + "\"targetFormat\":\"IMAGE/JPEG\"" + "}"
+				+ "]" + "}" + "}";
+
+		MvcResult rst = mockMvc.perform(post("/convert/batch").contentType(MediaType.APPLICATION_JSON).content(req))
+				.andReturn();
+		assertEquals(200, rst.getResponse().getStatus());
+		Map<String, Object> body = mapper.readValue(rst.getResponse().getContentAsByteArray(), Map.class);
+		List<Map<String, Object>> results = (List<Map<String, Object>>) body.get("response");
+		assertEquals(4, results.size());
+
+		Map<String, String> values = (Map<String, String>) results.get(0).get("values");
+		ConverterDataUtil.checkValue(CommonUtil.decodeURLSafeBase64(values.get("Left IndexFinger")),
+				SourceFormatCode.ISO19794_4_2011, TargetFormatCode.IMAGE_JPEG.getCode());
+		values = (Map<String, String>) results.get(1).get("values");
+		ConverterDataUtil.checkValue(CommonUtil.decodeURLSafeBase64(values.get("Face")),
+				SourceFormatCode.ISO19794_5_2011, TargetFormatCode.IMAGE_PNG.getCode());
+		assertEquals("MOS-CNV-011",
+				((List<Map<String, String>>) results.get(2).get("errors")).get(0).get("errorCode"));
+		assertEquals("MOS-CNV-006",
+				((List<Map<String, String>>) results.get(3).get("errors")).get(0).get("errorCode"));
+	}
+
+	/*
+	 * test batch without jobs
+	 */
+	@Test
+	@WithUserDetails("reg-officer")
+	public void t0271ConvertTest() throws Exception {
+		String req = "{" + "\"id\":\"sample-converter\"," + "\"version\":\"1.0\"," + "\"request\":{" + "\"jobs\":[]"
+				+ "}" + "}";
+
+		ConverterDataUtil.checkResponse(
+				mockMvc.perform(post("/convert/batch").contentType(MediaType.APPLICATION_JSON).content(req))
+						.andReturn(),
+				500, null, "MOS-CNV-500");
+	}
+
+	/*
+	 * test asynchronous job, polled until completed
+	 */
+	@Test
+	@WithUserDetails("reg-officer")
+	public void t028ConvertTest() throws Exception {
+		String finger = IOUtils.toString(new FileInputStream("src/test/resources/finger.txt"), StandardCharsets.UTF_8);
+		String req = "{" + "\"id\":\"sample-converter\"," + "\"version\":\"1.0\"," + "\"request\":{" + "\"jobs\":["
+				+ "{" + "\"values\":{" + "\"Left IndexFinger\": \"" + finger + "\"" + "},"
+				+ "\"sourceFormat\":\"ISO19794_4_2011\"," + "\"targetFormat\":\"IMAGE/JPEG\"" + "},"
+				+ "{" + "\"values\":{" + "\"Left IndexFinger\": \"####\"" + "},"
+				+ "\"sourceFormat\":\"ISO19794_4_2011\"," + "\"targetFormat\":\"IMAGE/JPEG\"" + "}"
+				+ "]" + "}" + "}";
+
+		MvcResult rst = mockMvc.perform(post("/convert/jobs").contentType(MediaType.APPLICATION_JSON).content(req))
+				.andReturn();
+		assertEquals(200, rst.getResponse().getStatus());
+		Map<String, Object> job = (Map<String, Object>) mapper
+				.readValue(rst.getResponse().getContentAsByteArray(), Map.class).get("response");
+		String jobId = (String) job.get("jobId");
+
+		for (int attempt = 0; attempt < 100 && !"COMPLETED".equals(job.get("status")); attempt++) {
+			Thread.sleep(100);
+			rst = mockMvc.perform(get("/convert/jobs/" + jobId)).andReturn();
+			job = (Map<String, Object>) mapper.readValue(rst.getResponse().getContentAsByteArray(), Map.class)
+					.get("response");
+		}
+		assertEquals("COMPLETED", job.get("status"));
+		assertEquals(2, job.get("convertedJobs"));
+
+		rst = mockMvc.perform(get("/convert/jobs/" + jobId + "/results")).andReturn();
+		assertEquals(200, rst.getResponse().getStatus());
+		String[] lines = rst.getResponse().getContentAsString().split("\n");
+		assertEquals(2, lines.length);
+		Map<String, String> values = (Map<String, String>) mapper.readValue(lines[0], Map.class).get("values");
+		ConverterDataUtil.checkValue(CommonUtil.decodeURLSafeBase64(values.get("Left IndexFinger")),
+				SourceFormatCode.ISO19794_4_2011, TargetFormatCode.IMAGE_JPEG.getCode());
+		assertEquals("MOS-CNV-006", ((List<Map<String, String>>) mapper.readValue(lines[1], Map.class).get("errors"))
+				.get(0).get("errorCode"));
+
+		assertEquals(200, mockMvc.perform(delete("/convert/jobs/" + jobId)).andReturn().getResponse().getStatus());
+		ConverterDataUtil.checkResponse(mockMvc.perform(get("/convert/jobs/" + jobId)).andReturn(), 500, null,
+				"MOS-CNV-002");
+	}
+
+	/*
+	 * test asynchronous job without jobs, the job fails
+	 */
+	@Test
+	@WithUserDetails("reg-officer")
+	public void t0281ConvertTest() throws Exception {
+		String req = "{" + "\"id\":\"sample-converter\"," + "\"version\":\"1.0\"," + "\"request\":null" + "}";
+
+		MvcResult rst = mockMvc.perform(post("/convert/jobs").contentType(MediaType.APPLICATION_JSON).content(req))
+				.andReturn();
+		Map<String, Object> job = (Map<String, Object>) mapper
+				.readValue(rst.getResponse().getContentAsByteArray(), Map.class).get("response");
+		String jobId = (String) job.get("jobId");
+
+		for (int attempt = 0; attempt < 100 && !"FAILED".equals(job.get("status")); attempt++) {
+			Thread.sleep(100);
+			rst = mockMvc.perform(get("/convert/jobs/" + jobId)).andReturn();
+			job = (Map<String, Object>) mapper.readValue(rst.getResponse().getContentAsByteArray(), Map.class)
+					.get("response");
+		}
+		assertEquals("FAILED", job.get("status"));
+		assertEquals("MOS-CNV-500", ((List<Map<String, String>>) job.get("errors")).get(0).get("errorCode"));
+		ConverterDataUtil.checkResponse(mockMvc.perform(get("/convert/jobs/" + jobId + "/results")).andReturn(),
+				500, null, "MOS-CNV-002");
+	}
+
+	/*
+	 * test job submissions rejected with Retry-After over the active jobs or the
+	 * spool size
+	 */
+	@Test
+	public void t0282ConvertTest() throws Exception {
+		Path spoolDirectory = Files.createTempDirectory("bio-converter-jobs");
+		byte[] req = "{\"request\":{\"jobs\":[]}}".getBytes(StandardCharsets.UTF_8);
+		for (int maxActiveJobs : new int[] { 0, 1 }) {
+			// the spool holds less than the request
+			ConversionJobServiceImpl jobService = new ConversionJobServiceImpl(converterService, mapper,
+					spoolDirectory, 1, maxActiveJobs, DataSize.ofBytes(req.length - 1), Duration.ofHours(1), 16,
+					Duration.ofSeconds(10), null);
+			try {
+				for (int attempt = 0; attempt < 2; attempt++) {
+					try {
+						jobService.submit(new ByteArrayInputStream(req));
+						fail();
+					} catch (ConversionRejectedException e) {
+						assertEquals("MOS-CNV-013", e.getErrorCode());
+						assertEquals(Duration.ofSeconds(10), e.getRetryAfter());
+						assertTrue(e.getMessage(), e.getMessage().contains(
+								maxActiveJobs == 0 ? "more than 0 active jobs" : "spool is full"));
+					}
+				}
+				try (Stream<Path> files = Files.list(spoolDirectory)) {
+					assertEquals(0, files.count());
+				}
+			} finally {
+				jobService.shutdown();
+			}
+		}
+		Files.delete(spoolDirectory);
+	}
+
+	/*
+	 * test request rejected while all admission permits are taken
+	 */
+	@Test
+	@WithUserDetails("reg-officer")
+	public void t029ConvertTest() throws Exception {
+		String finger = IOUtils.toString(new FileInputStream("src/test/resources/finger.txt"), StandardCharsets.UTF_8);
+		String req = "{" + "\"id\":\"sample-converter\"," + "\"version\":\"1.0\"," + "\"request\":{"
+				+ "\"values\":{" + "\"Left IndexFinger\": \"" + finger + "\"" + "},"
+				+ "\"sourceFormat\":\"ISO19794_4_2011\"," + "\"targetFormat\":\"IMAGE/JPEG\"" + "}" + "}";
+		double rejected = meterRegistry.counter("bio.converter.limiter.rejected", "reason", "timeout").count();
+
+		for (int permit = 0; permit < conversionLimiter.getPermits(); permit++)
+			conversionLimiter.acquire();
+		MvcResult rst;
+		try {
+			rst = mockMvc.perform(post("/convert").contentType(MediaType.APPLICATION_JSON).content(req)).andReturn();
+		} finally {
+			for (int permit = 0; permit < conversionLimiter.getPermits(); permit++)
+				conversionLimiter.release();
+		}
+		assertEquals(503, rst.getResponse().getStatus());
+		assertEquals("1", rst.getResponse().getHeader("Retry-After"));
+		Map<String, Object> body = mapper.readValue(rst.getResponse().getContentAsByteArray(), Map.class);
+		assertEquals("MOS-CNV-013", ((List<Map<String, String>>) body.get("errors")).get(0).get("errorCode"));
+		assertEquals(rejected + 1,
+				meterRegistry.counter("bio.converter.limiter.rejected", "reason", "timeout").count(), 0);
+		assertEquals(0, conversionLimiter.getInFlight());
+
+		ConverterDataUtil.checkResponse(
+				mockMvc.perform(post("/convert").contentType(MediaType.APPLICATION_JSON).content(req)).andReturn(),
+				200, SourceFormatCode.ISO19794_4_2011, TargetFormatCode.IMAGE_JPEG.getCode());
+	}
+
+	/*
+	 * test requests stalled while uploading their body hold no admission permit
+	 */
+	@Test
+	@WithUserDetails("reg-officer")
+	public void t0291ConvertTest() throws Exception {
+		String finger = IOUtils.toString(new FileInputStream("src/test/resources/finger.txt"), StandardCharsets.UTF_8);
+		String req = "{" + "\"id\":\"sample-converter\"," + "\"version\":\"1.0\"," + "\"request\":{"
+				+ "\"values\":{" + "\"Left IndexFinger\": \"" + finger + "\"" + "},"
+				+ "\"sourceFormat\":\"ISO19794_4_2011\"," + "\"targetFormat\":\"IMAGE/JPEG\"" + "}" + "}";
+		byte[] head = req.substring(0, req.indexOf(finger) + finger.length() / 2).getBytes(StandardCharsets.UTF_8);
+
+		// as many stalled uploads as permits, each waits in the middle of its value
+		int uploads = conversionLimiter.getPermits();
+		CountDownLatch stalled = new CountDownLatch(uploads);
+		CountDownLatch release = new CountDownLatch(1);
+		List<Thread> threads = new ArrayList<>();
+		for (int upload = 0; upload < uploads; upload++) {
+			RequestBuilder stalledRequest = servletContext -> {
+				MockHttpServletRequest request = new MockHttpServletRequest(servletContext, "POST", "/convert") {
+					@Override
+					public ServletInputStream getInputStream() {
+						return new DelegatingServletInputStream(stalledStream(head, stalled, release));
+					}
+				};
+				request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+				return request;
+			};
+			Thread thread = new Thread(() -> {
+				try {
+					mockMvc.perform(stalledRequest);
+				} catch (Exception e) {
+					// the truncated body fails once released
+				}
+			});
+			thread.start();
+			threads.add(thread);
+		}
+		MvcResult rst;
+		try {
+			assertTrue(stalled.await(10, TimeUnit.SECONDS));
+			assertEquals(0, conversionLimiter.getInFlight());
+			rst = mockMvc.perform(post("/convert").contentType(MediaType.APPLICATION_JSON).content(req)).andReturn();
+		} finally {
+			release.countDown();
+			for (Thread thread : threads)
+				thread.join();
+		}
+		ConverterDataUtil.checkResponse(rst, 200, SourceFormatCode.ISO19794_4_2011,
+				TargetFormatCode.IMAGE_JPEG.getCode());
+		assertEquals(0, conversionLimiter.getInFlight());
+	}
+
+	/*
+	 * test batch rejected at once while all admission permits are taken, the jobs
+	 * after the rejected one do not wait for a permit
+	 */
+	@Test
+	@WithUserDetails("reg-officer")
+	public void t0292ConvertTest() throws Exception {
+		String finger = IOUtils.toString(new FileInputStream("src/test/resources/finger.txt"), StandardCharsets.UTF_8);
+		List<String> jobs = new ArrayList<>();
+		for (int job = 0; job < 8; job++)
+			jobs.add("{" + "\"values\":{" + "\"Left IndexFinger\": \"" + finger + "\"" + "},"
+					+ "\"sourceFormat\":\"ISO19794_4_2011\"," + "\"targetFormat\":\"IMAGE/JPEG\"" + "}");
+		String req = "{" + "\"id\":\"sample-converter\"," + "\"version\":\"1.0\"," + "\"request\":{"
+				+ "\"jobs\":[" + String.join(",", jobs) + "]" + "}" + "}";
+		double rejected = meterRegistry.counter("bio.converter.limiter.rejected", "reason", "timeout").count();
+
+		for (int permit = 0; permit < conversionLimiter.getPermits(); permit++)
+			conversionLimiter.acquire();
+		MvcResult rst;
+		try {
+			rst = mockMvc.perform(post("/convert/batch").contentType(MediaType.APPLICATION_JSON).content(req))
+					.andReturn();
+		} finally {
+			for (int permit = 0; permit < conversionLimiter.getPermits(); permit++)
+				conversionLimiter.release();
+		}
+		assertEquals(503, rst.getResponse().getStatus());
+		assertEquals("1", rst.getResponse().getHeader("Retry-After"));
+		Map<String, Object> body = mapper.readValue(rst.getResponse().getContentAsByteArray(), Map.class);
+		assertEquals("MOS-CNV-013", ((List<Map<String, String>>) body.get("errors")).get(0).get("errorCode"));
+		// a single job waited for the queue timeout
+		assertEquals(rejected + 1,
+				meterRegistry.counter("bio.converter.limiter.rejected", "reason", "timeout").count(), 0);
+		assertEquals(0, conversionLimiter.getInFlight());
+	}
+
+	/*
+	 * test converter plugins registered by source and target format
+	 */
+	@Test
+	public void t030ConvertTest() {
+		assertEquals(1, converterRegistry.get(SourceFormatCode.ISO19794_4_2011, TargetFormatCode.IMAGE_JPEG).length);
+		assertTrue(converterRegistry.get(SourceFormatCode.ISO19794_4_2011,
+				TargetFormatCode.ISO19794_4_2011_PNG)[0] instanceof FingerImageConverter);
+		assertEquals(0,
+				converterRegistry.get(SourceFormatCode.ISO19794_6_2011, TargetFormatCode.ISO19794_4_2011_JPEG).length);
+	}
+
+	/*
+	 * get Iris (ISO19794_6_2011) to PNG and JPEG as single channel images
+	 */
+	@Test
+	@WithUserDetails("reg-officer")
+	public void t031ConvertTest() throws Exception {
+		FileInputStream fis = new FileInputStream("src/test/resources/iris.txt");
+		String bioData = IOUtils.toString(fis, StandardCharsets.UTF_8);
+		for (TargetFormatCode targetCode : Arrays.asList(TargetFormatCode.IMAGE_PNG, TargetFormatCode.IMAGE_JPEG)) {
+			String req = "{" + "\"values\":{" + "\"Left Iris\": \"" + bioData + "\"" + "},"
+					+ "\"sourceFormat\":\"ISO19794_6_2011\"," + "\"targetFormat\":\"" + targetCode.getCode() + "\","
+					+ "\"sourceParameters\":{" + "\"key\":\"value\"" + "}," + "\"targetParameters\":{"
+					+ "\"width\":\"160\"" + "}" + "}";
+			convertRequestDto.setRequest(mapper.readValue(req, ConvertRequestDto.class));
+
+			MvcResult rst = mockMvc.perform(post("/convert").contentType(MediaType.APPLICATION_JSON)
+					.content(mapper.writeValueAsString(convertRequestDto))).andReturn();
+			ConverterDataUtil.checkResponse(rst, 200, SourceFormatCode.ISO19794_6_2011, targetCode.getCode());
+			BufferedImage image = ConverterDataUtil.getImage(rst, "Left Iris");
+			assertEquals(targetCode.getCode(), 1, image.getRaster().getNumBands());
+			assertEquals(160, image.getWidth());
+		}
+	}
+
+	/*
+	 * get Face (ISO19794_5_2011) thumbnails decoded from the lower JPEG2000 resolution levels
+	 */
+	@Test
+	@WithUserDetails("reg-officer")
+	public void t032ConvertTest() throws Exception {
+		FileInputStream fis = new FileInputStream("src/test/resources/face.txt");
+		String bioData = IOUtils.toString(fis, StandardCharsets.UTF_8);
+		for (int width : new int[] { 120, 50 }) {
+			String req = "{" + "\"values\":{" + "\"Face\": \"" + bioData + "\"" + "},"
+					+ "\"sourceFormat\":\"ISO19794_5_2011\"," + "\"targetFormat\":\"IMAGE/JPEG\","
+					+ "\"sourceParameters\":{" + "\"key\":\"value\"" + "}," + "\"targetParameters\":{"
+					+ "\"width\":\"" + width + "\"" + "}" + "}";
+			convertRequestDto.setRequest(mapper.readValue(req, ConvertRequestDto.class));
+
+			MvcResult rst = mockMvc.perform(post("/convert").contentType(MediaType.APPLICATION_JSON)
+					.content(mapper.writeValueAsString(convertRequestDto))).andReturn();
+			ConverterDataUtil.checkResponse(rst, 200, SourceFormatCode.ISO19794_5_2011,
+					TargetFormatCode.IMAGE_JPEG.getCode());
+			BufferedImage image = ConverterDataUtil.getImage(rst, "Face");
+			assertEquals(width, image.getWidth());
+			assertEquals(Math.round(width * 320 / 240.0), image.getHeight());
+		}
+		assertEquals(240.0, meterRegistry.get("bio.converter.image.width").tag("source", "ISO19794_5_2011")
+				.tag("target", "IMAGE/JPEG").summary().max(), 0.0);
+	}
+
+	/*
+	 * get Face (ISO19794_5_2011) regions to PNG, cropped to a box and to the token face
+	 */
+	@Test
+	@WithUserDetails("reg-officer")
+	public void t033ConvertTest() throws Exception {
+		FileInputStream fis = new FileInputStream("src/test/resources/face.txt");
+		String bioData = IOUtils.toString(fis, StandardCharsets.UTF_8);
+		String req = "{" + "\"values\":{" + "\"Face\": \"" + bioData + "\"" + "},"
+				+ "\"sourceFormat\":\"ISO19794_5_2011\"," + "\"targetFormat\":\"%s\","
+				+ "\"sourceParameters\":{" + "\"key\":\"value\"" + "}," + "\"targetParameters\":{%s}" + "}";
+
+		BufferedImage fullImage = ConverterDataUtil.getImage(convertFace(String.format(req, "IMAGE/PNG", "")),
+				"Face");
+		BufferedImage cropImage = ConverterDataUtil.getImage(
+				convertFace(String.format(req, "IMAGE/PNG", "\"crop\":\"60,80,120,160\"")), "Face");
+		assertEquals(120, cropImage.getWidth());
+		assertEquals(160, cropImage.getHeight());
+		assertEquals(fullImage.getRGB(60, 80), cropImage.getRGB(0, 0));
+		assertEquals(fullImage.getRGB(179, 239), cropImage.getRGB(119, 159));
+
+		// region past the image border, decoded at half resolution
+		BufferedImage scaledImage = ConverterDataUtil.getImage(
+				convertFace(String.format(req, "IMAGE/PNG", "\"crop\":\"120,160,400,400\",\"width\":\"60\"")),
+				"Face");
+		assertEquals(60, scaledImage.getWidth());
+		assertEquals(80, scaledImage.getHeight());
+
+		// the fixture has no landmarks
+		ConverterDataUtil.checkResponse(convertFace(String.format(req, "IMAGE/PNG", "\"crop\":\"token\"")), 500,
+				SourceFormatCode.ISO19794_5_2011, "MOS-CNV-002");
+		ConverterDataUtil.checkResponse(
+				convertFace(String.format(req, "ISO19794_5_2011/PNG", "\"crop\":\"60,80,120,160\"")), 500,
+				SourceFormatCode.ISO19794_5_2011, "MOS-CNV-002");
+
+		Rectangle tokenRegion = new ImageCrop(true, null).getRegion(new LandmarkPoints[] {
+				new LandmarkPoints(LandmarkPointType.MPEG4_FEATURE, 0xC1, 160, 150, 0),
+				new LandmarkPoints(LandmarkPointType.MPEG4_FEATURE, 0xC2, 100, 150, 0) });
+		assertEquals(new Rectangle(10, 6, 240, 320), tokenRegion);
+	}
+
+	/*
+	 * test crop of Finger (ISO19794_4_2011) and Iris (ISO19794_6_2011) rejected, only face images are cropped
+	 */
+	@Test
+	@WithUserDetails("reg-officer")
+	public void t0331ConvertTest() throws Exception {
+		String finger = IOUtils.toString(new FileInputStream("src/test/resources/finger.txt"), StandardCharsets.UTF_8);
+		String iris = IOUtils.toString(new FileInputStream("src/test/resources/iris.txt"), StandardCharsets.UTF_8);
+		String req = "{" + "\"values\":{" + "\"%s\": \"%s\"" + "}," + "\"sourceFormat\":\"%s\","
+				+ "\"targetFormat\":\"IMAGE/PNG\"," + "\"sourceParameters\":{" + "\"key\":\"value\"" + "},"
+				+ "\"targetParameters\":{" + "\"crop\":\"10,10,50,50\"" + "}" + "}";
+
+		for (String value : Arrays.asList(String.format(req, "Left IndexFinger", finger, "ISO19794_4_2011"),
+				String.format(req, "Left", iris, "ISO19794_6_2011"))) {
+			convertRequestDto.setRequest(mapper.readValue(value, ConvertRequestDto.class));
+			ConverterDataUtil.checkResponse(
+					mockMvc.perform(post("/convert").contentType(MediaType.APPLICATION_JSON)
+							.content(mapper.writeValueAsString(convertRequestDto))).andReturn(),
+					500, null, "MOS-CNV-002");
+		}
+	}
+
+	/*
+	 * inspect Finger, Face and Iris records without decoding their images
+	 */
+	@Test
+	@WithUserDetails("reg-officer")
+	@SuppressWarnings("unchecked")
+	public void t034ConvertTest() throws Exception {
+		String[][] records = { { "finger.txt", "ISO19794_4_2011", "Finger", "275", "400" },
+				{ "face.txt", "ISO19794_5_2011", "Face", "240", "320" },
+				{ "iris.txt", "ISO19794_6_2011", "Iris", "320", "240" } };
+		for (String[] record : records) {
+			String bioData = IOUtils.toString(new FileInputStream("src/test/resources/" + record[0]),
+					StandardCharsets.UTF_8);
+			String req = "{" + "\"id\":\"sample-converter\"," + "\"version\":\"1.0\"," + "\"request\":{"
+					+ "\"values\":{" + "\"First\": \"" + bioData + "\"," + "\"Second\": \"" + bioData + "\"" + "},"
+					+ "\"sourceFormat\":\"" + record[1] + "\"" + "}" + "}";
+
+			MvcResult rst = mockMvc.perform(post("/convert/inspect").contentType(MediaType.APPLICATION_JSON).content(req))
+					.andReturn();
+			assertEquals(200, rst.getResponse().getStatus());
+			Map<String, Object> body = mapper.readValue(rst.getResponse().getContentAsByteArray(), Map.class);
+			Map<String, Map<String, Object>> infos = (Map<String, Map<String, Object>>) body.get("response");
+			assertEquals(Arrays.asList("First", "Second"), new ArrayList<>(infos.keySet()));
+			Map<String, Object> info = infos.get("First");
+			assertEquals(record[2], info.get("modality"));
+			assertEquals(Integer.parseInt(record[3]), info.get("width"));
+			assertEquals(Integer.parseInt(record[4]), info.get("height"));
+			assertTrue(String.valueOf(info.get("compression")).startsWith("jpeg2000"));
+			assertTrue(((Number) info.get("imageLength")).longValue() > 0);
+			assertTrue(((Number) info.get("recordLength")).longValue() > ((Number) info.get("imageLength")).longValue());
+		}
+
+		String req = "{" + "\"id\":\"sample-converter\"," + "\"version\":\"1.0\"," + "\"request\":{"
+				+ "\"values\":{" + "\"Face\": \"AAAA\"" + "}," + "\"sourceFormat\":\"ISO19794_5_2011\"" + "}" + "}";
+		ConverterDataUtil.checkResponse(
+				mockMvc.perform(post("/convert/inspect").contentType(MediaType.APPLICATION_JSON).content(req))
+						.andReturn(),
+				500, null, "MOS-CNV-009");
+	}
+
+	/*
+	 * base64 URL codec of the values, same results as the JDK codec
+	 */
+	@Test
+	public void t035ConvertTest() throws Exception {
+		byte[] isoData = CommonUtil.decodeURLSafeBase64(
+				IOUtils.toString(new FileInputStream("src/test/resources/face.txt"), StandardCharsets.UTF_8));
+		for (int length : new int[] { 1, 2, 3, 4, 5, 1000, isoData.length }) {
+			byte[] data = Arrays.copyOf(isoData, length);
+			String value = Base64UrlCodec.encodeToString(data);
+			assertEquals(CommonUtil.encodeToURLSafeBase64(data), value);
+			assertTrue(Arrays.equals(data, Base64UrlCodec.decode(value)));
+			String unpadded = value.replace("=", "");
+			assertTrue(Arrays.equals(data, Base64UrlCodec.decode(unpadded)));
+		}
+		for (String value : new String[] { "a", "ab=", "abc==", "abcde", "ab+/", "ab c", "a=bc" }) {
+			assertTrue(value, isRejected(() -> CommonUtil.decodeURLSafeBase64(value)));
+			assertTrue(value, isRejected(() -> Base64UrlCodec.decode(value)));
+		}
+	}
+
+	/*
+	 * test conversion rejected while the whole memory budget is reserved
+	 */
+	@Test
+	@WithUserDetails("reg-officer")
+	public void t036ConvertTest() throws Exception {
+		String finger = IOUtils.toString(new FileInputStream("src/test/resources/finger.txt"), StandardCharsets.UTF_8);
+		String req = "{" + "\"id\":\"sample-converter\"," + "\"version\":\"1.0\"," + "\"request\":{"
+				+ "\"values\":{" + "\"Left IndexFinger\": \"" + finger + "\"" + "},"
+				+ "\"sourceFormat\":\"ISO19794_4_2011\"," + "\"targetFormat\":\"IMAGE/JPEG\","
+				+ "\"targetParameters\":{" + "\"key\":\"value\"" + "}" + "}" + "}";
+		double rejected = meterRegistry.counter("bio.converter.memory.rejected").count();
+
+		MvcResult rst;
+		try (MemoryBudget.Reservation reservation = memoryBudget.reserve(memoryBudget.getMaxSize())) {
+			assertEquals(memoryBudget.getMaxSize(), memoryBudget.getReserved());
+			rst = mockMvc.perform(post("/convert").contentType(MediaType.APPLICATION_JSON).content(req)).andReturn();
+		}
+		assertEquals(503, rst.getResponse().getStatus());
+		assertEquals("1", rst.getResponse().getHeader("Retry-After"));
+		Map<String, Object> body = mapper.readValue(rst.getResponse().getContentAsByteArray(), Map.class);
+		assertEquals("MOS-CNV-013", ((List<Map<String, String>>) body.get("errors")).get(0).get("errorCode"));
+		assertEquals(rejected + 1, meterRegistry.counter("bio.converter.memory.rejected").count(), 0);
+		assertEquals(0, memoryBudget.getReserved());
+
+		ConverterDataUtil.checkResponse(
+				mockMvc.perform(post("/convert").contentType(MediaType.APPLICATION_JSON).content(req)).andReturn(),
+				200, SourceFormatCode.ISO19794_4_2011, TargetFormatCode.IMAGE_JPEG.getCode());
+		assertEquals(0, memoryBudget.getReserved());
+	}
+
+	/*
+	 * get Face (ISO19794_5_2011) scaled to PNG strip by strip, the same pixels as imgscalr
+	 */
+	@Test
+	@WithUserDetails("reg-officer")
+	public void t037ConvertTest() throws Exception {
+		FileInputStream fis = new FileInputStream("src/test/resources/face.txt");
+		String bioData = IOUtils.toString(fis, StandardCharsets.UTF_8);
+		String req = "{" + "\"values\":{" + "\"Face\": \"" + bioData + "\"" + "},"
+				+ "\"sourceFormat\":\"ISO19794_5_2011\"," + "\"targetFormat\":\"IMAGE/PNG\","
+				+ "\"sourceParameters\":{" + "\"key\":\"value\"" + "}," + "\"targetParameters\":{%s}" + "}";
+
+		BufferedImage fullImage = ConverterDataUtil.getImage(convertFace(String.format(req, "")), "Face");
+		for (Scalr.Method method : Arrays.asList(Scalr.Method.SPEED, Scalr.Method.BALANCED,
+				Scalr.Method.ULTRA_QUALITY)) {
+			String scaleMode = method == Scalr.Method.ULTRA_QUALITY ? "ultra" : method.name().toLowerCase();
+			// wider than half the image, decoded at full resolution
+			BufferedImage scaledImage = ConverterDataUtil.getImage(
+					convertFace(String.format(req, "\"width\":\"130\",\"scaleMode\":\"" + scaleMode + "\"")), "Face");
+			BufferedImage expectedImage = Scalr.resize(fullImage, method, Scalr.Mode.FIT_EXACT, 130, 173);
+			assertEquals(130, scaledImage.getWidth());
+			assertEquals(173, scaledImage.getHeight());
+			for (int y = 0; y < scaledImage.getHeight(); y++) {
+				for (int x = 0; x < scaledImage.getWidth(); x++)
+					assertEquals(scaleMode, expectedImage.getRGB(x, y), scaledImage.getRGB(x, y));
+			}
+		}
+	}
+
+	/*
+	 * PNG encoded by the direct backend, same bytes as ImageIO
+	 */
+	@Test
+	@WithUserDetails("reg-officer")
+	public void t038ConvertTest() throws Exception {
+		FileInputStream fis = new FileInputStream("src/test/resources/face.txt");
+		String bioData = IOUtils.toString(fis, StandardCharsets.UTF_8);
+		String req = "{" + "\"values\":{" + "\"Face\": \"" + bioData + "\"" + "},"
+				+ "\"sourceFormat\":\"ISO19794_5_2011\"," + "\"targetFormat\":\"IMAGE/PNG\","
+				+ "\"sourceParameters\":{" + "\"key\":\"value\"" + "}," + "\"targetParameters\":{}" + "}";
+		BufferedImage faceImage = ConverterDataUtil.getImage(convertFace(req), "Face");
+		BufferedImage rgbImage = new BufferedImage(faceImage.getWidth(), faceImage.getHeight(),
+				BufferedImage.TYPE_INT_RGB);
+		rgbImage.createGraphics().drawImage(faceImage, 0, 0, null);
+		BufferedImage grayImage = new BufferedImage(faceImage.getWidth(), faceImage.getHeight(),
+				BufferedImage.TYPE_BYTE_GRAY);
+		grayImage.createGraphics().drawImage(faceImage, 0, 0, null);
+		// 16 bit samples are left to ImageIO
+		BufferedImage ushortImage = new BufferedImage(faceImage.getWidth(), faceImage.getHeight(),
+				BufferedImage.TYPE_USHORT_GRAY);
+		ushortImage.createGraphics().drawImage(faceImage, 0, 0, null);
+
+		EncoderBackends direct = new EncoderBackends(EncoderBackends.Backend.DIRECT, 0);
+		EncoderBackends imageIO = new EncoderBackends(EncoderBackends.Backend.IMAGEIO, 0);
+		assertEquals(EncoderBackends.Backend.DIRECT, encoderBackends.getPngBackend());
+		for (BufferedImage image : Arrays.asList(faceImage, rgbImage, grayImage, ushortImage)) {
+			for (int compressionLevel : new int[] { -1, 0, 9 }) {
+				for (int dpi : new int[] { 0, 300 }) {
+					byte[] pngData = direct.toPNGBytes(image, dpi, compressionLevel);
+					assertTrue(Arrays.equals(imageIO.toPNGBytes(image, dpi, compressionLevel), pngData));
+					BufferedImage decodedImage = ImageIO.read(new ByteArrayInputStream(pngData));
+					assertTrue(Arrays.equals(image.getData().getPixels(0, 0, image.getWidth(), image.getHeight(),
+							(int[]) null), decodedImage.getData().getPixels(0, 0, image.getWidth(),
+									image.getHeight(), (int[]) null)));
+				}
+			}
+		}
+	}
+
+	/*
+	 * Tiled face image decoded by rows of tiles, the same as decoded in one go
+	 */
+	@Test
+	@WithUserDetails("reg-officer")
+	public void t039ConvertTest() throws Exception {
+		FileInputStream fis = new FileInputStream("src/test/resources/face.txt");
+		String bioData = IOUtils.toString(fis, StandardCharsets.UTF_8);
+		String req = "{" + "\"values\":{" + "\"Face\": \"%s\"" + "},"
+				+ "\"sourceFormat\":\"ISO19794_5_2011\"," + "\"targetFormat\":\"IMAGE/PNG\","
+				+ "\"sourceParameters\":{" + "\"key\":\"value\"" + "}," + "\"targetParameters\":{%s}" + "}";
+		BufferedImage faceImage = ConverterDataUtil.getImage(convertFace(String.format(req, bioData, "")), "Face");
+		BufferedImage largeImage = new BufferedImage(faceImage.getWidth() * 3, faceImage.getHeight() * 3,
+				BufferedImage.TYPE_3BYTE_BGR);
+		largeImage.createGraphics().drawImage(faceImage, 0, 0, largeImage.getWidth(), largeImage.getHeight(), null);
+		byte[] imageData = ConverterDataUtil.toTiledJPEG2000(largeImage, 128);
+		String isoData = CommonUtil.encodeToURLSafeBase64(ConverterDataUtil.toFaceISO(imageData));
+
+		// full resolution, and two levels skipped for a quarter of the width
+		for (int resolution : new int[] { 5, 3 }) {
+			ImageReader reader = ImageIO.getImageReadersByFormatName("jpeg2000").next();
+			reader.setInput(ImageIO.createImageInputStream(new ByteArrayInputStream(imageData)));
+			J2KImageReadParam readParam = (J2KImageReadParam) reader.getDefaultReadParam();
+			readParam.setResolution(resolution);
+			BufferedImage expectedImage = reader.read(0, readParam);
+			reader.dispose();
+
+			String targetParameters = resolution == 5 ? "" : "\"width\":\"" + expectedImage.getWidth() + "\"";
+			BufferedImage convertedImage = ConverterDataUtil
+					.getImage(convertFace(String.format(req, isoData, targetParameters)), "Face");
+			assertEquals(expectedImage.getWidth(), convertedImage.getWidth());
+			assertEquals(expectedImage.getHeight(), convertedImage.getHeight());
+			for (int y = 0; y < convertedImage.getHeight(); y++) {
+				for (int x = 0; x < convertedImage.getWidth(); x++)
+					assertEquals(expectedImage.getRGB(x, y), convertedImage.getRGB(x, y));
+			}
+		}
+	}
+
+	/*
+	 * API docs describe the bodies of the requests read as a stream
+	 */
+	@Test
+	@WithUserDetails("reg-officer")
+	public void t040ApiDocsTest() throws Exception {
+		MvcResult rst = mockMvc.perform(get("/v3/api-docs")).andReturn();
+		assertEquals(200, rst.getResponse().getStatus());
+		JsonNode apiDocs = mapper.readTree(rst.getResponse().getContentAsByteArray());
+		for (String[] body : new String[][] { { "/convert", "RequestWrapperConvertRequestDto", "values" },
+				{ "/convert/jobs", "RequestWrapperBatchConvertRequestDto", "jobs" } }) {
+			JsonNode requestBody = apiDocs.path("paths").path(body[0]).path("post").path("requestBody");
+			assertTrue(body[0], requestBody.path("required").asBoolean());
+			assertEquals(body[0], "#/components/schemas/" + body[1],
+					requestBody.path("content").path("application/json").path("schema").path("$ref").asText());
+			String requestRef = apiDocs.path("components").path("schemas").path(body[1]).path("properties")
+					.path("request").path("$ref").asText();
+			String requestSchema = requestRef.substring(requestRef.lastIndexOf('/') + 1);
+			assertTrue(body[0], apiDocs.path("components").path("schemas").path(requestSchema).path("properties")
+					.has(body[2]));
+		}
+	}
+
+	private MvcResult convertFace(String req) throws Exception {
+		convertRequestDto.setRequest(mapper.readValue(req, ConvertRequestDto.class));
+		return mockMvc.perform(post("/convert").contentType(MediaType.APPLICATION_JSON)
+				.content(mapper.writeValueAsString(convertRequestDto))).andReturn();
+	}
+
+	private static boolean isRejected(Runnable decode) {
+		try {
+			decode.run();
+			return false;
+		} catch (IllegalArgumentException e) {
+			return true;
+		}
+	}
+
+	/**
+	 * Stream of the head of a body, then stalled until released and ended
+	 */
+	private static InputStream stalledStream(byte[] head, CountDownLatch stalled, CountDownLatch release) {
+		return new InputStream() {
+			private int position;
+
+			@Override
+			public int read() throws IOException {
+				byte[] data = new byte[1];
+				return read(data, 0, 1) < 0 ? -1 : data[0] & 0xFF;
+			}
+
+			@Override
+			public int read(byte[] data, int offset, int length) throws IOException {
+				if (position < head.length) {
+					int count = Math.min(length, head.length - position);
+					System.arraycopy(head, position, data, offset, count);
+					position += count;
+					return count;
+				}
+				stalled.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return -1;
+			}
+		};
+	}
+
+	private long countStage(String stage, String source, String target) {
+		Timer timer = meterRegistry.find("bio.converter.stage").tag("stage", stage).tag("source", source)
+				.tag("target", target).tag("compression", "none").timer();
+		return timer == null ? 0 : timer.count();
+	}
+
+	private double countConversions(String source, String target) {
+		return meterRegistry.find("bio.converter.conversions").tag("source", source).tag("target", target).counters()
+				.stream().mapToDouble(Counter::count).sum();
+	}
 }
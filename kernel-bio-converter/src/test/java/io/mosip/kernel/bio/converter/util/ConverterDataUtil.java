@@ -2,20 +2,44 @@ package io.mosip.kernel.bio.converter.util;
 
 import static org.junit.Assert.assertEquals;
 
+import java.awt.image.BufferedImage;
 import java.io.*;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadataFormatImpl;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+
 import io.mosip.biometrics.util.CommonUtil;
+import io.mosip.biometrics.util.ConvertRequestDto;
+import io.mosip.biometrics.util.face.FaceDecoder;
+import io.mosip.biometrics.util.face.FaceEncoder;
+import io.mosip.biometrics.util.finger.FingerBDIR;
+import io.mosip.biometrics.util.finger.FingerDecoder;
+import io.mosip.biometrics.util.iris.IrisDecoder;
 import io.mosip.kernel.bio.converter.constant.SourceFormatCode;
 import io.mosip.kernel.bio.converter.constant.TargetFormatCode;
 import org.junit.Assert;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MvcResult;
+import org.w3c.dom.NodeList;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.jaiimageio.jpeg2000.J2KImageWriteParam;
 
 public class ConverterDataUtil {
 	private static Logger logger = LoggerFactory.getLogger(ConverterDataUtil.class);
@@ -35,12 +59,7 @@ public class ConverterDataUtil {
 				} else if (status == 200) {
 					Map<String, String> values = (Map<String, String>) m.get("response");
 					for (Map.Entry<String, String> entry : values.entrySet()) {
-						byte[] responseData = CommonUtil.decodeURLSafeBase64(entry.getValue());
-						if (expectedCode.equalsIgnoreCase(TargetFormatCode.IMAGE_JPEG.getCode())) {
-							assertEquals(true, isJPEG(responseData));
-						} else if (expectedCode.equalsIgnoreCase(TargetFormatCode.IMAGE_PNG.getCode())) {
-							assertEquals(true, isPNG(responseData));
-						}
+						checkValue(CommonUtil.decodeURLSafeBase64(entry.getValue()), sourceCode, expectedCode);
 					}
 				}
 			}
@@ -50,6 +69,88 @@ public class ConverterDataUtil {
 		}
 	}
 
+	public static void checkValue(byte[] responseData, SourceFormatCode sourceCode, String expectedCode)
+			throws Exception {
+		if (expectedCode.equalsIgnoreCase(TargetFormatCode.IMAGE_JPEG.getCode())) {
+			assertEquals(true, isJPEG(responseData));
+		} else if (expectedCode.equalsIgnoreCase(TargetFormatCode.IMAGE_PNG.getCode())) {
+			assertEquals(true, isPNG(responseData));
+		} else {
+			assertEquals(true, isISO(sourceCode, responseData, expectedCode));
+		}
+	}
+
+	/*
+	 * Decodes the converted image of a value of a JSON response
+	 */
+	public static BufferedImage getImage(MvcResult rst, String name) throws Exception {
+		return ImageIO.read(new ByteArrayInputStream(getValue(rst, name)));
+	}
+
+	/*
+	 * Converted data of a value of a JSON response
+	 */
+	@SuppressWarnings("unchecked")
+	public static byte[] getValue(MvcResult rst, String name) throws Exception {
+		Map<String, String> values = (Map<String, String>) new ObjectMapper()
+				.readValue(rst.getResponse().getContentAsString(), Map.class).get("response");
+		return CommonUtil.decodeURLSafeBase64(values.get(name));
+	}
+
+	/*
+	 * Resolution written in the metadata of a JPEG or PNG image, 0 when there is none
+	 */
+	public static int getDpi(byte[] imageData) throws Exception {
+		try (ImageInputStream imageInputStream = ImageIO
+				.createImageInputStream(new ByteArrayInputStream(imageData))) {
+			ImageReader reader = ImageIO.getImageReaders(imageInputStream).next();
+			try {
+				reader.setInput(imageInputStream);
+				IIOMetadataNode root = (IIOMetadataNode) reader.getImageMetadata(0)
+						.getAsTree(IIOMetadataFormatImpl.standardMetadataFormatName);
+				NodeList pixelSizes = root.getElementsByTagName("HorizontalPixelSize");
+				if (pixelSizes.getLength() == 0)
+					return 0;
+				// millimeters per pixel
+				float pixelSize = Float.parseFloat(((IIOMetadataNode) pixelSizes.item(0)).getAttribute("value"));
+				return Math.round(25.4f / pixelSize);
+			} finally {
+				reader.dispose();
+			}
+		}
+	}
+
+	/*
+	 * Splits a multipart response into its part names and bodies
+	 */
+	public static Map<String, byte[]> getMultipartValues(MvcResult rst) throws Exception {
+		MediaType contentType = MediaType.parseMediaType(rst.getResponse().getContentType());
+		byte[] body = rst.getResponse().getContentAsByteArray();
+		byte[] delimiter = ("\r\n--" + contentType.getParameter("boundary")).getBytes(StandardCharsets.US_ASCII);
+		byte[] headerEnd = "\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+
+		Map<String, byte[]> values = new LinkedHashMap<>();
+		// the body starts with the delimiter without the leading CRLF
+		int partStart = indexOf(body, Arrays.copyOfRange(delimiter, 2, delimiter.length), 0) + delimiter.length - 2;
+		int next;
+		while ((next = indexOf(body, delimiter, partStart)) > 0) {
+			int dataStart = indexOf(body, headerEnd, partStart) + headerEnd.length;
+			String headers = new String(body, partStart, dataStart - partStart, StandardCharsets.US_ASCII);
+			String name = headers.substring(headers.indexOf("name=\"") + 6);
+			values.put(name.substring(0, name.indexOf('"')), Arrays.copyOfRange(body, dataStart, next));
+			partStart = next + delimiter.length;
+		}
+		return values;
+	}
+
+	private static int indexOf(byte[] data, byte[] pattern, int from) {
+		for (int i = Math.max(from, 0); i + pattern.length <= data.length; i++) {
+			if (Arrays.equals(data, i, i + pattern.length, pattern, 0, pattern.length))
+				return i;
+		}
+		return -1;
+	}
+
 	/*
 	 * Some Extra info about other file format with jpeg: initial of file contains
 	 * these bytes BMP : 42 4D JPG : FF D8 FF EO ( Starting 2 Byte will always be
@@ -72,6 +173,73 @@ public class ConverterDataUtil {
 		}
 	}
 
+	public static Boolean isISO(SourceFormatCode sourceCode, byte[] isoData, String targetCode) throws Exception {
+		ConvertRequestDto requestDto = new ConvertRequestDto();
+		requestDto.setVersion(sourceCode.getCode());
+		requestDto.setInputBytes(isoData);
+		byte[] imageData = null;
+		switch (sourceCode) {
+		case ISO19794_4_2011:
+			imageData = getFingerBDIR(isoData).getImage();
+			break;
+		case ISO19794_5_2011:
+			requestDto.setModality("Face");
+			imageData = FaceDecoder.getFaceBDIR(requestDto).getImage();
+			break;
+		case ISO19794_6_2011:
+			requestDto.setModality("Iris");
+			imageData = IrisDecoder.getIrisBDIR(requestDto).getImage();
+			break;
+		}
+		if (targetCode.toUpperCase().endsWith("JPEG"))
+			return isJPEG(imageData);
+		return isPNG(imageData);
+	}
+
+	/*
+	 * Finger representation of a Finger ISO (ISO19794_4_2011) record
+	 */
+	public static FingerBDIR getFingerBDIR(byte[] isoData) throws Exception {
+		ConvertRequestDto requestDto = new ConvertRequestDto();
+		requestDto.setVersion(SourceFormatCode.ISO19794_4_2011.getCode());
+		requestDto.setModality("Finger");
+		requestDto.setInputBytes(isoData);
+		return FingerDecoder.getFingerBDIR(requestDto);
+	}
+
+	/*
+	 * Encodes an image to lossy JPEG2000 in square tiles, 5 decomposition levels
+	 */
+	public static byte[] toTiledJPEG2000(BufferedImage image, int tileSize) throws Exception {
+		ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg2000").next();
+		J2KImageWriteParam writeParam = (J2KImageWriteParam) writer.getDefaultWriteParam();
+		writeParam.setLossless(false);
+		writeParam.setEncodingRate(1.0);
+		writeParam.setNumDecompositionLevels(5);
+		writeParam.setTilingMode(ImageWriteParam.MODE_EXPLICIT);
+		writeParam.setTiling(tileSize, tileSize, 0, 0);
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		try (ImageOutputStream imageOutputStream = new MemoryCacheImageOutputStream(outputStream)) {
+			writer.setOutput(imageOutputStream);
+			writer.write(null, new IIOImage(image, null, null), writeParam);
+		} finally {
+			writer.dispose();
+		}
+		return outputStream.toByteArray();
+	}
+
+	/*
+	 * Face ISO (ISO19794_5_2011) record of a JPEG2000 image
+	 */
+	public static byte[] toFaceISO(byte[] imageData) throws Exception {
+		ConvertRequestDto requestDto = new ConvertRequestDto();
+		requestDto.setVersion(SourceFormatCode.ISO19794_5_2011.getCode());
+		requestDto.setModality("Face");
+		requestDto.setPurpose("Registration");
+		requestDto.setInputBytes(imageData);
+		return FaceEncoder.convertFaceImageToISO(requestDto);
+	}
+
 	public static Boolean isPNG(byte[] imageData) throws Exception {
 		DataInputStream ins = new DataInputStream(new BufferedInputStream(new ByteArrayInputStream(imageData)));
 		try {